@@ -5,16 +5,17 @@ export default function ProductCard({ product, onBuy }) {
   const [purchasing, setPurchasing] = useState(false);
   const [feedback, setFeedback] = useState(null);
 
-  const isOutOfStock = product.stock === 0;
+  const available = product.availableStock ?? product.stock;
+  const isOutOfStock = available <= 0;
 
   const getStockColor = (stock) => {
-    if (stock === 0) return 'text-red-600';
+    if (stock <= 0) return 'text-red-600';
     if (stock <= 5) return 'text-yellow-600';
     return 'text-green-600';
   };
 
   const getStockBgColor = (stock) => {
-    if (stock === 0) return 'bg-red-100';
+    if (stock <= 0) return 'bg-red-100';
     if (stock <= 5) return 'bg-yellow-100';
     return 'bg-green-100';
   };
@@ -55,9 +56,9 @@ export default function ProductCard({ product, onBuy }) {
             ${product.price.toFixed(2)}
           </span>
           <span
-            className={`text-sm font-medium px-2 py-1 rounded ${getStockBgColor(product.stock)} ${getStockColor(product.stock)}`}
+            className={`text-sm font-medium px-2 py-1 rounded ${getStockBgColor(available)} ${getStockColor(available)}`}
           >
-            {product.stock === 0 ? 'Out of Stock' : `${product.stock} in stock`}
+            {isOutOfStock ? 'Out of Stock' : `${available} in stock`}
           </span>
         </div>
 
@@ -28,10 +28,11 @@ export function AuthProvider({ children }) {
 
   const login = async (email, password) => {
     const response = await api.post('/auth/login', { email, password });
-    const { token: authToken } = response.data;
+    const { token: authToken, refreshToken } = response.data;
 
-    // Store token
+    // Store tokens; the refresh token renews the short-lived access token
     localStorage.setItem('token', authToken);
+    localStorage.setItem('refreshToken', refreshToken);
 
     // For this simple UI, we just store email
     const userData = { email };
@@ -47,7 +48,12 @@ export function AuthProvider({ children }) {
   };
 
   const logout = () => {
+    // Best effort: revoke the tokens server-side, but log out locally regardless
+    if (localStorage.getItem('token')) {
+      api.post('/auth/logout', { refreshToken: localStorage.getItem('refreshToken') }).catch(() => {});
+    }
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
     setAuthState({
       token: null,
@@ -3,10 +3,15 @@ import api from '../api/axios';
 
 const ACTIVE_STATUSES = ['PENDING', 'PROCESSING'];
 const POLL_INTERVAL = 3000; // 3 seconds
+const PAGE_SIZE = 50;
+
+const fetchPage = (cursor) => api.get('/orders', { params: { cursor, limit: PAGE_SIZE } });
 
 export function useOrders() {
   const [orders, setOrders] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState(null);
   const intervalRef = useRef(null);
 
@@ -14,11 +19,13 @@ export function useOrders() {
     return orders.some((order) => ACTIVE_STATUSES.includes(order.status));
   }, [orders]);
 
+  // Loads the first page only; older pages are fetched on demand
   const fetchOrders = useCallback(async () => {
     setError(null);
     try {
-      const response = await api.get('/orders');
+      const response = await fetchPage();
       setOrders(response.data);
+      setNextCursor(response.headers['x-next-cursor'] ?? null);
     } catch (err) {
       setError(err.response?.data?.message || 'Failed to fetch orders');
     } finally {
@@ -26,6 +33,36 @@ export function useOrders() {
     }
   }, []);
 
+  const loadMore = useCallback(async () => {
+    if (!nextCursor) return;
+
+    setLoadingMore(true);
+    try {
+      const response = await fetchPage(nextCursor);
+      setOrders((prev) => {
+        const loaded = new Set(prev.map((order) => order.id));
+        return [...prev, ...response.data.filter((order) => !loaded.has(order.id))];
+      });
+      setNextCursor(response.headers['x-next-cursor'] ?? null);
+    } catch (err) {
+      setError(err.response?.data?.message || 'Failed to fetch orders');
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [nextCursor]);
+
+  // Re-reads only the loaded orders that can still change status
+  const refreshActiveOrders = useCallback(async () => {
+    const active = orders.filter((order) => ACTIVE_STATUSES.includes(order.status));
+    try {
+      const responses = await Promise.all(active.map((order) => api.get(`/orders/${order.id}`)));
+      const refreshed = new Map(responses.map((response) => [response.data.id, response.data]));
+      setOrders((prev) => prev.map((order) => refreshed.get(order.id) ?? order));
+    } catch {
+      // Transient failure; the next poll retries
+    }
+  }, [orders]);
+
   // Initial fetch
   useEffect(() => {
     fetchOrders();
@@ -41,7 +78,7 @@ export function useOrders() {
 
     // Only poll if there are active orders
     if (hasActiveOrders()) {
-      intervalRef.current = setInterval(fetchOrders, POLL_INTERVAL);
+      intervalRef.current = setInterval(refreshActiveOrders, POLL_INTERVAL);
     }
 
     return () => {
@@ -50,7 +87,7 @@ export function useOrders() {
         intervalRef.current = null;
       }
     };
-  }, [hasActiveOrders, fetchOrders]);
+  }, [hasActiveOrders, refreshActiveOrders]);
 
   const createOrder = async (items) => {
     const response = await api.post('/orders', { items });
@@ -61,7 +98,10 @@ export function useOrders() {
   return {
     orders,
     loading,
+    loadingMore,
     error,
+    hasMore: nextCursor !== null,
+    loadMore,
     refetch: fetchOrders,
     createOrder,
     hasActiveOrders: hasActiveOrders(),
@@ -29,12 +29,21 @@ export function useProducts() {
     );
   };
 
+  const reserveProductStock = (productId, quantity) => {
+    setProducts((prev) =>
+      prev.map((p) =>
+        p.id === productId ? { ...p, availableStock: p.availableStock - quantity } : p
+      )
+    );
+  };
+
   return {
     products,
     loading,
     error,
     refetch: fetchProducts,
     updateProductStock,
+    reserveProductStock,
   };
 }
 
@@ -6,7 +6,8 @@ import OrderCard from '../components/OrderCard';
 import { useOrders } from '../hooks/useOrders';
 
 export default function OrdersPage() {
-  const { orders, loading, error, refetch, hasActiveOrders } = useOrders();
+  const { orders, loading, loadingMore, error, hasMore, loadMore, refetch, hasActiveOrders } =
+    useOrders();
   const [statusChanges, setStatusChanges] = useState([]);
 
   const handleStatusChange = (orderId, newStatus) => {
@@ -111,6 +112,14 @@ export default function OrdersPage() {
           />
         ))}
       </div>
+
+      {hasMore && (
+        <div className="mt-6 text-center">
+          <Button variant="secondary" loading={loadingMore} onClick={loadMore}>
+            Load more
+          </Button>
+        </div>
+      )}
     </div>
   );
 }
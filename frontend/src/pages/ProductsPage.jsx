@@ -7,14 +7,15 @@ import { useProducts } from '../hooks/useProducts';
 import { useOrders } from '../hooks/useOrders';
 
 export default function ProductsPage() {
-  const { products, loading, error, refetch } = useProducts();
+  const { products, loading, error, refetch, reserveProductStock } = useProducts();
   const { createOrder } = useOrders();
   const [recentOrder, setRecentOrder] = useState(null);
 
   const handleBuy = async (productId) => {
     const order = await createOrder([{ productId, quantity: 1 }]);
     setRecentOrder(order);
-    // Note: Stock will be deducted when order is COMPLETED, not immediately
+    // Stock is reserved immediately and deducted when the order is COMPLETED
+    reserveProductStock(productId, 1);
     return order;
   };
 
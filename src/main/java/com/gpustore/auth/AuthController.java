@@ -2,10 +2,14 @@ package com.gpustore.auth;
 
 import com.gpustore.auth.dto.LoginRequest;
 import com.gpustore.auth.dto.LoginResponse;
+import com.gpustore.auth.dto.LogoutRequest;
+import com.gpustore.auth.dto.RefreshRequest;
+import com.gpustore.security.VerifiedToken;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,6 +21,8 @@ import org.springframework.web.bind.annotation.RestController;
  * <p>Provides endpoints for user authentication:</p>
  * <ul>
  *   <li>{@code POST /api/auth/login} - Authenticate user and receive JWT token</li>
+ *   <li>{@code POST /api/auth/refresh} - Exchange a refresh token for a new JWT token</li>
+ *   <li>{@code POST /api/auth/logout} - Revoke the current JWT token and a refresh token</li>
  * </ul>
  *
  * @author GPU Store Team
@@ -53,4 +59,30 @@ public class AuthController {
         log.info("Login successful for email: {}", request.email());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Exchanges a refresh token for a new JWT token without a password check.
+     *
+     * @param request the refresh request containing the refresh token
+     * @return 200 OK with new tokens on success, or 401 Unauthorized if the refresh token is not accepted
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.refreshToken()));
+    }
+
+    /**
+     * Revokes the JWT token of the current request and, if given, the refresh token.
+     *
+     * @param request        the optional logout request containing the refresh token
+     * @param authentication the authentication built from the JWT token
+     * @return 204 No Content
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) LogoutRequest request,
+                                       Authentication authentication) {
+        VerifiedToken accessToken = (VerifiedToken) authentication.getCredentials();
+        authService.logout(accessToken, request == null ? null : request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,19 +1,29 @@
 package com.gpustore.auth;
 
 import com.gpustore.auth.dto.LoginResponse;
+import com.gpustore.common.exception.UnauthorizedException;
 import com.gpustore.security.JwtTokenProvider;
+import com.gpustore.security.TokenRevocationRegistry;
 import com.gpustore.security.UserPrincipal;
+import com.gpustore.security.VerifiedToken;
+import com.gpustore.user.User;
+import com.gpustore.user.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 /**
  * Service class for authentication operations.
  *
- * <p>Handles user authentication using Spring Security and JWT token generation.</p>
+ * <p>Handles user authentication using Spring Security and JWT token generation.
+ * A password login also issues a refresh token, which {@link #refresh(String)}
+ * exchanges for a new access token without verifying the password again.
+ * {@link #logout(VerifiedToken, String)} revokes both before they expire.</p>
  *
  * @author GPU Store Team
  * @version 1.0.0
@@ -26,24 +36,35 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final UserRepository userRepository;
+    private final TokenRevocationRegistry tokenRevocations;
 
     /**
      * Constructs a new AuthService with required dependencies.
      *
      * @param authenticationManager the Spring Security authentication manager
      * @param tokenProvider         the JWT token provider
+     * @param refreshTokenService   the service issuing and spending refresh tokens
+     * @param userRepository        the repository used to load the user on refresh
+     * @param tokenRevocations      the registry of revoked access tokens
      */
-    public AuthService(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider) {
+    public AuthService(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider,
+                       RefreshTokenService refreshTokenService, UserRepository userRepository,
+                       TokenRevocationRegistry tokenRevocations) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.refreshTokenService = refreshTokenService;
+        this.userRepository = userRepository;
+        this.tokenRevocations = tokenRevocations;
     }
 
     /**
-     * Authenticates a user and generates a JWT token.
+     * Authenticates a user and generates a JWT token and a refresh token.
      *
      * @param email    the user's email address
      * @param password the user's password
-     * @return a login response containing the JWT token
+     * @return a login response containing the JWT token and the refresh token
      * @throws org.springframework.security.authentication.BadCredentialsException if credentials are invalid
      */
     public LoginResponse authenticate(String email, String password) {
@@ -53,9 +74,53 @@ public class AuthService {
         );
 
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        String token = tokenProvider.generateToken(userPrincipal.getId(), userPrincipal.getEmail());
+        String token = tokenProvider.generateToken(userPrincipal);
+        String refreshToken = refreshTokenService.issue(userPrincipal.getId(), userPrincipal.getTokenVersion());
         log.debug("Token generated for user: id={}", userPrincipal.getId());
 
-        return LoginResponse.of(token, tokenProvider.getExpirationMs());
+        return LoginResponse.of(token, tokenProvider.getExpirationMs(), refreshToken);
+    }
+
+    /**
+     * Exchanges a refresh token for a new JWT token and a new refresh token.
+     *
+     * <p>The presented refresh token is spent. It is rejected if the user has
+     * been deleted or has changed their email or password since it was issued.</p>
+     *
+     * @param refreshToken the refresh token presented by the client
+     * @return a login response containing the new tokens
+     * @throws UnauthorizedException if the refresh token is not accepted
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public LoginResponse refresh(String refreshToken) {
+        RefreshToken spent = refreshTokenService.consume(refreshToken);
+
+        User user = userRepository.findById(spent.getUserId()).orElse(null);
+        if (user == null || !user.getTokenVersion().equals(spent.getTokenVersion())) {
+            refreshTokenService.revokeFamily(spent.getFamilyId());
+            throw new UnauthorizedException(RefreshTokenService.INVALID_TOKEN_MESSAGE);
+        }
+
+        UserPrincipal userPrincipal = UserPrincipal.create(user);
+        String token = tokenProvider.generateToken(userPrincipal);
+        String nextRefreshToken = refreshTokenService.rotate(spent, user.getTokenVersion());
+        log.debug("Token refreshed for user: id={}", user.getId());
+
+        return LoginResponse.of(token, tokenProvider.getExpirationMs(), nextRefreshToken);
+    }
+
+    /**
+     * Revokes an access token and, if given, the family of a refresh token.
+     *
+     * @param accessToken  the verified access token of the current request
+     * @param refreshToken the refresh token to revoke, may be null
+     */
+    @Transactional
+    public void logout(VerifiedToken accessToken, String refreshToken) {
+        tokenRevocations.revoke(accessToken);
+        if (StringUtils.hasText(refreshToken)) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        log.debug("Logged out user: id={}", accessToken.userId());
     }
 }
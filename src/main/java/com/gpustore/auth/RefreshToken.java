@@ -0,0 +1,123 @@
+package com.gpustore.auth;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing one issued refresh token.
+ *
+ * <p>Only the SHA-256 hash of the token is stored. Each refresh spends the
+ * presented token and issues a successor in the same family. Spent rows are
+ * kept until they expire, so a replayed token can be recognised and its whole
+ * family revoked.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, updatable = false, unique = true)
+    private byte[] tokenHash;
+
+    @Column(name = "family_id", nullable = false, updatable = false)
+    private UUID familyId;
+
+    @Column(name = "token_version", nullable = false, updatable = false)
+    private Integer tokenVersion;
+
+    @Column(nullable = false)
+    private boolean used;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    protected RefreshToken() {}
+
+    /**
+     * Creates a new unused refresh token.
+     *
+     * @param userId       the ID of the user the token belongs to
+     * @param tokenHash    the SHA-256 hash of the token
+     * @param familyId     the family shared by all tokens rotated from one login
+     * @param tokenVersion the user's token version when the token was issued
+     * @param expiresAt    when the token stops being accepted
+     */
+    public RefreshToken(Long userId, byte[] tokenHash, UUID familyId, Integer tokenVersion,
+                        LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.tokenVersion = tokenVersion;
+        this.used = false;
+        this.expiresAt = expiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public UUID getFamilyId() {
+        return familyId;
+    }
+
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public boolean isUsed() {
+        return used;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Checks whether the token has outlived its expiry.
+     *
+     * @param now the current time
+     * @return true if the token is expired
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Marks the token as spent by a refresh.
+     */
+    public void markUsed() {
+        this.used = true;
+    }
+}
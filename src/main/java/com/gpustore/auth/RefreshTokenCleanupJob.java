@@ -0,0 +1,45 @@
+package com.gpustore.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job that deletes expired refresh tokens.
+ *
+ * <p>Spent tokens are kept until they expire so that reuse can be detected.
+ * This job keeps the table bounded by the tokens still within their lifetime.
+ * The delete is idempotent, so every node can run the job.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class RefreshTokenCleanupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenCleanupJob.class);
+
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Constructs a new RefreshTokenCleanupJob.
+     *
+     * @param refreshTokenService the service deleting expired tokens
+     */
+    public RefreshTokenCleanupJob(RefreshTokenService refreshTokenService) {
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    /**
+     * Deletes every refresh token past its expiry.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-interval-ms:3600000}")
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenService.deleteExpired();
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+}
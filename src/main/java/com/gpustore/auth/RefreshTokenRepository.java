@@ -0,0 +1,55 @@
+package com.gpustore.auth;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for {@link RefreshToken} entity operations.
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Finds and locks a refresh token by its hash.
+     *
+     * <p>The lock makes concurrent refreshes with the same token mutually
+     * exclusive, so a token is spent exactly once.</p>
+     *
+     * @param tokenHash the SHA-256 hash of the token
+     * @return the token if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithLock(@Param("tokenHash") byte[] tokenHash);
+
+    /**
+     * Deletes every token of a family.
+     *
+     * @param familyId the family ID
+     * @return the number of deleted tokens
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    /**
+     * Deletes every token past its expiry.
+     *
+     * @param cutoff the current time
+     * @return the number of deleted tokens
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt <= :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
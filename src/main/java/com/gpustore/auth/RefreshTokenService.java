@@ -0,0 +1,159 @@
+package com.gpustore.auth;
+
+import com.gpustore.common.exception.UnauthorizedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Service class for issuing and spending refresh tokens.
+ *
+ * <p>A refresh token is 32 random bytes, encoded as base64url and handed to the
+ * client once. Only its SHA-256 hash is stored, so the table cannot be used to
+ * impersonate users. Tokens are single-use: each refresh spends the presented
+ * token and issues a successor in the same family. Presenting a spent token
+ * means it was copied, so the whole family is revoked and the user has to log
+ * in again.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    static final String INVALID_TOKEN_MESSAGE = "Invalid or expired refresh token";
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long expirationDays;
+
+    /**
+     * Constructs a new RefreshTokenService.
+     *
+     * @param refreshTokenRepository the repository for refresh token data access
+     * @param expirationDays         the number of days a refresh token stays valid
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh.expiration-days:30}") long expirationDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expirationDays = expirationDays;
+    }
+
+    /**
+     * Issues the first refresh token of a new family, typically after a password login.
+     *
+     * @param userId       the user ID
+     * @param tokenVersion the user's current token version
+     * @return the refresh token to hand to the client
+     */
+    @Transactional
+    public String issue(Long userId, int tokenVersion) {
+        return issue(userId, tokenVersion, UUID.randomUUID());
+    }
+
+    /**
+     * Issues the successor of a spent refresh token.
+     *
+     * @param spent        the token returned by {@link #consume(String)}
+     * @param tokenVersion the user's current token version
+     * @return the refresh token to hand to the client
+     */
+    @Transactional
+    public String rotate(RefreshToken spent, int tokenVersion) {
+        return issue(spent.getUserId(), tokenVersion, spent.getFamilyId());
+    }
+
+    /**
+     * Spends a refresh token.
+     *
+     * <p>If the token has already been spent, its family is revoked. The
+     * revocation is committed even though the call fails.</p>
+     *
+     * @param token the refresh token presented by the client
+     * @return the spent token
+     * @throws UnauthorizedException if the token is unknown, expired or already spent
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public RefreshToken consume(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHashWithLock(hash(token))
+                .orElseThrow(() -> new UnauthorizedException(INVALID_TOKEN_MESSAGE));
+
+        if (refreshToken.isUsed()) {
+            log.warn("Refresh token reused: userId={}, family={}",
+                    refreshToken.getUserId(), refreshToken.getFamilyId());
+            revokeFamily(refreshToken.getFamilyId());
+            throw new UnauthorizedException(INVALID_TOKEN_MESSAGE);
+        }
+        if (refreshToken.isExpired(LocalDateTime.now())) {
+            throw new UnauthorizedException(INVALID_TOKEN_MESSAGE);
+        }
+
+        refreshToken.markUsed();
+        return refreshToken;
+    }
+
+    /**
+     * Revokes the family of a refresh token, e.g. on logout. Unknown tokens are ignored.
+     *
+     * @param token the refresh token presented by the client
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHashWithLock(hash(token))
+                .ifPresent(refreshToken -> revokeFamily(refreshToken.getFamilyId()));
+    }
+
+    /**
+     * Revokes every token of a family.
+     *
+     * @param familyId the family ID
+     */
+    @Transactional
+    public void revokeFamily(UUID familyId) {
+        int revoked = refreshTokenRepository.deleteByFamilyId(familyId);
+        log.info("Revoked refresh token family {}: {} tokens", familyId, revoked);
+    }
+
+    /**
+     * Deletes every token past its expiry.
+     *
+     * @return the number of deleted tokens
+     */
+    @Transactional
+    public int deleteExpired() {
+        return refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private String issue(Long userId, int tokenVersion, UUID familyId) {
+        byte[] random = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(random);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        refreshTokenRepository.save(new RefreshToken(userId, hash(token), familyId, tokenVersion,
+                LocalDateTime.now().plusDays(expirationDays)));
+        return token;
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,9 +3,10 @@ package com.gpustore.auth.dto;
 /**
  * Response DTO containing authentication token information.
  *
- * @param token     the JWT token string
- * @param type      the token type (always "Bearer")
- * @param expiresIn token validity duration in milliseconds
+ * @param token        the JWT token string
+ * @param type         the token type (always "Bearer")
+ * @param expiresIn    token validity duration in milliseconds
+ * @param refreshToken the single-use token for {@code POST /api/auth/refresh}
  * @author GPU Store Team
  * @version 1.0.0
  * @since 1.0.0
@@ -13,16 +14,18 @@ package com.gpustore.auth.dto;
 public record LoginResponse(
         String token,
         String type,
-        long expiresIn
+        long expiresIn,
+        String refreshToken
 ) {
     /**
      * Factory method to create a LoginResponse with Bearer token type.
      *
-     * @param token     the JWT token string
-     * @param expiresIn token validity duration in milliseconds
+     * @param token        the JWT token string
+     * @param expiresIn    token validity duration in milliseconds
+     * @param refreshToken the refresh token
      * @return a new LoginResponse instance
      */
-    public static LoginResponse of(String token, long expiresIn) {
-        return new LoginResponse(token, "Bearer", expiresIn);
+    public static LoginResponse of(String token, long expiresIn, String refreshToken) {
+        return new LoginResponse(token, "Bearer", expiresIn, refreshToken);
     }
 }
@@ -0,0 +1,14 @@
+package com.gpustore.auth.dto;
+
+/**
+ * Request DTO for logging out.
+ *
+ * @param refreshToken the refresh token to revoke along with the access token (optional)
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record LogoutRequest(
+        String refreshToken
+) {
+}
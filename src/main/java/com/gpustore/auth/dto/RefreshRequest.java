@@ -0,0 +1,17 @@
+package com.gpustore.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Request DTO for exchanging a refresh token for a new access token.
+ *
+ * @param refreshToken the refresh token received at login or at the previous refresh
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record RefreshRequest(
+        @NotBlank(message = "Refresh token is required")
+        String refreshToken
+) {
+}
@@ -13,13 +13,16 @@ import java.util.Objects;
  *
  * <p>Provides automatic management of:</p>
  * <ul>
- *   <li>{@code id} - Auto-generated primary key</li>
+ *   <li>{@code id} - Primary key drawn from the table's {@code <table>_id_seq} sequence</li>
  *   <li>{@code createdAt} - Timestamp when the entity was created</li>
  *   <li>{@code updatedAt} - Timestamp of the last modification</li>
  * </ul>
  *
  * <p>Uses JPA auditing to automatically populate timestamp fields.</p>
  *
+ * <p>IDs are allocated in blocks of 50 (see {@link TableSequenceNamingStrategy}),
+ * so new entities are inserted in JDBC batches instead of one statement each.</p>
+ *
  * @author GPU Store Team
  * @version 1.0.0
  * @since 1.0.0
@@ -29,7 +32,7 @@ import java.util.Objects;
 public abstract class BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @CreatedDate
@@ -0,0 +1,55 @@
+package com.gpustore.common;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.ImplicitDatabaseObjectNamingStrategy;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * Names implicit ID sequences after the sequences PostgreSQL creates for {@code BIGSERIAL} columns.
+ *
+ * <p>An entity whose ID is {@code @GeneratedValue(strategy = SEQUENCE)} without an
+ * explicit generator draws from {@code <table>_id_seq}, the sequence already
+ * backing the column default. Hibernate and plain SQL inserts therefore share
+ * one sequence, and entities inheriting their ID from {@link BaseEntity} each
+ * get their own.</p>
+ *
+ * <p>Registered through {@code hibernate.id.db_structure_naming_strategy}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TableSequenceNamingStrategy implements ImplicitDatabaseObjectNamingStrategy {
+
+    private static final String SEQUENCE_SUFFIX = "_id_seq";
+
+    private final ImplicitDatabaseObjectNamingStrategy fallback = new StandardNamingStrategy();
+
+    @Override
+    public QualifiedName determineSequenceName(Identifier catalogName, Identifier schemaName,
+                                               Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        String table = ConfigurationHelper.getString(PersistentIdentifierGenerator.TABLE, configValues);
+        if (table == null || table.isEmpty()) {
+            return fallback.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+        }
+        String baseName = Identifier.isQuoted(table) ? Identifier.unQuote(table) : table;
+        Identifier sequenceName = serviceRegistry.requireService(JdbcEnvironment.class)
+                .getIdentifierHelper()
+                .toIdentifier(baseName + SEQUENCE_SUFFIX);
+        return new QualifiedSequenceName(catalogName, schemaName, sequenceName);
+    }
+
+    @Override
+    public QualifiedName determineTableName(Identifier catalogName, Identifier schemaName,
+                                            Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        return fallback.determineTableName(catalogName, schemaName, configValues, serviceRegistry);
+    }
+}
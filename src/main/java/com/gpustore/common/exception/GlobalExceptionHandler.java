@@ -2,6 +2,7 @@ package com.gpustore.common.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -25,6 +26,9 @@ import java.util.stream.Collectors;
  *   <li>{@link ValidationException} - Returns 400 Bad Request</li>
  *   <li>{@link MethodArgumentNotValidException} - Returns 400 Bad Request with validation errors</li>
  *   <li>{@link BadCredentialsException} - Returns 401 Unauthorized</li>
+ *   <li>{@link UnauthorizedException} - Returns 401 Unauthorized</li>
+ *   <li>{@link TooManyRequestsException} - Returns 429 Too Many Requests with Retry-After</li>
+ *   <li>{@link ServiceUnavailableException} - Returns 503 Service Unavailable with Retry-After</li>
  *   <li>{@link Exception} - Returns 500 Internal Server Error (fallback)</li>
  * </ul>
  *
@@ -108,6 +112,58 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    /**
+     * Handles rejected credentials other than an email and password, e.g. refresh tokens.
+     *
+     * @param ex the exception describing why the credentials were rejected
+     * @return a 401 response with the exception message
+     */
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<ErrorResponse> handleUnauthorized(UnauthorizedException ex) {
+        log.warn("Authentication failed: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.UNAUTHORIZED.value(),
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
+    /**
+     * Handles requests rejected due to overload.
+     *
+     * @param ex the exception carrying the suggested retry delay
+     * @return a 429 response with a {@code Retry-After} header
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex) {
+        log.warn("Request rejected: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(error);
+    }
+
+    /**
+     * Handles requests shed because a downstream stage is backlogged.
+     *
+     * @param ex the exception carrying the suggested retry delay
+     * @return a 503 response with a {@code Retry-After} header
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+        log.warn("Request shed: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(error);
+    }
+
     /**
      * Fallback handler for all uncaught exceptions.
      *
@@ -0,0 +1,36 @@
+package com.gpustore.common.exception;
+
+/**
+ * Exception thrown when a request is shed because a downstream stage is backlogged.
+ *
+ * <p>This exception is handled by {@link GlobalExceptionHandler} and results
+ * in a 503 Service Unavailable HTTP response with a {@code Retry-After} header.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceUnavailableException.
+     *
+     * @param message           the detail message describing why the request was shed
+     * @param retryAfterSeconds the number of seconds the client should wait before retrying
+     */
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the suggested retry delay.
+     *
+     * @return the number of seconds the client should wait before retrying
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,23 @@
+package com.gpustore.common.exception;
+
+/**
+ * Exception thrown when a request carries credentials that cannot be accepted.
+ *
+ * <p>This exception is handled by {@link GlobalExceptionHandler} and results
+ * in a 401 Unauthorized HTTP response carrying the exception message.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class UnauthorizedException extends RuntimeException {
+
+    /**
+     * Constructs a new UnauthorizedException with the specified message.
+     *
+     * @param message the detail message returned to the client
+     */
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
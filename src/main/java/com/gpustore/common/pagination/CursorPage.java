@@ -0,0 +1,93 @@
+package com.gpustore.common.pagination;
+
+import com.gpustore.common.exception.ValidationException;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * <p>Services fetch one row more than the requested limit; if it exists, the
+ * page is trimmed and {@link #nextCursor()} points at its last row. Controllers
+ * return the items as the response body and the cursor in the
+ * {@value #NEXT_CURSOR_HEADER} header.</p>
+ *
+ * @param items      the rows of this page
+ * @param nextCursor the token for the next page, or null on the last page
+ * @param <T>        the row type
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /** Response header carrying the next page's cursor. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** Page size used when the client does not ask for one. */
+    public static final String DEFAULT_LIMIT = "50";
+
+    /** Largest page size a client may ask for. */
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Validates a requested page size and caps it at {@link #MAX_LIMIT}.
+     *
+     * @param limit the requested page size
+     * @return the page size to use
+     * @throws ValidationException if the limit is not positive
+     */
+    public static int clamp(int limit) {
+        if (limit < 1) {
+            throw new ValidationException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows in keyset order.
+     *
+     * @param rows      the fetched rows
+     * @param limit     the page size
+     * @param createdAt extracts a row's creation time
+     * @param id        extracts a row's ID
+     * @param <T>       the row type
+     * @return the page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit,
+                                       Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        T last = items.get(limit - 1);
+        return new CursorPage<>(items, new KeysetCursor(createdAt.apply(last), id.apply(last)).encode());
+    }
+
+    /**
+     * Builds a 200 OK response with the items as body and the next cursor as header.
+     *
+     * @return the response
+     */
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+
+    /**
+     * Converts the rows of this page, keeping its cursor.
+     *
+     * @param mapper the row conversion
+     * @param <R>    the converted row type
+     * @return the converted page
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,56 @@
+package com.gpustore.common.pagination;
+
+import com.gpustore.common.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by {@code (created_at, id)}.
+ *
+ * <p>Clients receive the cursor as an opaque URL-safe token and pass it back
+ * unchanged to fetch the next page. The next page starts strictly after the
+ * row the cursor points at, so it is found with an index seek instead of an
+ * offset scan and stays stable while rows are inserted.</p>
+ *
+ * @param createdAt the creation time of the last row of the previous page
+ * @param id        the ID of the last row of the previous page
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token, may be null
+     * @return the cursor, or null if no token was given
+     * @throws ValidationException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.gpustore.common.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gpustore.common.exception.ErrorResponse;
+import com.gpustore.security.JwtTokenProvider;
+import com.gpustore.security.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter that rate-limits order creation per user and the auth endpoints per client IP.
+ *
+ * <p>Runs ahead of {@link com.gpustore.security.JwtAuthenticationFilter}, so a
+ * rejected request costs no database work. Users are identified by the
+ * {@code sub} claim of their token. Verified tokens are cached, so this adds
+ * no signature check. Requests over the limit get {@code 429 Too Many Requests}
+ * with {@code Retry-After}. The response is written here rather than through an
+ * exception, and rejections are counted in {@code rate-limit.rejected}.</p>
+ *
+ * <p>Policies:</p>
+ * <ul>
+ *   <li>{@code POST /api/orders} - per user, {@code rate-limit.orders.*}</li>
+ *   <li>{@code POST /api/auth/login}, {@code POST /api/auth/refresh} - per IP, {@code rate-limit.auth.*}</li>
+ * </ul>
+ *
+ * <p>Behind a reverse proxy, set {@code server.forward-headers-strategy} so that
+ * the client IP is taken from {@code X-Forwarded-For}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<RateLimitPolicy> policies;
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    /**
+     * Constructs a new RateLimitFilter.
+     *
+     * @param tokenProvider          the provider used to identify the user of a request
+     * @param objectMapper           the mapper used to write the 429 body
+     * @param meterRegistry          the registry for rejection counts
+     * @param enabled                whether rate limiting is enabled
+     * @param maximumKeys            the maximum number of users or IPs tracked per policy
+     * @param ordersPermitsPerSecond the sustained order creation rate per user
+     * @param ordersBurst            the number of orders a user may create at once
+     * @param authPermitsPerSecond   the sustained login and refresh rate per IP
+     * @param authBurst              the number of logins or refreshes an IP may make at once
+     */
+    public RateLimitFilter(JwtTokenProvider tokenProvider,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.maximum-keys:100000}") long maximumKeys,
+                           @Value("${rate-limit.orders.permits-per-second:2}") double ordersPermitsPerSecond,
+                           @Value("${rate-limit.orders.burst:10}") int ordersBurst,
+                           @Value("${rate-limit.auth.permits-per-second:1}") double authPermitsPerSecond,
+                           @Value("${rate-limit.auth.burst:10}") int authBurst) {
+        this.tokenProvider = tokenProvider;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.policies = List.of(
+                new RateLimitPolicy("orders", "POST", "/api/orders", RateLimitPolicy.KeyType.USER,
+                        ordersPermitsPerSecond, ordersBurst, maximumKeys),
+                new RateLimitPolicy("login", "POST", "/api/auth/login", RateLimitPolicy.KeyType.IP,
+                        authPermitsPerSecond, authBurst, maximumKeys),
+                new RateLimitPolicy("refresh", "POST", "/api/auth/refresh", RateLimitPolicy.KeyType.IP,
+                        authPermitsPerSecond, authBurst, maximumKeys));
+        for (RateLimitPolicy policy : policies) {
+            rejected.put(policy.getName(), meterRegistry.counter("rate-limit.rejected", "policy", policy.getName()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        for (RateLimitPolicy policy : policies) {
+            if (!policy.matches(request)) {
+                continue;
+            }
+            long waitNanos = policy.tryAcquire(key(policy, request), System.nanoTime());
+            if (waitNanos > 0) {
+                reject(policy, response, waitNanos);
+                return;
+            }
+            break;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Object key(RateLimitPolicy policy, HttpServletRequest request) {
+        if (policy.getKeyType() == RateLimitPolicy.KeyType.USER) {
+            String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (header != null && header.startsWith(BEARER_PREFIX)) {
+                VerifiedToken verified = tokenProvider.verify(header.substring(BEARER_PREFIX.length()));
+                if (verified != null) {
+                    return verified.userId();
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(RateLimitPolicy policy, HttpServletResponse response, long waitNanos) throws IOException {
+        rejected.get(policy.getName()).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("Request rejected by rate limit {}, retry after {} s", policy.getName(), retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, please retry shortly"));
+    }
+}
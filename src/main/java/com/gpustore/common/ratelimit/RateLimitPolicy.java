@@ -0,0 +1,108 @@
+package com.gpustore.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limit for one route, applied per client key.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the theoretical arrival
+ * time of the next request (GCRA, the generic cell rate algorithm). This is
+ * equivalent to a token bucket refilled at {@code permitsPerSecond} that holds
+ * {@code burst} tokens, and it is updated with one compare-and-set and no lock.
+ * Buckets live in a size-bounded Caffeine cache. A bucket left idle long enough
+ * to refill completely is dropped, which loses no state.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class RateLimitPolicy {
+
+    /**
+     * What a request is counted against.
+     */
+    public enum KeyType {
+        /** The authenticated user ID, or the client IP for requests without a valid token. */
+        USER,
+        /** The client IP. */
+        IP
+    }
+
+    private final String name;
+    private final String method;
+    private final String path;
+    private final KeyType keyType;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<Object, AtomicLong> buckets;
+
+    /**
+     * Creates a policy.
+     *
+     * @param name             the policy name used in metrics
+     * @param method           the HTTP method the policy applies to
+     * @param path             the exact request path the policy applies to
+     * @param keyType          what requests are counted against
+     * @param permitsPerSecond the sustained rate allowed per key
+     * @param burst            the number of requests a key may make at once
+     * @param maximumKeys      the maximum number of keys tracked
+     */
+    public RateLimitPolicy(String name, String method, String path, KeyType keyType,
+                           double permitsPerSecond, int burst, long maximumKeys) {
+        this.name = name;
+        this.method = method;
+        this.path = path;
+        this.keyType = keyType;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, burst);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(burstToleranceNanos))
+                .build();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
+    /**
+     * Checks whether the policy applies to a request.
+     *
+     * @param request the HTTP request
+     * @return true if the method and path match
+     */
+    public boolean matches(HttpServletRequest request) {
+        return method.equals(request.getMethod()) && path.equals(request.getRequestURI());
+    }
+
+    /**
+     * Takes one permit from a key's bucket.
+     *
+     * @param key       the client key
+     * @param nowNanos  the current {@link System#nanoTime()}
+     * @return 0 if the request is permitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(Object key, long nowNanos) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long wait = next - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.gpustore.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Identifies this application instance within a cluster.
+ *
+ * <p>Uses {@code app.node-id} when set, otherwise the host name and process ID,
+ * which is unique per replica in container deployments. The ID tags metrics and
+ * log lines so that work done by background jobs can be attributed to a node.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class NodeIdentity {
+
+    private final String nodeId;
+
+    /**
+     * Constructs a new NodeIdentity.
+     *
+     * @param configuredNodeId the configured node ID, or empty to derive one
+     */
+    public NodeIdentity(@Value("${app.node-id:}") String configuredNodeId) {
+        this.nodeId = configuredNodeId.isBlank() ? deriveNodeId() : configuredNodeId;
+    }
+
+    /**
+     * Returns this instance's node ID.
+     *
+     * @return the node ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
@@ -1,28 +1,46 @@
 package com.gpustore.config;
 
+import com.gpustore.event.EventMessageConverter;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * RabbitMQ configuration for order event messaging.
  *
  * <p>Topology:</p>
  * <ul>
  *   <li>Exchange: orders.exchange (direct)</li>
- *   <li>Queue: orders.created.queue - consumed by OrderProcessor</li>
+ *   <li>Queues: orders.created.queue.0 .. N-1 - OrderCreated partitions, single active consumer each,
+ *       consumed by OrderPartitionCoordinator</li>
+ *   <li>Queue: orders.created.queue - drains OrderCreated messages from nodes that do not partition yet</li>
  *   <li>Queue: orders.completed.queue - consumed by NotificationService</li>
  *   <li>Queue: orders.expired.queue - consumed by NotificationService</li>
  *   <li>Queue: orders.dlq - dead letter queue for failed messages</li>
+ *   <li>Exchange: products.cache.fanout (fanout) - product cache invalidations, broadcast to every node</li>
+ *   <li>Queue: anonymous, exclusive per node - consumed by ProductCatalogCache</li>
+ *   <li>Exchange: tokens.revocation.fanout (fanout) - access token revocations, broadcast to every node</li>
+ *   <li>Queue: anonymous, exclusive per node - consumed by TokenRevocationRegistry</li>
  * </ul>
+ *
+ * <p>Order domain events are written as JSON or, with {@code event.codec.format=binary},
+ * in the compact binary format of {@link EventMessageConverter}. Listeners read both.</p>
  */
 @Configuration
 public class RabbitMqConfig {
@@ -37,6 +55,12 @@ public class RabbitMqConfig {
     public static final String ROUTING_KEY_COMPLETED = "order.completed";
     public static final String ROUTING_KEY_EXPIRED = "order.expired";
 
+    public static final String CREATED_PARTITION_QUEUE_PREFIX = CREATED_QUEUE + ".";
+    public static final String ROUTING_KEY_CREATED_PARTITION_PREFIX = ROUTING_KEY_CREATED + ".";
+
+    public static final String PRODUCT_CACHE_EXCHANGE = "products.cache.fanout";
+    public static final String TOKEN_REVOCATION_EXCHANGE = "tokens.revocation.fanout";
+
     // ==================== Exchange ====================
 
     @Bean
@@ -54,6 +78,29 @@ public class RabbitMqConfig {
                 .build();
     }
 
+    /**
+     * One queue per OrderCreated partition, bound with its own routing key.
+     *
+     * <p>Single active consumer keeps a partition on one consumer while its
+     * listener moves between nodes: a new consumer waits until the previous one
+     * is gone.</p>
+     */
+    @Bean
+    public Declarables ordersCreatedPartitions(DirectExchange ordersExchange,
+                                               @Value("${order.partitions.count:8}") int partitionCount) {
+        List<Declarable> declarables = new ArrayList<>(2 * partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            Queue queue = QueueBuilder.durable(createdPartitionQueue(partition))
+                    .singleActiveConsumer()
+                    .withArgument("x-dead-letter-exchange", "")
+                    .withArgument("x-dead-letter-routing-key", DLQ_QUEUE)
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(ordersExchange).with(createdPartitionRoutingKey(partition)));
+        }
+        return new Declarables(declarables);
+    }
+
     @Bean
     public Queue ordersCompletedQueue() {
         return QueueBuilder.durable(COMPLETED_QUEUE)
@@ -98,18 +145,79 @@ public class RabbitMqConfig {
                 .with(ROUTING_KEY_EXPIRED);
     }
 
+    /**
+     * Returns the name of an OrderCreated partition queue.
+     *
+     * @param partition the partition number
+     * @return the queue name
+     */
+    public static String createdPartitionQueue(int partition) {
+        return CREATED_PARTITION_QUEUE_PREFIX + partition;
+    }
+
+    /**
+     * Returns the routing key of an OrderCreated partition.
+     *
+     * @param partition the partition number
+     * @return the routing key
+     */
+    public static String createdPartitionRoutingKey(int partition) {
+        return ROUTING_KEY_CREATED_PARTITION_PREFIX + partition;
+    }
+
+    // ==================== Product Cache Invalidation ====================
+
+    @Bean
+    public FanoutExchange productCacheExchange() {
+        return new FanoutExchange(PRODUCT_CACHE_EXCHANGE);
+    }
+
+    /**
+     * Per-node queue for cache invalidations; deleted when the node disconnects.
+     */
+    @Bean
+    public Queue productCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding productCacheBinding(Queue productCacheQueue, FanoutExchange productCacheExchange) {
+        return BindingBuilder.bind(productCacheQueue).to(productCacheExchange);
+    }
+
+    // ==================== Token Revocation ====================
+
+    @Bean
+    public FanoutExchange tokenRevocationExchange() {
+        return new FanoutExchange(TOKEN_REVOCATION_EXCHANGE);
+    }
+
+    /**
+     * Per-node queue for token revocations; deleted when the node disconnects.
+     */
+    @Bean
+    public Queue tokenRevocationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding tokenRevocationBinding(Queue tokenRevocationQueue, FanoutExchange tokenRevocationExchange) {
+        return BindingBuilder.bind(tokenRevocationQueue).to(tokenRevocationExchange);
+    }
+
     // ==================== Message Converter ====================
 
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter eventMessageConverter(
+            @Value("${event.codec.format:JSON}") EventMessageConverter.Format format) {
+        return new EventMessageConverter(new Jackson2JsonMessageConverter(), format);
     }
 
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
-                                         MessageConverter jsonMessageConverter) {
+                                         MessageConverter eventMessageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(jsonMessageConverter);
+        template.setMessageConverter(eventMessageConverter);
         return template;
     }
 }
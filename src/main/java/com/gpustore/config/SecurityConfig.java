@@ -1,10 +1,17 @@
 package com.gpustore.config;
 
+import com.gpustore.common.pagination.CursorPage;
+import com.gpustore.common.ratelimit.RateLimitFilter;
+import com.gpustore.security.BoundedPasswordEncoder;
 import com.gpustore.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,6 +20,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -32,7 +40,12 @@ import java.util.List;
  *   <li>{@code /api-docs/**, /swagger-ui/**} - API documentation</li>
  * </ul>
  *
- * <p>All other endpoints require JWT authentication.</p>
+ * <p>{@code /actuator/jwtkeys} rotates the token signing key, so it is only
+ * served on {@code management.server.port}, which must not be reachable from
+ * outside. Without a separate management port it is denied.</p>
+ *
+ * <p>All other endpoints require JWT authentication. Order creation and the auth
+ * endpoints are rate-limited by {@link RateLimitFilter} before authentication.</p>
  *
  * @author GPU Store Team
  * @version 1.0.0
@@ -43,14 +56,17 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     /**
-     * Constructs a new SecurityConfig with the required JWT authentication filter.
+     * Constructs a new SecurityConfig with the required filters.
      *
      * @param jwtAuthenticationFilter the filter for processing JWT tokens
+     * @param rateLimitFilter         the filter rejecting requests over their rate limit
      */
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
@@ -59,12 +75,15 @@ public class SecurityConfig {
      * <p>Sets up CORS, disables CSRF (as JWT is used), configures stateless
      * session management, and defines authorization rules for endpoints.</p>
      *
-     * @param http the {@link HttpSecurity} to configure
+     * @param http           the {@link HttpSecurity} to configure
+     * @param managementPort the port actuator endpoints are served on, or -1 if it is the server port
      * @return the configured {@link SecurityFilterChain}
      * @throws Exception if an error occurs during configuration
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${management.server.port:-1}") int managementPort)
+            throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
@@ -73,9 +92,15 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/refresh").permitAll()
                         .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(AntPathRequestMatcher.antMatcher("/actuator/jwtkeys/**"))
+                        .access((authentication, context) -> new AuthorizationDecision(
+                                managementPort > 0 && context.getRequest().getLocalPort() == managementPort))
                         .anyRequest().authenticated())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -94,7 +119,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("*"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", CursorPage.NEXT_CURSOR_HEADER, HttpHeaders.ETAG));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -104,11 +129,23 @@ public class SecurityConfig {
     /**
      * Creates the password encoder bean using BCrypt with strength 10.
      *
+     * <p>Hashing runs on a bounded pool so that bursts of logins cannot starve
+     * other requests of CPU; see {@link BoundedPasswordEncoder}.</p>
+     *
+     * @param meterRegistry the registry for hashing pool metrics
+     * @param threads       the number of hashing threads, or 0 for half the available processors
+     * @param queueCapacity the maximum number of operations waiting for a thread
+     * @param maxWaitMs     how long a request waits for its hash before it is rejected with 429
      * @return the {@link PasswordEncoder} for hashing passwords
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.password-hashing.threads:0}") int threads,
+                                           @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${auth.password-hashing.max-wait-ms:2000}") long maxWaitMs) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(10), poolSize, queueCapacity, maxWaitMs,
+                meterRegistry);
     }
 
     /**
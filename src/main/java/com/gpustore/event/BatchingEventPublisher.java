@@ -0,0 +1,277 @@
+package com.gpustore.event;
+
+import com.gpustore.config.RabbitMqConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes events to RabbitMQ from a bounded in-memory queue.
+ *
+ * <p>Callers only enqueue the event and get a future back, so publishing adds no
+ * broker round trip to their latency. {@code event.publisher.threads} publisher
+ * threads drain the queue in batches of up to {@code event.publisher.batch-size}
+ * events, waiting at most {@code event.publisher.linger-ms} for a batch to fill.
+ * Each batch is sent on a single channel, and every message carries correlation
+ * data. A future completes once the broker confirms its message. It fails on a
+ * nack, or if no confirm arrives within {@code event.publisher.confirm-timeout-ms}.
+ * Confirms are awaited asynchronously, so a thread sends its next batch while the
+ * previous one is still in flight.</p>
+ *
+ * <p>When the queue is full, {@code event.publisher.overflow} decides:
+ * {@link OverflowPolicy#FAIL} fails the future at once, {@link OverflowPolicy#BLOCK}
+ * waits up to {@code event.publisher.offer-timeout-ms} for space first.</p>
+ *
+ * <p>Only created when {@code event.publisher.mode=async}; used by
+ * {@link RabbitMqEventBus}. Exposes {@code event.publisher.queued},
+ * {@code event.publisher.rejected} and {@code event.publisher.failed}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "event.publisher.mode", havingValue = "async")
+public class BatchingEventPublisher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingEventPublisher.class);
+    private static final long IDLE_POLL_MS = 50;
+
+    /**
+     * What to do with an event when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Fail the event immediately. */
+        FAIL,
+        /** Wait for space up to the offer timeout, then fail. */
+        BLOCK
+    }
+
+    private record PendingEvent(String routingKey, Object event, CompletableFuture<Void> result) {
+    }
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ArrayBlockingQueue<PendingEvent> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int threadCount;
+    private final OverflowPolicy overflow;
+    private final long offerTimeoutMs;
+    private final long confirmTimeoutMs;
+    private final Counter rejected;
+    private final Counter failed;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * Constructs a new BatchingEventPublisher.
+     *
+     * @param rabbitTemplate   the template used to send batches; needs correlated publisher confirms
+     * @param meterRegistry    the registry for publisher metrics
+     * @param queueCapacity    the maximum number of events waiting to be sent
+     * @param batchSize        the maximum number of events sent per channel operation
+     * @param lingerMs         how long a publisher waits for a batch to fill
+     * @param threadCount      the number of publisher threads
+     * @param overflow         what to do with an event when the queue is full
+     * @param offerTimeoutMs   how long {@link OverflowPolicy#BLOCK} waits for space
+     * @param confirmTimeoutMs how long a message may wait for its publisher confirm
+     */
+    public BatchingEventPublisher(RabbitTemplate rabbitTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${event.publisher.queue-capacity:65536}") int queueCapacity,
+                                  @Value("${event.publisher.batch-size:500}") int batchSize,
+                                  @Value("${event.publisher.linger-ms:5}") long lingerMs,
+                                  @Value("${event.publisher.threads:2}") int threadCount,
+                                  @Value("${event.publisher.overflow:BLOCK}") OverflowPolicy overflow,
+                                  @Value("${event.publisher.offer-timeout-ms:100}") long offerTimeoutMs,
+                                  @Value("${event.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.threadCount = threadCount;
+        this.overflow = overflow;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.rejected = meterRegistry.counter("event.publisher.rejected");
+        this.failed = meterRegistry.counter("event.publisher.failed");
+        meterRegistry.gauge("event.publisher.queued", queue, ArrayBlockingQueue::size);
+    }
+
+    /**
+     * Queues an event for publishing.
+     *
+     * @param routingKey the routing key determining which queue receives the event
+     * @param event      the domain event object (must be JSON-serializable)
+     * @return a future completing once the broker has confirmed the event, or failing
+     *         if the queue is full, the broker rejects it or no confirm arrives in time
+     */
+    public CompletableFuture<Void> publish(String routingKey, Object event) {
+        PendingEvent pending = new PendingEvent(routingKey, event, new CompletableFuture<>());
+        if (!running) {
+            return reject(pending, "publisher is not running");
+        }
+        boolean queued;
+        try {
+            queued = overflow == OverflowPolicy.BLOCK
+                    ? queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return reject(pending, "interrupted while waiting for queue space");
+        }
+        return queued ? pending.result() : reject(pending, "queue full");
+    }
+
+    private CompletableFuture<Void> reject(PendingEvent pending, String reason) {
+        rejected.increment();
+        pending.result().completeExceptionally(
+                new AmqpException("Event [" + pending.routingKey() + "] not published: " + reason));
+        return pending.result();
+    }
+
+    private void run() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                send(batch);
+            } catch (InterruptedException e) {
+                // Stopping: what is already batched or queued is sent without lingering
+                running = false;
+                send(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds queued events to the batch until it is full or the linger time has passed.
+     */
+    private void fill(List<PendingEvent> batch) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + lingerNanos;
+        while (running && batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    /**
+     * Sends a batch on one channel and links each event's future to its publisher confirm.
+     */
+    private void send(List<PendingEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int[] sent = {0};
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingEvent pending : batch) {
+                    CorrelationData correlationData = new CorrelationData();
+                    try {
+                        operations.convertAndSend(RabbitMqConfig.EXCHANGE_NAME, pending.routingKey(),
+                                pending.event(), correlationData);
+                    } catch (MessageConversionException e) {
+                        fail(pending, e);
+                        sent[0]++;
+                        continue;
+                    }
+                    track(pending, correlationData);
+                    sent[0]++;
+                }
+                return null;
+            });
+            log.debug("Published batch of {} events", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Publishing a batch of {} events failed after {}", batch.size(), sent[0], e);
+            // Messages already sent are settled by their confirms or the confirm timeout
+            for (PendingEvent pending : batch.subList(sent[0], batch.size())) {
+                fail(pending, e);
+            }
+        }
+    }
+
+    private void track(PendingEvent pending, CorrelationData correlationData) {
+        correlationData.getFuture()
+                .orTimeout(confirmTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((confirm, error) -> {
+                    if (error != null) {
+                        fail(pending, new AmqpException("No publisher confirm for event ["
+                                + pending.routingKey() + "] within " + confirmTimeoutMs + " ms", error));
+                    } else if (!confirm.isAck()) {
+                        fail(pending, new AmqpException("Broker rejected event ["
+                                + pending.routingKey() + "]: " + confirm.getReason()));
+                    } else {
+                        pending.result().complete(null);
+                    }
+                });
+    }
+
+    private void fail(PendingEvent pending, Exception e) {
+        failed.increment();
+        pending.result().completeExceptionally(e);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(Thread.ofPlatform().name("event-publisher-" + i).daemon().start(this::run));
+        }
+        log.info("Asynchronous event publishing started with {} threads, batches of {}", threadCount, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+        PendingEvent pending;
+        while ((pending = queue.poll()) != null) {
+            fail(pending, new AmqpException("Event [" + pending.routingKey() + "] not published: shutting down"));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -1,10 +1,15 @@
 package com.gpustore.event;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Abstraction for publishing domain events.
  * Allows decoupling event producers from specific messaging infrastructure.
  *
- * <p>Implementations may use RabbitMQ, Kafka, or in-memory for testing.</p>
+ * <p>Implementations may use RabbitMQ, Kafka, or in-memory for testing. The default
+ * implementation is the transactional outbox ({@link OutboxEventBus}), which requires
+ * callers to publish from within a transaction.</p>
  */
 public interface EventBus {
 
@@ -15,4 +20,36 @@ public interface EventBus {
      * @param event      the domain event object (must be JSON-serializable)
      */
     void publish(String routingKey, Object event);
+
+    /**
+     * Publishes several events with the same routing key.
+     *
+     * <p>Implementations may override this to write or send the events as one batch.</p>
+     *
+     * @param routingKey the routing key determining which queue receives the events
+     * @param events     the domain event objects (must be JSON-serializable)
+     */
+    default void publishAll(String routingKey, List<?> events) {
+        events.forEach(event -> publish(routingKey, event));
+    }
+
+    /**
+     * Publishes an event without waiting for the messaging infrastructure.
+     *
+     * <p>The default implementation publishes synchronously and returns a completed
+     * future. Implementations that queue events override this and complete the
+     * future once delivery is confirmed.</p>
+     *
+     * @param routingKey the routing key determining which queue receives the event
+     * @param event      the domain event object (must be JSON-serializable)
+     * @return a future completing once the event has been accepted, or failing with the cause
+     */
+    default CompletableFuture<Void> publishAsync(String routingKey, Object event) {
+        try {
+            publish(routingKey, event);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
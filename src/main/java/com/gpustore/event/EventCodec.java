@@ -0,0 +1,295 @@
+package com.gpustore.event;
+
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding of the order domain events.
+ *
+ * <p>Layout: a schema version byte, an event type byte, a null mask with one bit
+ * per record component, then each non-null component in declaration order.
+ * IDs are zigzag varints. An amount is its scale and unscaled value as varints,
+ * with a length-prefixed two's-complement fallback for values beyond 64 bits.
+ * A timestamp is its UTC epoch second and nano-of-second as varints. Strings are
+ * a varint byte length followed by UTF-8. A typical {@link OrderCreatedEvent}
+ * encodes to about 20 bytes.</p>
+ *
+ * <p>Encoding writes into one small buffer that is trimmed to length, and
+ * decoding reads the body in place; neither goes through reflection or
+ * intermediate trees. Decoding rejects bodies written with an unknown schema
+ * version, so a new version must be understood by every consumer before
+ * producers switch to it.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class EventCodec {
+
+    static final byte VERSION = 1;
+
+    private static final byte TYPE_CREATED = 1;
+    private static final byte TYPE_COMPLETED = 2;
+    private static final byte TYPE_EXPIRED = 3;
+
+    private static final int HEADER_SIZE = 3;
+    private static final int BIG_UNSCALED = 1;
+    // Header, two IDs, a timestamp and an amount or string length at their longest varints
+    private static final int MAX_FIXED_SIZE = HEADER_SIZE + 10 + 10 + 15 + 16;
+
+    private EventCodec() {
+    }
+
+    /**
+     * Checks whether events of a type can be encoded.
+     *
+     * @param type the event type
+     * @return true for the order domain events
+     */
+    static boolean supports(Class<?> type) {
+        return type == OrderCreatedEvent.class
+                || type == OrderCompletedEvent.class
+                || type == OrderExpiredEvent.class;
+    }
+
+    /**
+     * Encodes an event.
+     *
+     * @param event the event; must be of a {@link #supports supported} type
+     * @return the encoded bytes
+     * @throws MessageConversionException if the event type is not supported
+     */
+    static byte[] encode(Object event) {
+        return switch (event) {
+            case OrderCreatedEvent e ->
+                    encodeAmountEvent(TYPE_CREATED, e.orderId(), e.userId(), e.total(), e.timestamp());
+            case OrderCompletedEvent e ->
+                    encodeAmountEvent(TYPE_COMPLETED, e.orderId(), e.userId(), e.total(), e.timestamp());
+            case OrderExpiredEvent e -> {
+                byte[] reason = e.reason() == null ? null : e.reason().getBytes(StandardCharsets.UTF_8);
+                Writer writer = new Writer(MAX_FIXED_SIZE + (reason == null ? 0 : reason.length));
+                writer.header(TYPE_EXPIRED, mask(e.orderId(), e.userId(), reason, e.timestamp()));
+                writer.id(e.orderId());
+                writer.id(e.userId());
+                writer.bytes(reason);
+                writer.timestamp(e.timestamp());
+                yield writer.toByteArray();
+            }
+            default -> throw new MessageConversionException("No binary encoding for " + event.getClass().getName());
+        };
+    }
+
+    /**
+     * Decodes an event.
+     *
+     * @param body the encoded bytes
+     * @return the event
+     * @throws MessageConversionException if the body is truncated, of an unknown
+     *                                    schema version or of an unknown event type
+     */
+    static Object decode(byte[] body) {
+        if (body.length < HEADER_SIZE) {
+            throw new MessageConversionException("Binary event body too short: " + body.length + " bytes");
+        }
+        if (body[0] != VERSION) {
+            throw new MessageConversionException("Unsupported binary event schema version " + body[0]);
+        }
+        Reader reader = new Reader(body, HEADER_SIZE);
+        int mask = body[2] & 0xFF;
+        try {
+            return switch (body[1]) {
+                case TYPE_CREATED -> new OrderCreatedEvent(reader.id(mask, 0), reader.id(mask, 1),
+                        reader.amount(mask, 2), reader.timestamp(mask, 3));
+                case TYPE_COMPLETED -> new OrderCompletedEvent(reader.id(mask, 0), reader.id(mask, 1),
+                        reader.amount(mask, 2), reader.timestamp(mask, 3));
+                case TYPE_EXPIRED -> new OrderExpiredEvent(reader.id(mask, 0), reader.id(mask, 1),
+                        reader.string(mask, 2), reader.timestamp(mask, 3));
+                default -> throw new MessageConversionException("Unknown binary event type " + body[1]);
+            };
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new MessageConversionException("Truncated binary event body", e);
+        }
+    }
+
+    private static byte[] encodeAmountEvent(byte type, Long orderId, Long userId,
+                                            BigDecimal amount, LocalDateTime timestamp) {
+        Writer writer = new Writer(MAX_FIXED_SIZE);
+        writer.header(type, mask(orderId, userId, amount, timestamp));
+        writer.id(orderId);
+        writer.id(userId);
+        writer.amount(amount);
+        writer.timestamp(timestamp);
+        return writer.toByteArray();
+    }
+
+    private static int mask(Object first, Object second, Object third, Object fourth) {
+        return (first != null ? 1 : 0)
+                | (second != null ? 2 : 0)
+                | (third != null ? 4 : 0)
+                | (fourth != null ? 8 : 0);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Appends components to a buffer sized for the worst case of the event type.
+     */
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void header(byte type, int mask) {
+            buffer[position++] = VERSION;
+            buffer[position++] = type;
+            buffer[position++] = (byte) mask;
+        }
+
+        void id(Long value) {
+            if (value != null) {
+                varint(zigzag(value));
+            }
+        }
+
+        void amount(BigDecimal value) {
+            if (value == null) {
+                return;
+            }
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < 64) {
+                varint(zigzag((long) value.scale() << 1));
+                varint(zigzag(unscaled.longValue()));
+            } else {
+                varint(zigzag(((long) value.scale() << 1) | BIG_UNSCALED));
+                bytes(unscaled.toByteArray());
+            }
+        }
+
+        void timestamp(LocalDateTime value) {
+            if (value != null) {
+                varint(zigzag(value.toEpochSecond(ZoneOffset.UTC)));
+                varint(value.getNano());
+            }
+        }
+
+        void bytes(byte[] value) {
+            if (value != null) {
+                varint(value.length);
+                ensureCapacity(value.length);
+                System.arraycopy(value, 0, buffer, position, value.length);
+                position += value.length;
+            }
+        }
+
+        void varint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    /**
+     * Reads components from an encoded body in place.
+     */
+    private static final class Reader {
+
+        private final byte[] body;
+        private int position;
+
+        Reader(byte[] body, int position) {
+            this.body = body;
+            this.position = position;
+        }
+
+        Long id(int mask, int component) {
+            return present(mask, component) ? unzigzag(varint()) : null;
+        }
+
+        BigDecimal amount(int mask, int component) {
+            if (!present(mask, component)) {
+                return null;
+            }
+            long scaleAndFlag = unzigzag(varint());
+            int scale = Math.toIntExact(scaleAndFlag >> 1);
+            if ((scaleAndFlag & BIG_UNSCALED) == 0) {
+                return BigDecimal.valueOf(unzigzag(varint()), scale);
+            }
+            int length = length();
+            BigInteger unscaled = new BigInteger(body, position, length);
+            position += length;
+            return new BigDecimal(unscaled, scale);
+        }
+
+        LocalDateTime timestamp(int mask, int component) {
+            if (!present(mask, component)) {
+                return null;
+            }
+            long epochSecond = unzigzag(varint());
+            int nano = (int) varint();
+            return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+
+        String string(int mask, int component) {
+            if (!present(mask, component)) {
+                return null;
+            }
+            int length = length();
+            String value = new String(body, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private int length() {
+            long length = varint();
+            if (length > body.length - position) {
+                throw new MessageConversionException("Truncated binary event body");
+            }
+            return (int) length;
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = body[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new MessageConversionException("Malformed varint in binary event body");
+        }
+
+        private static boolean present(int mask, int component) {
+            return (mask & (1 << component)) != 0;
+        }
+    }
+}
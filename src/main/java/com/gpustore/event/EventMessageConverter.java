@@ -0,0 +1,70 @@
+package com.gpustore.event;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Message converter that selects the event encoding by content type.
+ *
+ * <p>Inbound messages with content type {@value #BINARY_CONTENT_TYPE} are decoded
+ * by {@link EventCodec}; everything else goes to the JSON converter. Consumers
+ * therefore read both formats, and producers can be switched one by one.</p>
+ *
+ * <p>Outbound, the order domain events are written in the binary format when
+ * {@code event.codec.format=binary}. Other payloads, such as cache invalidations
+ * and token revocations, and all payloads in JSON mode are written by the JSON
+ * converter.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class EventMessageConverter implements MessageConverter {
+
+    public static final String BINARY_CONTENT_TYPE = "application/x-gpustore-event";
+
+    /**
+     * Encoding of outbound order domain events.
+     */
+    public enum Format {
+        /** Write events with the JSON converter. */
+        JSON,
+        /** Write events with the compact binary codec. */
+        BINARY
+    }
+
+    private final MessageConverter jsonConverter;
+    private final Format format;
+
+    /**
+     * Creates a converter.
+     *
+     * @param jsonConverter the converter for JSON messages and non-event payloads
+     * @param format        the encoding of outbound order domain events
+     */
+    public EventMessageConverter(MessageConverter jsonConverter, Format format) {
+        this.jsonConverter = jsonConverter;
+        this.format = format;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        if (format != Format.BINARY || !EventCodec.supports(object.getClass())) {
+            return jsonConverter.toMessage(object, messageProperties);
+        }
+        byte[] body = EventCodec.encode(object);
+        messageProperties.setContentType(BINARY_CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        if (BINARY_CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return EventCodec.decode(message.getBody());
+        }
+        return jsonConverter.fromMessage(message);
+    }
+}
@@ -0,0 +1,114 @@
+package com.gpustore.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transactional outbox implementation of the EventBus interface.
+ *
+ * <p>Instead of talking to the broker, events are stored in the {@code outbox_events}
+ * table within the caller's transaction. They become visible to {@link OutboxRelay}
+ * only if that transaction commits, so no event is ever sent for a rolled-back change
+ * and no broker round-trip is added to the caller's transaction.</p>
+ *
+ * <p>Enabled by default; set {@code event.outbox.enabled=false} to publish directly
+ * through {@link RabbitMqEventBus}.</p>
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "event.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxEventBus implements EventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxEventBus.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (routing_key, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxEventBus(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                          JdbcTemplate jdbcTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stores the event in the outbox.
+     *
+     * <p>Must be called within an existing transaction.</p>
+     *
+     * @param routingKey the routing key determining which queue receives the event
+     * @param event      the domain event object (must be JSON-serializable)
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String routingKey, Object event) {
+        outboxEventRepository.save(new OutboxEvent(routingKey, event.getClass().getName(), serialize(event)));
+        log.debug("Event stored in outbox [{}]: {}", routingKey, event);
+    }
+
+    /**
+     * Stores several events in the outbox with one JDBC batch insert.
+     *
+     * <p>Must be called within an existing transaction.</p>
+     *
+     * @param routingKey the routing key determining which queue receives the events
+     * @param events     the domain event objects (must be JSON-serializable)
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(String routingKey, List<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, routingKey);
+            ps.setString(2, event.getClass().getName());
+            ps.setString(3, serialize(event));
+            ps.setTimestamp(4, now);
+        });
+        log.debug("{} events stored in outbox [{}]", events.size(), routingKey);
+    }
+
+    /**
+     * Stores the event in the outbox; the future completes once it is written.
+     *
+     * <p>Must be called within an existing transaction. The event is only relayed
+     * if that transaction commits.</p>
+     *
+     * @param routingKey the routing key determining which queue receives the event
+     * @param event      the domain event object (must be JSON-serializable)
+     * @return a completed future
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public CompletableFuture<Void> publishAsync(String routingKey, Object event) {
+        publish(routingKey, event);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event is not serializable: " + event.getClass().getName(), e);
+        }
+    }
+}
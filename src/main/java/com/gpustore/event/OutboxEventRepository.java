@@ -0,0 +1,88 @@
+package com.gpustore.event;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link OutboxEvent} entities.
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest unclaimed outbox events for relaying.
+     *
+     * <p>Rows already locked by another relay are skipped, so several application
+     * nodes can drain the outbox concurrently without blocking each other.
+     * Partitioned OrderCreated events are only returned for the given routing
+     * keys, and not while an earlier event of the same partition is still
+     * claimed, so each partition is relayed by one node in id order.</p>
+     *
+     * @param createdRoutingKeys the OrderCreated partition routing keys to relay; must not be empty
+     * @param limit              the maximum number of events to lock
+     * @return the locked events in insertion order
+     */
+    @Query(value = "SELECT * FROM outbox_events o "
+            + "WHERE (o.claimed_until IS NULL OR o.claimed_until < now()) "
+            + "AND (o.routing_key NOT LIKE 'order.created.%' "
+            + "OR (o.routing_key IN (:createdRoutingKeys) AND NOT EXISTS ("
+            + "SELECT 1 FROM outbox_events c WHERE c.routing_key = o.routing_key AND c.claimed_until >= now()))) "
+            + "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("createdRoutingKeys") Collection<String> createdRoutingKeys,
+                                    @Param("limit") int limit);
+
+    /**
+     * Claims events for a relay, hiding them from other relays until the claim lapses.
+     *
+     * @param ids           the event IDs
+     * @param claimSeconds  how long the claim lasts
+     * @return the number of events claimed
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET claimed_until = now() + make_interval(secs => :claimSeconds) "
+            + "WHERE id IN (:ids)", nativeQuery = true)
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimSeconds") double claimSeconds);
+
+    /**
+     * Releases claimed events so that the next relay pass sends them again.
+     *
+     * @param ids the event IDs
+     * @return the number of events released
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET claimed_until = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves an event that can never be published to {@code outbox_dead_letters}.
+     *
+     * @param id    the event ID
+     * @param error why the event cannot be published
+     * @return 1 if the event was moved, 0 if it was already gone
+     */
+    @Modifying
+    @Query(value = "WITH failed AS (DELETE FROM outbox_events WHERE id = :id "
+            + "RETURNING id, routing_key, event_type, payload, created_at) "
+            + "INSERT INTO outbox_dead_letters (id, routing_key, event_type, payload, created_at, error) "
+            + "SELECT id, routing_key, event_type, payload, created_at, :error FROM failed", nativeQuery = true)
+    int deadLetter(@Param("id") Long id, @Param("error") String error);
+
+    /**
+     * Takes the relay lock of an OrderCreated partition until the transaction ends.
+     *
+     * @param lockClass the lock namespace
+     * @param partition the partition number
+     * @return true if the lock was taken, false if another relay holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockClass, :partition)", nativeQuery = true)
+    boolean tryLockPartition(@Param("lockClass") int lockClass, @Param("partition") int partition);
+}
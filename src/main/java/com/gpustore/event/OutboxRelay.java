@@ -0,0 +1,276 @@
+package com.gpustore.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gpustore.config.RabbitMqConfig;
+import com.gpustore.order.OrderPartitionCoordinator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relays events from the transactional outbox to RabbitMQ.
+ *
+ * <p>Each pass locks a batch of outbox rows with {@code FOR UPDATE SKIP LOCKED},
+ * claims them for {@code event.outbox.claim-timeout-ms} and commits, so no row
+ * lock or JDBC connection is held while the broker confirms. The batch is then
+ * published, and a second short transaction settles every row by its own
+ * confirm: confirmed rows are deleted, nacked or unconfirmed rows are released
+ * for the next pass (at-least-once delivery). Other relays skip claimed rows, so
+ * every application node can run the relay concurrently. If a node dies while
+ * it holds a claim, the rows are sent again once the claim lapses.</p>
+ *
+ * <p>A row whose payload cannot be read or converted is moved to
+ * {@code outbox_dead_letters} and counted in {@code event.outbox.dead-lettered};
+ * the rest of its batch is relayed as usual.</p>
+ *
+ * <p>Partitioned OrderCreated events are relayed only by the node that consumes
+ * the partition ({@link OrderPartitionCoordinator}), which also holds a
+ * per-partition advisory lock while it claims, so two nodes that briefly both
+ * believe they own a partition take turns. A partition is not claimed again
+ * while earlier events of it are still claimed. Together with publishing a
+ * batch on one channel, a partition's events reach its queue in
+ * {@code outbox_events.id} order. The one exception is an event that is nacked
+ * or not confirmed: it is sent again after the later events of its batch. Other
+ * events are relayed by every node, in no particular order.</p>
+ *
+ * <p>Configuration properties:</p>
+ * <ul>
+ *   <li>{@code event.outbox.batch-size} - Maximum events per batch (default 100)</li>
+ *   <li>{@code event.outbox.relay-interval-ms} - Delay between passes (default 200)</li>
+ *   <li>{@code event.outbox.confirm-timeout-ms} - Maximum wait for confirms per batch (default 5000)</li>
+ *   <li>{@code event.outbox.claim-timeout-ms} - How long other relays skip a claimed batch (default 30000)</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "event.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Namespace of the per-partition relay locks
+    private static final int PARTITION_LOCK_CLASS = 0x6f757462;
+
+    /**
+     * A claimed row and the event read from its payload.
+     */
+    private record ClaimedEvent(OutboxEvent outboxEvent, Object event) {
+    }
+
+    /**
+     * The rows claimed by one pass, and how many rows it dead-lettered while claiming.
+     */
+    private record Claim(List<ClaimedEvent> events, int deadLettered) {
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderPartitionCoordinator partitionCoordinator;
+    private final Counter deadLettered;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final long claimTimeoutMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       OrderPartitionCoordinator partitionCoordinator,
+                       MeterRegistry meterRegistry,
+                       @Value("${event.outbox.batch-size:100}") int batchSize,
+                       @Value("${event.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                       @Value("${event.outbox.claim-timeout-ms:30000}") long claimTimeoutMs) {
+        if (claimTimeoutMs <= confirmTimeoutMs) {
+            throw new IllegalArgumentException(
+                    "event.outbox.claim-timeout-ms must exceed event.outbox.confirm-timeout-ms");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionCoordinator = partitionCoordinator;
+        this.deadLettered = meterRegistry.counter("event.outbox.dead-lettered");
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.claimTimeoutMs = claimTimeoutMs;
+    }
+
+    /**
+     * Drains the outbox until a batch settles fewer rows than the batch size.
+     */
+    @Scheduled(fixedDelayString = "${event.outbox.relay-interval-ms:200}")
+    public void relay() {
+        try {
+            int settled;
+            do {
+                settled = relayBatch();
+            } while (settled == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Outbox relay pass failed, pending events will be retried", e);
+        }
+    }
+
+    /**
+     * Claims one batch, publishes it and settles each row by its confirm.
+     *
+     * @return the number of rows deleted or dead-lettered
+     */
+    private int relayBatch() {
+        Claim claim = transactionTemplate.execute(status -> claimBatch());
+        if (claim == null || claim.events().isEmpty()) {
+            return claim == null ? 0 : claim.deadLettered();
+        }
+
+        Map<Long, CorrelationData> sent = new LinkedHashMap<>();
+        Map<Long, String> unpublishable = new LinkedHashMap<>();
+        try {
+            publish(claim.events(), sent, unpublishable);
+        } catch (AmqpException e) {
+            log.warn("Outbox relay could not publish, {} of {} events were sent",
+                    sent.size(), claim.events().size(), e);
+        }
+        Set<Long> confirmed = awaitConfirms(sent);
+        List<Long> unconfirmed = claim.events().stream()
+                .map(claimed -> claimed.outboxEvent().getId())
+                .filter(id -> !confirmed.contains(id) && !unpublishable.containsKey(id))
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!confirmed.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(confirmed);
+            }
+            unpublishable.forEach(this::deadLetter);
+            if (!unconfirmed.isEmpty()) {
+                outboxEventRepository.releaseClaims(unconfirmed);
+            }
+        });
+        log.debug("Relayed {} outbox events, {} left for the next pass", confirmed.size(), unconfirmed.size());
+        return claim.deadLettered() + confirmed.size() + unpublishable.size();
+    }
+
+    /**
+     * Locks and claims the next batch, moving rows that cannot be read to the dead letters.
+     */
+    private Claim claimBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(createdRoutingKeys(), batchSize);
+        List<ClaimedEvent> claimed = new ArrayList<>(batch.size());
+        int unreadable = 0;
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                claimed.add(new ClaimedEvent(outboxEvent, deserialize(outboxEvent)));
+            } catch (ClassNotFoundException | JsonProcessingException e) {
+                deadLetter(outboxEvent.getId(), e.toString());
+                unreadable++;
+            }
+        }
+        if (!claimed.isEmpty()) {
+            outboxEventRepository.claim(claimed.stream().map(c -> c.outboxEvent().getId()).toList(),
+                    claimTimeoutMs / 1000.0);
+        }
+        return new Claim(claimed, unreadable);
+    }
+
+    /**
+     * Returns the routing keys of the owned partitions whose relay lock this transaction holds.
+     *
+     * @return the routing keys, never empty
+     */
+    private List<String> createdRoutingKeys() {
+        List<String> routingKeys = new ArrayList<>();
+        // Unpartitioned events are relayed anyway; keeps the IN list valid when no partition is owned
+        routingKeys.add(RabbitMqConfig.ROUTING_KEY_CREATED);
+        for (int partition : partitionCoordinator.ownedPartitions()) {
+            if (outboxEventRepository.tryLockPartition(PARTITION_LOCK_CLASS, partition)) {
+                routingKeys.add(RabbitMqConfig.createdPartitionRoutingKey(partition));
+            }
+        }
+        return routingKeys;
+    }
+
+    /**
+     * Publishes a claimed batch. Stops at the first broker failure; events not
+     * sent by then are missing from {@code sent}.
+     *
+     * @param claimed       the events to publish, in id order
+     * @param sent          receives the correlation data of every event handed to the broker
+     * @param unpublishable receives the events that cannot be converted to a message, with the reason
+     */
+    private void publish(List<ClaimedEvent> claimed, Map<Long, CorrelationData> sent,
+                         Map<Long, String> unpublishable) {
+        // One channel for the whole batch, so the broker receives it in id order
+        rabbitTemplate.invoke(operations -> {
+            for (ClaimedEvent claimedEvent : claimed) {
+                Long id = claimedEvent.outboxEvent().getId();
+                CorrelationData correlationData = new CorrelationData(id.toString());
+                try {
+                    operations.convertAndSend(RabbitMqConfig.EXCHANGE_NAME,
+                            claimedEvent.outboxEvent().getRoutingKey(), claimedEvent.event(), correlationData);
+                    sent.put(id, correlationData);
+                } catch (MessageConversionException e) {
+                    unpublishable.put(id, e.toString());
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Waits up to the confirm timeout for the broker to confirm the published events.
+     *
+     * @param sent the correlation data of the published events
+     * @return the IDs of the events the broker acknowledged
+     */
+    private Set<Long> awaitConfirms(Map<Long, CorrelationData> sent) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        Set<Long> confirmed = new LinkedHashSet<>();
+        for (Map.Entry<Long, CorrelationData> entry : sent.entrySet()) {
+            try {
+                CorrelationData.Confirm confirm = entry.getValue().getFuture()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (confirm.isAck()) {
+                    confirmed.add(entry.getKey());
+                } else {
+                    log.warn("Broker rejected outbox event {}: {}", entry.getKey(), confirm.getReason());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("No publisher confirm for outbox event {}", entry.getKey());
+            }
+        }
+        return confirmed;
+    }
+
+    private void deadLetter(Long id, String error) {
+        outboxEventRepository.deadLetter(id, error);
+        deadLettered.increment();
+        log.error("Outbox event {} cannot be published, moved to outbox_dead_letters: {}", id, error);
+    }
+
+    private Object deserialize(OutboxEvent outboxEvent) throws ClassNotFoundException, JsonProcessingException {
+        return objectMapper.readValue(outboxEvent.getPayload(), Class.forName(outboxEvent.getEventType()));
+    }
+}
@@ -3,14 +3,28 @@ package com.gpustore.event;
 import com.gpustore.config.RabbitMqConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * RabbitMQ implementation of the EventBus interface.
  *
  * <p>Publishes domain events to the orders exchange using the configured
- * JSON message converter.</p>
+ * {@link EventMessageConverter}. Only injected when the transactional outbox is
+ * disabled ({@code event.outbox.enabled=false}).</p>
+ *
+ * <p>By default events are published synchronously on the caller's thread.
+ * With {@code event.publisher.mode=async} they are handed to the
+ * {@link BatchingEventPublisher} instead: {@link #publishAsync} returns a future
+ * that completes on the publisher confirm. {@link #publish} throws if the event
+ * cannot be queued, and otherwise returns at once. Async mode is lossy for
+ * {@link #publish}: an event that is queued but then nacked, left unconfirmed or
+ * dropped at shutdown is only logged and counted in
+ * {@code event.publisher.failed}. Use the outbox when events must not be lost.</p>
  */
 @Service
 public class RabbitMqEventBus implements EventBus {
@@ -18,16 +32,40 @@ public class RabbitMqEventBus implements EventBus {
     private static final Logger log = LoggerFactory.getLogger(RabbitMqEventBus.class);
 
     private final RabbitTemplate rabbitTemplate;
+    private final BatchingEventPublisher publisher;
 
-    public RabbitMqEventBus(RabbitTemplate rabbitTemplate) {
+    public RabbitMqEventBus(RabbitTemplate rabbitTemplate, ObjectProvider<BatchingEventPublisher> publisher) {
         this.rabbitTemplate = rabbitTemplate;
+        this.publisher = publisher.getIfAvailable();
     }
 
     @Override
     public void publish(String routingKey, Object event) {
+        if (publisher != null) {
+            CompletableFuture<Void> result = publisher.publish(routingKey, event);
+            if (result.isCompletedExceptionally()) {
+                // Not queued: the queue is full or the publisher has stopped
+                Throwable cause = result.exceptionNow();
+                throw cause instanceof RuntimeException e ? e : new AmqpException(cause);
+            }
+            result.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    log.error("Event [{}] was not published: {}", routingKey, event, error);
+                }
+            });
+            return;
+        }
         log.info("Publishing event [{}]: {}", routingKey, event);
         rabbitTemplate.convertAndSend(RabbitMqConfig.EXCHANGE_NAME, routingKey, event);
         log.debug("Event published successfully to exchange={}, routingKey={}",
                 RabbitMqConfig.EXCHANGE_NAME, routingKey);
     }
+
+    @Override
+    public CompletableFuture<Void> publishAsync(String routingKey, Object event) {
+        if (publisher != null) {
+            return publisher.publish(routingKey, event);
+        }
+        return EventBus.super.publishAsync(routingKey, event);
+    }
 }
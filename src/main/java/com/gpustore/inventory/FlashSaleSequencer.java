@@ -0,0 +1,269 @@
+package com.gpustore.inventory;
+
+import com.gpustore.common.exception.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Admission control for flash-sale products.
+ *
+ * <p>Products listed in {@code inventory.flash-sale.product-ids} are admitted through
+ * a {@link ProductSequencer} instead of row locks: each hot product gets its own
+ * bounded queue and writer thread, so concurrent buyers never contend on the
+ * {@code products} row. Over-subscription is rejected when the order is placed,
+ * and granted quantities are held in {@code products.reserved} until the order
+ * completes or is released.</p>
+ *
+ * <p>Each grant is committed together with a {@code flash_sale_holds} row, before
+ * the order transaction commits. {@link #settle} deletes the holds in the order
+ * transaction, which records the ledger rows in their place. If that transaction
+ * rolls back, the holds are returned; if the node dies first, they expire and
+ * {@link StockReservationExpiryJob} returns them. Releases are committed by the
+ * ledger transaction like those of any other product, and only then applied to
+ * the sequencer's in-memory count.</p>
+ *
+ * <p>A full queue is reported as 429 so that clients back off instead of piling up
+ * behind a sold-out product.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class FlashSaleSequencer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(FlashSaleSequencer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<Long> productIds;
+    private final int queueCapacity;
+    private final long admissionTimeoutMs;
+    private final long resyncIntervalMs;
+    private final Duration holdTtl;
+
+    private volatile Map<Long, ProductSequencer> sequencers = Map.of();
+    private volatile boolean running;
+
+    /**
+     * Constructs a new FlashSaleSequencer.
+     *
+     * @param jdbcTemplate       the template used by the writer threads
+     * @param productIds         the IDs of the products sold in flash-sale mode
+     * @param queueCapacity      the maximum number of queued reservations per product
+     * @param admissionTimeoutMs how long a request waits for its reservation to be decided
+     * @param resyncIntervalMs   how often each writer reloads the available count from the database
+     * @param holdTtlMinutes     how long a grant is held for its order before it is returned
+     */
+    public FlashSaleSequencer(JdbcTemplate jdbcTemplate,
+                              @Value("${inventory.flash-sale.product-ids:}") Set<Long> productIds,
+                              @Value("${inventory.flash-sale.queue-capacity:4096}") int queueCapacity,
+                              @Value("${inventory.flash-sale.admission-timeout-ms:2000}") long admissionTimeoutMs,
+                              @Value("${inventory.flash-sale.resync-interval-ms:5000}") long resyncIntervalMs,
+                              @Value("${inventory.reservation.ttl-minutes:15}") long holdTtlMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productIds = productIds;
+        this.queueCapacity = queueCapacity;
+        this.admissionTimeoutMs = admissionTimeoutMs;
+        this.resyncIntervalMs = resyncIntervalMs;
+        this.holdTtl = Duration.ofMinutes(holdTtlMinutes);
+    }
+
+    /**
+     * Checks whether a product is admitted through the sequencer.
+     *
+     * @param productId the product ID
+     * @return true if the product is in flash-sale mode
+     */
+    public boolean isManaged(Long productId) {
+        return sequencers.containsKey(productId);
+    }
+
+    /**
+     * Reserves the flash-sale quantities of an order.
+     *
+     * <p>Quantities for products that are not in flash-sale mode are ignored.
+     * Either every flash-sale line is reserved or none is. When called inside a
+     * transaction, the holds are returned if it rolls back.</p>
+     *
+     * @param quantities the quantity per product ID
+     * @return the IDs of the holds written for the granted quantities, to be passed to {@link #settle}
+     * @throws InsufficientStockException if any flash-sale product cannot cover its quantity
+     * @throws TooManyRequestsException   if a product's queue is full or admission times out
+     */
+    public List<String> reserve(Map<Long, Integer> quantities) {
+        Map<Long, CompletableFuture<String>> pending = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            ProductSequencer sequencer = sequencers.get(entry.getKey());
+            if (sequencer == null) {
+                continue;
+            }
+            CompletableFuture<String> result = sequencer.reserve(entry.getValue());
+            if (result == null) {
+                returnWhenGranted(pending);
+                throw new TooManyRequestsException(
+                        "Too many concurrent orders for product " + entry.getKey() + ", please retry", 1);
+            }
+            pending.put(entry.getKey(), result);
+        }
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> granted = new HashMap<>();
+        List<StockShortage> shortages = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(admissionTimeoutMs);
+        try {
+            for (Map.Entry<Long, CompletableFuture<String>> entry : pending.entrySet()) {
+                Long productId = entry.getKey();
+                int quantity = quantities.get(productId);
+                String holdId = entry.getValue().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (holdId != null) {
+                    granted.put(productId, holdId);
+                } else {
+                    ProductSequencer sequencer = sequencers.get(productId);
+                    shortages.add(new StockShortage(productId, sequencer.getProductName(),
+                            quantity, Math.max(sequencer.getAvailable(), 0)));
+                }
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            returnWhenGranted(pending);
+            log.warn("Flash sale admission failed for products {}", pending.keySet(), e);
+            throw new TooManyRequestsException("Flash sale admission is busy, please retry", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            returnWhenGranted(pending);
+            throw new TooManyRequestsException("Flash sale admission was interrupted, please retry", 1);
+        }
+
+        if (!shortages.isEmpty()) {
+            returnHolds(granted);
+            throw new InsufficientStockException(shortages);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        returnHolds(granted);
+                    }
+                }
+            });
+        }
+        log.debug("Flash sale reservation granted: {}", granted);
+        return List.copyOf(granted.values());
+    }
+
+    /**
+     * Deletes the holds of reservations that the current transaction records in the ledger.
+     *
+     * <p>Must be called within the transaction that writes the ledger rows, so
+     * that the hold and the ledger row are swapped atomically.</p>
+     *
+     * @param holdIds the hold IDs returned by {@link #reserve}
+     * @throws TooManyRequestsException if a hold outlived its TTL and its quantity was already returned
+     */
+    public void settle(List<String> holdIds) {
+        if (holdIds.isEmpty()) {
+            return;
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM flash_sale_holds WHERE id = ANY (?::varchar[])",
+                (Object) holdIds.toArray(new String[0]));
+        if (deleted != holdIds.size()) {
+            throw new TooManyRequestsException("Flash sale reservation expired, please retry", 1);
+        }
+    }
+
+    /**
+     * Applies committed releases of flash-sale products to the sequencers' in-memory
+     * counts. Other products are ignored.
+     *
+     * @param quantities the released quantity per product ID
+     */
+    public void released(Map<Long, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            ProductSequencer sequencer = sequencers.get(productId);
+            if (sequencer != null) {
+                sequencer.released(quantity);
+            }
+        });
+    }
+
+    private void returnHolds(Map<Long, String> holds) {
+        holds.forEach((productId, holdId) -> {
+            ProductSequencer sequencer = sequencers.get(productId);
+            if (sequencer != null) {
+                sequencer.returnHold(holdId);
+            }
+        });
+    }
+
+    /**
+     * Returns queued reservations as soon as they are granted; used when the caller gives up on them.
+     */
+    private void returnWhenGranted(Map<Long, CompletableFuture<String>> pending) {
+        pending.forEach((productId, result) -> {
+            ProductSequencer sequencer = sequencers.get(productId);
+            result.thenAccept(holdId -> {
+                if (holdId != null) {
+                    sequencer.returnHold(holdId);
+                }
+            });
+        });
+    }
+
+    @Override
+    public void start() {
+        Map<Long, ProductSequencer> started = new HashMap<>();
+        for (Long productId : productIds) {
+            List<String> names = jdbcTemplate.queryForList(
+                    "SELECT name FROM products WHERE id = ?", String.class, productId);
+            if (names.isEmpty()) {
+                log.warn("Flash sale product {} does not exist, ignoring", productId);
+                continue;
+            }
+            ProductSequencer sequencer = new ProductSequencer(
+                    productId, names.get(0), jdbcTemplate, queueCapacity, resyncIntervalMs, holdTtl);
+            sequencer.start();
+            started.put(productId, sequencer);
+        }
+        sequencers = Collections.unmodifiableMap(started);
+        running = true;
+        if (!started.isEmpty()) {
+            log.info("Flash sale sequencing enabled for products {}", started.keySet());
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Map<Long, ProductSequencer> stopping = sequencers;
+        sequencers = Map.of();
+        stopping.values().forEach(ProductSequencer::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,42 @@
+package com.gpustore.inventory;
+
+import com.gpustore.common.exception.ValidationException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Exception thrown when one or more products do not have enough stock.
+ *
+ * <p>Carries one {@link StockShortage} per affected product so callers can report
+ * every insufficient line at once. Handled as a {@link ValidationException}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class InsufficientStockException extends ValidationException {
+
+    private final List<StockShortage> shortages;
+
+    /**
+     * Constructs a new InsufficientStockException.
+     *
+     * @param shortages the insufficient lines (must not be empty)
+     */
+    public InsufficientStockException(List<StockShortage> shortages) {
+        super("Insufficient stock: " + shortages.stream()
+                .map(StockShortage::toString)
+                .collect(Collectors.joining("; ")));
+        this.shortages = List.copyOf(shortages);
+    }
+
+    /**
+     * Returns the insufficient lines.
+     *
+     * @return an immutable list of shortages
+     */
+    public List<StockShortage> getShortages() {
+        return shortages;
+    }
+}
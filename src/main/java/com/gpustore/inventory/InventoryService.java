@@ -0,0 +1,353 @@
+package com.gpustore.inventory;
+
+import com.gpustore.common.exception.ResourceNotFoundException;
+import com.gpustore.product.Product;
+import com.gpustore.product.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service for stock reservations and bulk stock operations.
+ *
+ * <p>Stock is reserved when an order is placed: each line increments
+ * {@code products.reserved} with a conditional update and is recorded in the
+ * {@link StockReservation} ledger. Available stock is therefore always
+ * {@code stock - reserved} and can be read without locking. Completing the
+ * order confirms the reservation, converting it into a sale; expiring or
+ * cancelling the order releases it, and reservations that outlive their TTL
+ * are released by {@link StockReservationExpiryJob}.</p>
+ *
+ * <p>All row locks are acquired in product ID order, so two orders touching
+ * the same products can never deadlock.</p>
+ *
+ * <p>Flash-sale products are admitted by the {@link FlashSaleSequencer}, which
+ * increments their {@code reserved} counter together with a hold; the order
+ * transaction swaps the holds for ledger rows. They are confirmed and released
+ * through the ledger like any other product.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private static final String RESERVE_SQL =
+            "UPDATE products SET reserved = reserved + ? WHERE id = ? AND stock - reserved >= ?";
+
+    private static final String EXPIRE_HOLDS_SQL = """
+            DELETE FROM flash_sale_holds
+            WHERE id IN (
+                SELECT id FROM flash_sale_holds
+                WHERE expires_at < ?
+                ORDER BY expires_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING product_id, quantity
+            """;
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final FlashSaleSequencer flashSaleSequencer;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration reservationTtl;
+
+    /**
+     * Constructs a new InventoryService.
+     *
+     * @param productRepository     the repository for product operations
+     * @param reservationRepository the repository for the reservation ledger
+     * @param flashSaleSequencer    the sequencer admitting flash-sale products
+     * @param jdbcTemplate          the template used for batched conditional reservations
+     * @param reservationTtlMinutes how long a reservation is held before it is released
+     */
+    public InventoryService(ProductRepository productRepository,
+                            StockReservationRepository reservationRepository,
+                            FlashSaleSequencer flashSaleSequencer,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${inventory.reservation.ttl-minutes:15}") long reservationTtlMinutes) {
+        this.productRepository = productRepository;
+        this.reservationRepository = reservationRepository;
+        this.flashSaleSequencer = flashSaleSequencer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationTtl = Duration.ofMinutes(reservationTtlMinutes);
+    }
+
+    /**
+     * Reserves stock for every line of a newly placed order.
+     *
+     * <p>Either every quantity is reserved or none is: if any product lacks
+     * available stock, an exception listing all shortages is thrown and the
+     * surrounding transaction must roll back. Must be called within an existing
+     * transaction, after the order row has been flushed: the reservations
+     * reference it by ID only, so Hibernate cannot order their inserts after
+     * it.</p>
+     *
+     * @param orderId    the ID of the order holding the stock
+     * @param quantities the quantity to reserve per product ID
+     * @throws InsufficientStockException if any product has less available stock than requested
+     * @throws com.gpustore.common.exception.TooManyRequestsException if flash-sale admission is saturated
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Long orderId, Map<Long, Integer> quantities) {
+        List<String> flashSaleHolds = flashSaleSequencer.reserve(quantities);
+
+        List<Map.Entry<Long, Integer>> lines = new TreeMap<>(quantities).entrySet().stream()
+                .filter(entry -> !flashSaleSequencer.isManaged(entry.getKey()))
+                .toList();
+        if (!lines.isEmpty()) {
+            int[][] counts = jdbcTemplate.batchUpdate(RESERVE_SQL, lines, lines.size(), (ps, line) -> {
+                ps.setInt(1, line.getValue());
+                ps.setLong(2, line.getKey());
+                ps.setInt(3, line.getValue());
+            });
+            List<Long> shortIds = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i++) {
+                if (counts[0][i] == 0) {
+                    shortIds.add(lines.get(i).getKey());
+                }
+            }
+            if (!shortIds.isEmpty()) {
+                throw new InsufficientStockException(findShortages(shortIds, quantities));
+            }
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(reservationTtl);
+        reservationRepository.saveAll(quantities.entrySet().stream()
+                .map(entry -> new StockReservation(orderId, entry.getKey(), entry.getValue(), expiresAt))
+                .toList());
+        flashSaleSequencer.settle(flashSaleHolds);
+        log.debug("Stock reserved for order {}: {}", orderId, quantities);
+    }
+
+    /**
+     * Converts an order's reservations into a sale.
+     *
+     * <p>Lines whose reservation has already lapsed are deducted from available
+     * stock instead, failing with {@link InsufficientStockException} if it no
+     * longer covers them; in that case nothing is modified. On that path every
+     * product row of the order is locked in one ID-ordered pass before anything
+     * is deducted, so two orders confirming overlapping products cannot
+     * deadlock. Must be called within an existing transaction.</p>
+     *
+     * @param orderId    the ID of the order being completed
+     * @param quantities the quantity ordered per product ID
+     * @throws ResourceNotFoundException   if an unreserved product does not exist
+     * @throws InsufficientStockException if an unreserved line cannot be covered
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirm(Long orderId, Map<Long, Integer> quantities) {
+        List<StockReservation> reservations = reservationRepository.findActiveByOrderIdWithLock(orderId);
+
+        Map<Long, Integer> unreserved = new HashMap<>(quantities);
+        reservations.forEach(reservation -> unreserved.remove(reservation.getProductId()));
+        if (!unreserved.isEmpty()) {
+            log.info("Order {} has lapsed reservations for products {}, deducting from available stock",
+                    orderId, unreserved.keySet());
+            deductStock(lockProducts(quantities.keySet()), unreserved);
+        }
+
+        for (StockReservation reservation : reservations) {
+            productRepository.consumeReservation(reservation.getProductId(), reservation.getQuantity());
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+        }
+        log.debug("Stock confirmed for order {}: {}", orderId, quantities);
+    }
+
+    /**
+     * Releases an order's active reservations back to available stock.
+     *
+     * <p>Idempotent: reservations that were already confirmed or released are
+     * left untouched. Must be called within an existing transaction.</p>
+     *
+     * @param orderId the ID of the order that will not complete
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long orderId) {
+        List<StockReservation> reservations = reservationRepository.findActiveByOrderIdWithLock(orderId);
+        if (!reservations.isEmpty()) {
+            releaseAll(reservations);
+            log.debug("Stock released for order {}", orderId);
+        }
+    }
+
+    /**
+     * Releases the active reservations of several orders at once.
+     *
+     * <p>Issues one ledger query and one counter update per distinct product,
+     * regardless of the number of orders. Must be called within an existing
+     * transaction.</p>
+     *
+     * @param orderIds the IDs of the orders that will not complete
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<StockReservation> reservations = reservationRepository.findActiveByOrderIdInWithLock(orderIds);
+        if (!reservations.isEmpty()) {
+            releaseAll(reservations);
+            log.debug("Stock released for {} orders", orderIds.size());
+        }
+    }
+
+    /**
+     * Releases a batch of active reservations that outlived their TTL.
+     *
+     * <p>Must be called within an existing transaction.</p>
+     *
+     * @param limit the maximum number of reservations to release
+     * @return the number of reservations released
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int releaseExpired(int limit) {
+        List<StockReservation> expired = reservationRepository.lockExpired(LocalDateTime.now(), limit);
+        if (!expired.isEmpty()) {
+            releaseAll(expired);
+        }
+        return expired.size();
+    }
+
+    /**
+     * Returns the quantities of flash-sale holds whose order never recorded them.
+     *
+     * <p>A hold outlives its TTL only if the node that granted it died before the
+     * order transaction committed. Must be called within an existing transaction.</p>
+     *
+     * @param limit the maximum number of holds to return
+     * @return the number of holds returned
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int releaseExpiredHolds(int limit) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        int[] holds = {0};
+        jdbcTemplate.query(EXPIRE_HOLDS_SQL, rs -> {
+            quantities.merge(rs.getLong("product_id"), rs.getInt("quantity"), Integer::sum);
+            holds[0]++;
+        }, Timestamp.valueOf(LocalDateTime.now()), limit);
+        if (holds[0] > 0) {
+            releaseQuantities(quantities);
+            log.warn("Returned {} expired flash sale holds: {}", holds[0], quantities);
+        }
+        return holds[0];
+    }
+
+    private void releaseAll(List<StockReservation> reservations) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockReservation reservation : reservations) {
+            reservation.setStatus(ReservationStatus.RELEASED);
+            quantities.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum);
+        }
+        releaseQuantities(quantities);
+    }
+
+    /**
+     * Returns reserved quantities in the current transaction, one relative update
+     * per product in ID order. Flash-sale sequencers learn about it once it commits.
+     */
+    private void releaseQuantities(Map<Long, Integer> quantities) {
+        quantities.forEach(productRepository::releaseReservation);
+
+        Map<Long, Integer> flashSale = new HashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            if (flashSaleSequencer.isManaged(productId)) {
+                flashSale.put(productId, quantity);
+            }
+        });
+        if (!flashSale.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    flashSaleSequencer.released(flashSale);
+                }
+            });
+        }
+    }
+
+    /**
+     * Locks several product rows in ID order.
+     *
+     * @throws ResourceNotFoundException if a product does not exist
+     */
+    private List<Product> lockProducts(Collection<Long> productIds) {
+        List<Product> products = productRepository.findAllByIdInWithLock(productIds);
+        if (products.size() != productIds.size()) {
+            Set<Long> foundIds = products.stream().map(Product::getId).collect(Collectors.toSet());
+            Long missingId = productIds.stream()
+                    .filter(id -> !foundIds.contains(id))
+                    .findFirst()
+                    .orElseThrow();
+            throw new ResourceNotFoundException("Product", missingId);
+        }
+        return products;
+    }
+
+    /**
+     * Deducts available stock for several locked products atomically.
+     */
+    private void deductStock(List<Product> locked, Map<Long, Integer> quantities) {
+        List<Product> products = locked.stream()
+                .filter(product -> quantities.containsKey(product.getId()))
+                .toList();
+
+        List<StockShortage> shortages = new ArrayList<>();
+        for (Product product : products) {
+            int requested = quantities.get(product.getId());
+            if (product.getAvailableStock() < requested) {
+                shortages.add(new StockShortage(
+                        product.getId(), product.getName(), requested, product.getAvailableStock()));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException(shortages);
+        }
+
+        // Flushed as a single JDBC batch of UPDATE statements on commit
+        for (Product product : products) {
+            int requested = quantities.get(product.getId());
+            product.setStock(product.getStock() - requested);
+            log.debug("Stock deducted for product {}: quantity={}, newStock={}",
+                    product.getId(), requested, product.getStock());
+        }
+    }
+
+    private List<StockShortage> findShortages(List<Long> productIds, Map<Long, Integer> quantities) {
+        Map<Long, StockShortage> shortages = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, name, stock - reserved AS available FROM products WHERE id = ANY (?)",
+                rs -> {
+                    long id = rs.getLong("id");
+                    shortages.put(id, new StockShortage(id, rs.getString("name"), quantities.get(id),
+                            Math.max(rs.getInt("available"), 0)));
+                },
+                (Object) productIds.toArray(new Long[0]));
+        for (Long productId : productIds) {
+            if (!shortages.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product", productId);
+            }
+        }
+        return new ArrayList<>(shortages.values());
+    }
+}
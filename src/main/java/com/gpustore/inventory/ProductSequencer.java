@@ -0,0 +1,278 @@
+package com.gpustore.inventory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-writer admission sequencer for one hot product.
+ *
+ * <p>Reservation requests are placed on a bounded ring buffer and consumed by a
+ * dedicated writer thread, which is the only thread that touches the in-memory
+ * available count. The writer drains everything queued since its last pass,
+ * decides each request against memory, and then persists the whole batch with a
+ * single statement: a conditional {@code UPDATE} of {@code products.reserved}
+ * that also inserts one {@code flash_sale_holds} row per granted request.
+ * Callers are answered with their hold ID once that statement has committed.
+ * The order transaction replaces the hold with its ledger row; if the node dies
+ * before that, the hold expires and {@link StockReservationExpiryJob} returns
+ * its quantity, so a granted reservation never leaks.</p>
+ *
+ * <p>The conditional update also makes the sequencer safe when several nodes
+ * sequence the same product: if another node has taken the stock in the
+ * meantime, the writer reloads the available count and re-decides the batch in
+ * arrival order.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class ProductSequencer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSequencer.class);
+    private static final long IDLE_POLL_MS = 50;
+
+    private static final String GRANT_SQL = """
+            WITH granted AS (
+                UPDATE products SET reserved = reserved + ?
+                WHERE id = ? AND stock - reserved >= ?
+                RETURNING id
+            )
+            INSERT INTO flash_sale_holds (id, product_id, quantity, expires_at)
+            SELECT hold.id, granted.id, hold.quantity, ?
+            FROM granted, unnest(?::varchar[], ?::int[]) AS hold(id, quantity)
+            """;
+
+    private static final String RETURN_HOLDS_SQL = """
+            WITH returned AS (
+                DELETE FROM flash_sale_holds WHERE id = ANY (?::varchar[])
+                RETURNING quantity
+            )
+            UPDATE products SET reserved = reserved - (SELECT COALESCE(sum(quantity), 0) FROM returned)
+            WHERE id = ?
+            RETURNING stock - reserved
+            """;
+
+    private final Long productId;
+    private final String productName;
+    private final JdbcTemplate jdbcTemplate;
+    private final ArrayBlockingQueue<Reservation> queue;
+    private final int maxBatchSize;
+    private final long resyncIntervalNanos;
+    private final Duration holdTtl;
+    private final AtomicInteger pendingReleases = new AtomicInteger();
+    private final ConcurrentLinkedQueue<String> pendingHoldReturns = new ConcurrentLinkedQueue<>();
+
+    // Owned by the writer thread
+    private int available;
+    private long lastSyncNanos;
+    private boolean syncRequired = true;
+
+    private volatile int availableSnapshot;
+    private volatile boolean running;
+    private Thread writer;
+
+    private record Reservation(String holdId, int quantity, CompletableFuture<String> result) {
+    }
+
+    ProductSequencer(Long productId, String productName, JdbcTemplate jdbcTemplate,
+                     int queueCapacity, long resyncIntervalMs, Duration holdTtl) {
+        this.productId = productId;
+        this.productName = productName;
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = queueCapacity;
+        this.resyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(resyncIntervalMs);
+        this.holdTtl = holdTtl;
+    }
+
+    Long getProductId() {
+        return productId;
+    }
+
+    String getProductName() {
+        return productName;
+    }
+
+    /**
+     * Returns the available count as of the writer's last batch.
+     *
+     * @return the last known available quantity
+     */
+    int getAvailable() {
+        return availableSnapshot;
+    }
+
+    /**
+     * Queues a reservation request.
+     *
+     * @param quantity the quantity to reserve
+     * @return a future completing with the ID of the hold written for the granted quantity, or with
+     *         null if it was refused; null if the queue is full
+     */
+    CompletableFuture<String> reserve(int quantity) {
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), quantity, new CompletableFuture<>());
+        return queue.offer(reservation) ? reservation.result() : null;
+    }
+
+    /**
+     * Returns a hold whose order will not record it. Never blocks; the hold is
+     * deleted and its quantity returned on the writer's next pass.
+     *
+     * @param holdId the ID of the hold
+     */
+    void returnHold(String holdId) {
+        pendingHoldReturns.add(holdId);
+    }
+
+    /**
+     * Adds a quantity whose release has already been committed to {@code products.reserved}
+     * back to the in-memory available count. Never blocks; applied on the writer's next pass.
+     *
+     * @param quantity the released quantity
+     */
+    void released(int quantity) {
+        pendingReleases.addAndGet(quantity);
+    }
+
+    void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("flash-sale-" + productId).daemon().start(this::run);
+    }
+
+    void stop() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Reservation> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                Reservation first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Flash sale batch for product {} failed", productId, e);
+                batch.forEach(reservation -> reservation.result().completeExceptionally(e));
+                syncRequired = true;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        queue.drainTo(batch);
+        batch.forEach(reservation -> reservation.result().complete(null));
+        try {
+            returnHolds();
+        } catch (RuntimeException e) {
+            // The holds expire and are returned by the expiry job
+            log.error("Failed to return {} flash sale holds for product {} on shutdown",
+                    pendingHoldReturns.size(), productId, e);
+        }
+    }
+
+    private void process(List<Reservation> batch) {
+        if (syncRequired || System.nanoTime() - lastSyncNanos > resyncIntervalNanos) {
+            sync();
+        }
+        available += pendingReleases.getAndSet(0);
+        returnHolds();
+
+        List<Reservation> granted = admit(batch);
+        while (!granted.isEmpty() && !commit(granted)) {
+            // Another node consumed stock since our last sync; re-decide against the database
+            log.debug("Flash sale batch for product {} lost a race, resyncing", productId);
+            sync();
+            granted = admit(granted);
+        }
+        availableSnapshot = available;
+        granted.forEach(reservation -> reservation.result().complete(reservation.holdId()));
+    }
+
+    private List<Reservation> admit(List<Reservation> requests) {
+        List<Reservation> granted = new ArrayList<>(requests.size());
+        for (Reservation reservation : requests) {
+            if (reservation.quantity() <= available) {
+                available -= reservation.quantity();
+                granted.add(reservation);
+            } else {
+                reservation.result().complete(null);
+            }
+        }
+        return granted;
+    }
+
+    /**
+     * Reserves the granted quantities and writes their holds, all or nothing.
+     */
+    private boolean commit(List<Reservation> granted) {
+        int delta = 0;
+        String[] holdIds = new String[granted.size()];
+        Integer[] quantities = new Integer[granted.size()];
+        for (int i = 0; i < granted.size(); i++) {
+            holdIds[i] = granted.get(i).holdId();
+            quantities[i] = granted.get(i).quantity();
+            delta += quantities[i];
+        }
+        Timestamp expiresAt = Timestamp.valueOf(LocalDateTime.now().plus(holdTtl));
+        return jdbcTemplate.update(GRANT_SQL, delta, productId, delta, expiresAt, holdIds, quantities) > 0;
+    }
+
+    /**
+     * Deletes the holds given back since the last pass and returns their quantity in one statement.
+     */
+    private void returnHolds() {
+        List<String> holdIds = new ArrayList<>();
+        String holdId;
+        while ((holdId = pendingHoldReturns.poll()) != null) {
+            holdIds.add(holdId);
+        }
+        if (holdIds.isEmpty()) {
+            return;
+        }
+        Integer current;
+        try {
+            current = jdbcTemplate.queryForObject(RETURN_HOLDS_SQL, Integer.class,
+                    holdIds.toArray(new String[0]), productId);
+        } catch (RuntimeException e) {
+            pendingHoldReturns.addAll(holdIds);
+            throw e;
+        }
+        // The statement reports the row's new available count, which also serves as a resync
+        available = current != null ? current : 0;
+        availableSnapshot = available;
+    }
+
+    private void sync() {
+        Integer current = jdbcTemplate.queryForObject(
+                "SELECT stock - reserved FROM products WHERE id = ?", Integer.class, productId);
+        available = current != null ? current : 0;
+        availableSnapshot = available;
+        lastSyncNanos = System.nanoTime();
+        syncRequired = false;
+    }
+}
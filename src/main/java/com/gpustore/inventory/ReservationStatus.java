@@ -0,0 +1,17 @@
+package com.gpustore.inventory;
+
+/**
+ * Enumeration of stock reservation states.
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public enum ReservationStatus {
+    /** Quantity is held in {@code products.reserved}. */
+    ACTIVE,
+    /** Quantity was converted into a sale when the order completed. */
+    CONFIRMED,
+    /** Quantity was returned to available stock. */
+    RELEASED
+}
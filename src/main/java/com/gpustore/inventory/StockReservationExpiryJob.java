@@ -0,0 +1,68 @@
+package com.gpustore.inventory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Scheduled job that releases stock reservations past their TTL.
+ *
+ * <p>Reservations are normally settled by their order. This job is the safety
+ * net for orders that never reach a terminal state, e.g. when the creation
+ * event is lost, so that reserved stock cannot leak. It also returns flash-sale
+ * holds left behind by a node that died between granting stock and committing
+ * the order. Each batch is released in its own transaction and rows are claimed
+ * with {@code SKIP LOCKED}, so every node can run the job.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class StockReservationExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationExpiryJob.class);
+
+    private final InventoryService inventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * Constructs a new StockReservationExpiryJob.
+     *
+     * @param inventoryService    the service releasing reservations
+     * @param transactionTemplate the template used to run each batch in its own transaction
+     * @param batchSize           the maximum number of reservations released per transaction
+     */
+    public StockReservationExpiryJob(InventoryService inventoryService,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${inventory.reservation.sweep-batch-size:500}") int batchSize) {
+        this.inventoryService = inventoryService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Releases expired reservations and flash-sale holds in batches until none are left.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:60000}")
+    public void releaseExpiredReservations() {
+        int total = 0;
+        Integer released;
+        do {
+            released = transactionTemplate.execute(status -> inventoryService.releaseExpired(batchSize));
+            total += released;
+        } while (released == batchSize);
+
+        if (total > 0) {
+            log.info("Released {} expired stock reservations", total);
+        }
+
+        do {
+            released = transactionTemplate.execute(status -> inventoryService.releaseExpiredHolds(batchSize));
+        } while (released == batchSize);
+    }
+}
@@ -0,0 +1,59 @@
+package com.gpustore.inventory;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for {@link StockReservation} entity operations.
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * Finds and locks the active reservations of an order, ordered by product ID.
+     *
+     * <p>The lock makes confirm and release mutually exclusive per order, so each
+     * reservation is settled exactly once.</p>
+     *
+     * @param orderId the order ID
+     * @return the order's active reservations
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId = :orderId "
+            + "AND r.status = com.gpustore.inventory.ReservationStatus.ACTIVE ORDER BY r.productId")
+    List<StockReservation> findActiveByOrderIdWithLock(@Param("orderId") Long orderId);
+
+    /**
+     * Finds and locks the active reservations of several orders, ordered by product ID.
+     *
+     * @param orderIds the order IDs
+     * @return the orders' active reservations
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId IN :orderIds "
+            + "AND r.status = com.gpustore.inventory.ReservationStatus.ACTIVE ORDER BY r.productId")
+    List<StockReservation> findActiveByOrderIdInWithLock(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Claims a batch of active reservations past their expiry.
+     *
+     * <p>Rows locked by another node or by an order being settled are skipped.</p>
+     *
+     * @param cutoff the current time
+     * @param limit  the maximum number of reservations to claim
+     * @return the claimed reservations
+     */
+    @Query(value = "SELECT * FROM stock_reservations WHERE status = 'ACTIVE' AND expires_at < :cutoff "
+            + "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<StockReservation> lockExpired(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
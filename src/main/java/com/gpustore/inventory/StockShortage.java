@@ -0,0 +1,25 @@
+package com.gpustore.inventory;
+
+/**
+ * Describes a single order line that cannot be fulfilled from current stock.
+ *
+ * @param productId   the product ID
+ * @param productName the product name
+ * @param requested   the quantity requested
+ * @param available   the quantity currently available
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record StockShortage(
+        Long productId,
+        String productName,
+        int requested,
+        int available
+) {
+    @Override
+    public String toString() {
+        return String.format("product %d (%s) requested %d, available %d",
+                productId, productName, requested, available);
+    }
+}
@@ -15,7 +15,9 @@ import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * JPA entity representing a customer order.
@@ -96,4 +98,17 @@ public class Order extends BaseEntity {
         items.remove(item);
         item.setOrder(null);
     }
+
+    /**
+     * Sums the ordered quantity per product across all items.
+     *
+     * @return the total quantity ordered per product ID
+     */
+    public Map<Long, Integer> quantitiesByProduct() {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
 }
@@ -0,0 +1,167 @@
+package com.gpustore.order;
+
+import com.gpustore.common.exception.ServiceUnavailableException;
+import com.gpustore.config.RabbitMqConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission controller that sheds new orders while order processing is backlogged.
+ *
+ * <p>Every {@code order.admission.sample-interval-ms} it reads the combined depth
+ * of the OrderCreated partition queues and {@value RabbitMqConfig#CREATED_QUEUE}
+ * with passive declares, and takes the longest delay between an order's
+ * creation and the start of its processing seen on this node since the
+ * previous sample. Admission closes when either
+ * value reaches its high watermark. It reopens only when both have fallen
+ * below their low watermarks, so it does not flap around a single threshold.
+ * While closed, {@code POST /api/orders} fails fast with 503 and
+ * {@code Retry-After} before any database work. Orders already accepted are
+ * unaffected.</p>
+ *
+ * <p>If the broker cannot be reached, the last state is kept; orders still
+ * wait in the outbox. The state, queue depth and lag are exported as
+ * {@code orders.admission.open}, {@code orders.created.queue.depth} and
+ * {@code orders.processing.lag}, and shed orders as {@code orders.admission.rejected}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class OrderAdmissionController {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderAdmissionController.class);
+
+    private final AmqpAdmin amqpAdmin;
+    private final OrderPartitions partitions;
+    private final boolean enabled;
+    private final long depthHigh;
+    private final long depthLow;
+    private final long lagHighMs;
+    private final long lagLowMs;
+    private final long retryAfterSeconds;
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final Timer lagTimer;
+    private final Counter rejected;
+
+    private volatile boolean open = true;
+    private volatile long queueDepth;
+    private volatile long lagMs;
+
+    /**
+     * Constructs a new OrderAdmissionController.
+     *
+     * @param amqpAdmin         the admin used to read the queue depth
+     * @param partitions        the OrderCreated partitions whose queues are sampled
+     * @param meterRegistry     the registry for admission metrics
+     * @param enabled           whether admission control is enabled
+     * @param depthHigh         the queue depth at which admission closes
+     * @param depthLow          the queue depth below which admission may reopen
+     * @param lagHighMs         the processing lag at which admission closes
+     * @param lagLowMs          the processing lag below which admission may reopen
+     * @param retryAfterSeconds the retry delay suggested to shed clients
+     */
+    public OrderAdmissionController(AmqpAdmin amqpAdmin,
+                                    OrderPartitions partitions,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${order.admission.enabled:true}") boolean enabled,
+                                    @Value("${order.admission.queue-depth-high:5000}") long depthHigh,
+                                    @Value("${order.admission.queue-depth-low:1000}") long depthLow,
+                                    @Value("${order.admission.lag-high-ms:60000}") long lagHighMs,
+                                    @Value("${order.admission.lag-low-ms:10000}") long lagLowMs,
+                                    @Value("${order.admission.retry-after-seconds:10}") long retryAfterSeconds) {
+        this.amqpAdmin = amqpAdmin;
+        this.partitions = partitions;
+        this.enabled = enabled;
+        this.depthHigh = depthHigh;
+        this.depthLow = depthLow;
+        this.lagHighMs = lagHighMs;
+        this.lagLowMs = lagLowMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.lagTimer = meterRegistry.timer("orders.processing.lag");
+        this.rejected = meterRegistry.counter("orders.admission.rejected");
+        meterRegistry.gauge("orders.admission.open", this, controller -> controller.open ? 1 : 0);
+        meterRegistry.gauge("orders.created.queue.depth", this, controller -> controller.queueDepth);
+    }
+
+    /**
+     * Rejects a new order if admission is closed.
+     *
+     * @throws ServiceUnavailableException if order processing is backlogged
+     */
+    public void admit() {
+        if (!open) {
+            rejected.increment();
+            throw new ServiceUnavailableException(
+                    "Order processing is backlogged, please retry shortly", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Records how long an order waited between creation and the start of its processing.
+     *
+     * @param lag the delay
+     */
+    public void recordLag(Duration lag) {
+        long millis = Math.max(0, lag.toMillis());
+        lagTimer.record(millis, TimeUnit.MILLISECONDS);
+        maxLagMs.accumulateAndGet(millis, Math::max);
+    }
+
+    /**
+     * Returns whether new orders are currently accepted.
+     *
+     * @return true if admission is open
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Samples the queue depth and processing lag and updates the admission state.
+     */
+    @Scheduled(fixedDelayString = "${order.admission.sample-interval-ms:1000}")
+    public void sample() {
+        if (!enabled) {
+            return;
+        }
+        lagMs = maxLagMs.getAndSet(0);
+        try {
+            long depth = depthOf(RabbitMqConfig.CREATED_QUEUE);
+            for (int partition = 0; partition < partitions.count(); partition++) {
+                depth += depthOf(RabbitMqConfig.createdPartitionQueue(partition));
+            }
+            queueDepth = depth;
+        } catch (AmqpException e) {
+            log.debug("Could not read depth of the OrderCreated queues, keeping admission state", e);
+            return;
+        }
+
+        if (open && (queueDepth >= depthHigh || lagMs >= lagHighMs)) {
+            open = false;
+            log.warn("Order admission closed: queueDepth={}, lagMs={}", queueDepth, lagMs);
+        } else if (!open && queueDepth < depthLow && lagMs < lagLowMs) {
+            open = true;
+            log.info("Order admission reopened: queueDepth={}, lagMs={}", queueDepth, lagMs);
+        }
+    }
+
+    private long depthOf(String queue) {
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        return info != null ? info.getMessageCount() : 0;
+    }
+}
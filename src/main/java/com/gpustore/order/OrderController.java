@@ -1,12 +1,16 @@
 package com.gpustore.order;
 
+import com.gpustore.common.pagination.CursorPage;
 import com.gpustore.order.dto.CreateOrderRequest;
 import com.gpustore.order.dto.OrderResponse;
 import com.gpustore.order.dto.UpdateOrderRequest;
 import com.gpustore.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -17,7 +21,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 
@@ -27,7 +33,8 @@ import java.util.List;
  * <p>Provides endpoints for CRUD operations on orders:</p>
  * <ul>
  *   <li>{@code POST /api/orders} - Create a new order</li>
- *   <li>{@code GET /api/orders} - List all orders</li>
+ *   <li>{@code GET /api/orders} - List orders, one keyset page at a time</li>
+ *   <li>{@code GET /api/orders/export} - Stream all orders as NDJSON or CSV</li>
  *   <li>{@code GET /api/orders/{id}} - Get order by ID</li>
  *   <li>{@code PUT /api/orders/{id}} - Update order status</li>
  *   <li>{@code DELETE /api/orders/{id}} - Delete order</li>
@@ -44,14 +51,21 @@ public class OrderController {
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
 
     private final OrderService orderService;
+    private final OrderExporter orderExporter;
+    private final OrderAdmissionController admissionController;
 
     /**
-     * Constructs a new OrderController with the required service.
+     * Constructs a new OrderController with the required services.
      *
-     * @param orderService the service for order operations
+     * @param orderService        the service for order operations
+     * @param orderExporter       the exporter streaming all orders
+     * @param admissionController the controller shedding new orders while processing is backlogged
      */
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExporter orderExporter,
+                           OrderAdmissionController admissionController) {
         this.orderService = orderService;
+        this.orderExporter = orderExporter;
+        this.admissionController = admissionController;
     }
 
     /**
@@ -59,11 +73,12 @@ public class OrderController {
      *
      * @param principal the authenticated user principal
      * @param request   the order creation request with items
-     * @return 201 Created with the created order details
+     * @return 201 Created with the created order details, or 503 if order processing is backlogged
      */
     @PostMapping
     public ResponseEntity<OrderResponse> create(@AuthenticationPrincipal UserPrincipal principal,
                                                  @Valid @RequestBody CreateOrderRequest request) {
+        admissionController.admit();
         log.info("Creating new order for user: id={}", principal.getId());
         Order order = orderService.create(principal.getId(), request);
         log.info("Order created successfully: id={}, total={}", order.getId(), order.getTotal());
@@ -71,18 +86,48 @@ public class OrderController {
     }
 
     /**
-     * Retrieves all orders.
+     * Retrieves one page of orders, oldest first.
      *
-     * @return 200 OK with a list of all orders
+     * @param cursor the {@value CursorPage#NEXT_CURSOR_HEADER} value of the previous page
+     * @param limit  the maximum number of orders, capped at {@value CursorPage#MAX_LIMIT}
+     * @return 200 OK with a list of orders and the next page's cursor in a header
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> findAll() {
-        log.debug("Fetching all orders");
-        List<OrderResponse> orders = orderService.findAll().stream()
-                .map(OrderResponse::from)
-                .toList();
-        log.debug("Found {} orders", orders.size());
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponse>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        log.debug("Fetching orders page");
+        CursorPage<OrderResponse> page = orderService.findPage(cursor, limit).map(OrderResponse::from);
+        log.debug("Found {} orders", page.items().size());
+        return page.toResponseEntity();
+    }
+
+    /**
+     * Streams every order with its items for reconciliation.
+     *
+     * <p>Rows are written as they are read from the database, so the response
+     * size is not limited by memory. The export runs on the async executor with
+     * its own timeout, {@code order.export.timeout-seconds}, instead of the
+     * default async request timeout.</p>
+     *
+     * @param format   {@code ndjson} (default) for one order per line, or {@code csv} for one line per item
+     * @param response the response the export is written to
+     * @return the export task; 200 OK with the streamed export
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(@RequestParam(defaultValue = "ndjson") String format,
+                                     HttpServletResponse response) {
+        OrderExporter.Format exportFormat = OrderExporter.Format.of(format);
+        log.info("Exporting all orders as {}", exportFormat);
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("orders." + exportFormat.getExtension())
+                .build()
+                .toString());
+        return new WebAsyncTask<>(orderExporter.getTimeout().toMillis(), () -> {
+            orderExporter.export(exportFormat, response.getOutputStream());
+            return null;
+        });
     }
 
     /**
@@ -1,22 +1,48 @@
 package com.gpustore.order;
 
+import com.gpustore.config.NodeIdentity;
 import com.gpustore.config.RabbitMqConfig;
 import com.gpustore.event.EventBus;
 import com.gpustore.event.OrderExpiredEvent;
+import com.gpustore.inventory.InventoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
- * Scheduled job that expires orders stuck in PROCESSING state.
+ * Expires orders stuck in PROCESSING state.
  *
- * <p>Runs every 60 seconds and marks orders as EXPIRED if they have been
- * in PROCESSING state for more than 10 minutes.</p>
+ * <p>Orders are normally expired by {@link OrderExpiryScheduler}, which fires a
+ * timer per order at its deadline. This class performs the expiry and also runs
+ * a low-frequency reconciliation sweep over the status/updated_at index that
+ * catches orders whose timer lived on a node that went away.</p>
+ *
+ * <p>Expiry is set-based: each chunk of orders is expired with a single
+ * {@code UPDATE ... RETURNING id, user_id}, their reservations are released with
+ * one query, and their events are written to the outbox as one batch. The sweep
+ * commits each chunk of {@code order.expiration.batch-size} orders separately, so
+ * transactions stay short however large the backlog is.</p>
+ *
+ * <p>The job is cluster-safe: candidate rows are claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, so replicas sweeping at the same time expire
+ * disjoint chunks instead of waiting on each other. The update re-checks the
+ * status of every claimed row, so an order is only expired if it is still
+ * PROCESSING and has not been updated within the timeout, and its event is
+ * published exactly once however many timers fire for it. Expired orders are
+ * counted in {@code orders.expired}, tagged by node and source.</p>
  *
  * @author GPU Store Team
  * @version 1.0.0
@@ -26,63 +52,147 @@ import java.util.List;
 public class OrderExpirationJob {
 
     private static final Logger log = LoggerFactory.getLogger(OrderExpirationJob.class);
-    private static final int EXPIRATION_MINUTES = 10;
 
-    private final OrderRepository orderRepository;
+    private static final String EXPIRE_STALE_SQL = """
+            UPDATE orders SET status = 'EXPIRED', updated_at = ?
+            WHERE id IN (
+                SELECT id FROM orders
+                WHERE status = 'PROCESSING' AND updated_at < ?
+                ORDER BY updated_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ) AND status = 'PROCESSING'
+            RETURNING id, user_id
+            """;
+
+    private static final String EXPIRE_DUE_SQL = """
+            UPDATE orders SET status = 'EXPIRED', updated_at = ?
+            WHERE id IN (
+                SELECT id FROM orders
+                WHERE id = ANY (?) AND status = 'PROCESSING' AND updated_at < ?
+                FOR UPDATE SKIP LOCKED
+            ) AND status = 'PROCESSING'
+            RETURNING id, user_id
+            """;
+
+    private record ExpiredOrder(Long id, Long userId) {
+    }
+
+    private static final String SOURCE_TIMER = "timer";
+    private static final String SOURCE_SWEEP = "sweep";
+
+    private final InventoryService inventoryService;
     private final EventBus eventBus;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final Duration timeout;
+    private final int chunkSize;
 
     /**
      * Constructs a new OrderExpirationJob.
      *
-     * @param orderRepository repository for order operations
-     * @param eventBus        event bus for publishing expiration events
+     * @param inventoryService    service releasing the stock reserved by expired orders
+     * @param eventBus            event bus for publishing expiration events
+     * @param jdbcTemplate        template used for the set-based status updates
+     * @param transactionTemplate template used to commit each sweep chunk separately
+     * @param meterRegistry       registry for expiration metrics
+     * @param nodeIdentity        identity of this node, used in log lines
+     * @param timeoutMinutes      how long an order may stay in PROCESSING
+     * @param chunkSize           the maximum number of orders expired per transaction
      */
-    public OrderExpirationJob(OrderRepository orderRepository, EventBus eventBus) {
-        this.orderRepository = orderRepository;
+    public OrderExpirationJob(InventoryService inventoryService,
+                              EventBus eventBus,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              NodeIdentity nodeIdentity,
+                              @Value("${order.expiration.timeout-minutes:10}") long timeoutMinutes,
+                              @Value("${order.expiration.batch-size:500}") int chunkSize) {
+        this.inventoryService = inventoryService;
         this.eventBus = eventBus;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.timeout = Duration.ofMinutes(timeoutMinutes);
+        this.chunkSize = chunkSize;
     }
 
     /**
-     * Finds and expires stale orders.
-     * Runs every 60 seconds.
+     * Returns how long an order may stay in PROCESSING before it is expired.
+     *
+     * @return the processing timeout
      */
-    @Scheduled(fixedRate = 60000)
-    @Transactional
-    public void expireStaleOrders() {
-        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(EXPIRATION_MINUTES);
+    public Duration getTimeout() {
+        return timeout;
+    }
 
-        List<Order> staleOrders = orderRepository.findByStatusAndUpdatedAtBefore(
-                OrderStatus.PROCESSING, cutoff
-        );
+    /**
+     * Finds and expires stale orders missed by the per-order timers, one chunk per transaction.
+     * Runs every 5 minutes by default.
+     */
+    @Scheduled(fixedDelayString = "${order.expiration.sweep-interval-ms:300000}")
+    public void expireStaleOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(timeout);
+        Timer chunkTimer = meterRegistry.timer("orders.expiration.chunk", "source", SOURCE_SWEEP);
+        int total = 0;
+        Integer expired;
+        do {
+            expired = chunkTimer.record(() -> transactionTemplate.execute(status -> expire(SOURCE_SWEEP,
+                    jdbcTemplate.query(EXPIRE_STALE_SQL,
+                            (rs, rowNum) -> new ExpiredOrder(rs.getLong("id"), rs.getLong("user_id")),
+                            Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(cutoff), chunkSize))));
+            total += expired;
+        } while (expired == chunkSize);
 
-        if (staleOrders.isEmpty()) {
+        if (total == 0) {
             log.debug("No stale orders found for expiration");
-            return;
+        } else {
+            log.info("Node {} expired {} stale orders", nodeId, total);
         }
+    }
 
-        log.info("Found {} stale orders to expire", staleOrders.size());
-
-        for (Order order : staleOrders) {
-            expireOrder(order);
-        }
+    /**
+     * Expires the given orders whose deadline has passed.
+     *
+     * <p>Orders that completed, were already expired, or were updated within the
+     * timeout are skipped.</p>
+     *
+     * @param orderIds the IDs of orders whose timers fired
+     * @return the number of orders expired
+     */
+    @Transactional
+    public int expireDue(Collection<Long> orderIds) {
+        LocalDateTime now = LocalDateTime.now();
+        return expire(SOURCE_TIMER, jdbcTemplate.query(EXPIRE_DUE_SQL,
+                (rs, rowNum) -> new ExpiredOrder(rs.getLong("id"), rs.getLong("user_id")),
+                Timestamp.valueOf(now), orderIds.toArray(new Long[0]), Timestamp.valueOf(now.minus(timeout))));
     }
 
     /**
-     * Expires a single order and publishes an expiration event.
+     * Releases the reserved stock of freshly expired orders and publishes their expiration events.
      *
-     * @param order the order to expire
+     * @param source        whether the orders were found by a timer or by the sweep
+     * @param expiredOrders the orders the status update just expired
+     * @return the number of orders expired
      */
-    private void expireOrder(Order order) {
-        order.setStatus(OrderStatus.EXPIRED);
-        orderRepository.save(order);
-
-        eventBus.publish(RabbitMqConfig.ROUTING_KEY_EXPIRED, new OrderExpiredEvent(
-                order.getId(),
-                order.getUser().getId(),
-                "Processing timeout exceeded " + EXPIRATION_MINUTES + " minutes",
-                LocalDateTime.now()
-        ));
-
-        log.info("Order {} expired due to processing timeout", order.getId());
+    private int expire(String source, List<ExpiredOrder> expiredOrders) {
+        if (expiredOrders.isEmpty()) {
+            return 0;
+        }
+
+        inventoryService.release(expiredOrders.stream().map(ExpiredOrder::id).toList());
+
+        String reason = "Processing timeout exceeded " + timeout.toMinutes() + " minutes";
+        LocalDateTime now = LocalDateTime.now();
+        eventBus.publishAll(RabbitMqConfig.ROUTING_KEY_EXPIRED, expiredOrders.stream()
+                .map(order -> new OrderExpiredEvent(order.id(), order.userId(), reason, now))
+                .toList());
+
+        meterRegistry.counter("orders.expired", "source", source).increment(expiredOrders.size());
+        log.info("Node {} expired {} orders due to processing timeout ({})", nodeId, expiredOrders.size(), source);
+        return expiredOrders.size();
     }
 }
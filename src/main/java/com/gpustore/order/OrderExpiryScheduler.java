@@ -0,0 +1,171 @@
+package com.gpustore.order;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires a timer per PROCESSING order at its expiry deadline.
+ *
+ * <p>Timers live in an in-process {@link TimingWheel}, so scheduling and firing
+ * cost O(1) regardless of how many orders are pending and no table scan is
+ * needed to find due orders. A single ticker thread advances the wheel every
+ * {@code order.expiration.tick-ms} and hands due orders to
+ * {@link OrderExpirationJob#expireDue} in batches, so orders expire within one
+ * tick of their deadline.</p>
+ *
+ * <p>On startup the wheel is rebuilt from the PROCESSING orders in the database.
+ * Timers for orders that completed in the meantime are not cancelled; they fire
+ * and are skipped.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class OrderExpiryScheduler implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExpiryScheduler.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderExpirationJob expirationJob;
+    private final long tickMs;
+    private final int batchSize;
+    private final long retryDelayMs;
+
+    private final Object lock = new Object();
+    private TimingWheel wheel;
+    private List<Long> overdue = new ArrayList<>();
+
+    private volatile boolean running;
+    private Thread ticker;
+
+    /**
+     * Constructs a new OrderExpiryScheduler.
+     *
+     * @param orderRepository repository used to rebuild timers on startup
+     * @param expirationJob   job performing the expiry
+     * @param tickMs          the wheel's resolution in milliseconds
+     * @param batchSize       the maximum number of orders expired per transaction
+     * @param retryDelayMs    how long to wait before retrying orders whose expiry failed
+     */
+    public OrderExpiryScheduler(OrderRepository orderRepository,
+                                OrderExpirationJob expirationJob,
+                                @Value("${order.expiration.tick-ms:100}") long tickMs,
+                                @Value("${order.expiration.batch-size:500}") int batchSize,
+                                @Value("${order.expiration.retry-delay-ms:5000}") long retryDelayMs) {
+        this.orderRepository = orderRepository;
+        this.expirationJob = expirationJob;
+        this.tickMs = tickMs;
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    /**
+     * Schedules expiry of an order that just entered PROCESSING.
+     *
+     * <p>When called inside a transaction, the timer is started once it commits,
+     * so the deadline is measured from the order's persisted update time.</p>
+     *
+     * @param orderId the order ID
+     */
+    public void schedule(Long orderId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(orderId, System.currentTimeMillis() + expirationJob.getTimeout().toMillis());
+                }
+            });
+        } else {
+            add(orderId, System.currentTimeMillis() + expirationJob.getTimeout().toMillis());
+        }
+    }
+
+    private void add(Long orderId, long deadlineMs) {
+        // Round up so a timer never fires before its deadline
+        long deadlineTick = (deadlineMs + tickMs - 1) / tickMs;
+        synchronized (lock) {
+            if (wheel == null || !wheel.add(orderId, deadlineTick)) {
+                overdue.add(orderId);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        synchronized (lock) {
+            wheel = new TimingWheel(System.currentTimeMillis() / tickMs);
+        }
+        long timeoutMs = expirationJob.getTimeout().toMillis();
+        List<OrderRepository.StatusTimestamp> processing =
+                orderRepository.findTimestampsByStatus(OrderStatus.PROCESSING);
+        for (OrderRepository.StatusTimestamp order : processing) {
+            long updatedAtMs = order.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            add(order.getId(), updatedAtMs + timeoutMs);
+        }
+        log.info("Order expiry timers rebuilt for {} processing orders", processing.size());
+
+        running = true;
+        ticker = Thread.ofPlatform().name("order-expiry-ticker").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+            try {
+                ticker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(tickMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            List<Long> due;
+            synchronized (lock) {
+                due = overdue;
+                overdue = new ArrayList<>();
+                wheel.advanceTo(System.currentTimeMillis() / tickMs, due);
+            }
+            for (int from = 0; from < due.size(); from += batchSize) {
+                expire(due.subList(from, Math.min(from + batchSize, due.size())));
+            }
+        }
+    }
+
+    private void expire(List<Long> orderIds) {
+        try {
+            int expired = expirationJob.expireDue(orderIds);
+            log.debug("Expiry timers fired for {} orders, {} expired", orderIds.size(), expired);
+        } catch (RuntimeException e) {
+            log.error("Failed to expire {} orders, retrying in {} ms", orderIds.size(), retryDelayMs, e);
+            long retryAt = System.currentTimeMillis() + retryDelayMs;
+            orderIds.forEach(orderId -> add(orderId, retryAt));
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.gpustore.order;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gpustore.common.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Streams every order with its items for reconciliation exports.
+ *
+ * <p>Rows are read through a forward-only JDBC cursor that fetches
+ * {@code order.export.fetch-size} rows per round trip, and each row is written to
+ * the response as soon as it is read. No entities are created, so there is no
+ * persistence context to grow, and memory use does not depend on the number of
+ * orders. PostgreSQL only honours the fetch size inside a transaction, so the
+ * export runs in a read-only one. That transaction holds a connection for the
+ * whole export, so both the transaction and the export request are limited to
+ * {@code order.export.timeout-seconds}; other requests keep the default async
+ * timeout.</p>
+ *
+ * <p>Two formats are supported: NDJSON with one order per line, shaped like
+ * {@link com.gpustore.order.dto.OrderResponse}, and CSV with one line per order
+ * item.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class OrderExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExporter.class);
+
+    private static final String EXPORT_SQL = """
+            SELECT o.id, o.user_id, o.total, o.status, o.created_at, o.updated_at,
+                   i.id, i.product_id, p.name, i.quantity, i.price
+            FROM orders o
+            LEFT JOIN order_items i ON i.order_id = o.id
+            LEFT JOIN products p ON p.id = i.product_id
+            ORDER BY o.id, i.id
+            """;
+
+    private static final String CSV_HEADER =
+            "order_id,user_id,status,total,created_at,updated_at,item_id,product_id,product_name,quantity,price\n";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Resolves a format from its case-insensitive name.
+         *
+         * @param name the format name
+         * @return the format
+         * @throws ValidationException if the format is not supported
+         */
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new ValidationException("Unsupported export format: " + name);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final Duration timeout;
+
+    /**
+     * Constructs a new OrderExporter.
+     *
+     * @param jdbcTemplate       the template used to run the cursor query
+     * @param transactionManager the manager for the read-only export transaction
+     * @param objectMapper       the mapper whose factory writes the NDJSON lines
+     * @param fetchSize          the number of rows fetched per round trip
+     * @param timeoutSeconds     how long an export may run
+     */
+    public OrderExporter(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         @Value("${order.export.fetch-size:1000}") int fetchSize,
+                         @Value("${order.export.timeout-seconds:1800}") int timeoutSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout(timeoutSeconds);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    /**
+     * Returns how long an export may run before its request and transaction are aborted.
+     *
+     * @return the export timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Writes every order to a stream.
+     *
+     * <p>The stream is flushed but not closed.</p>
+     *
+     * @param format the output format
+     * @param out    the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void export(Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        try {
+            long orders = switch (format) {
+                case NDJSON -> exportNdjson(out);
+                case CSV -> exportCsv(out);
+            };
+            log.info("Exported {} orders as {} in {} ms", orders, format,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long exportNdjson(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(new BufferedOutputStream(out, BUFFER_SIZE));
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+        long orders = stream(new OrderRowHandler() {
+            @Override
+            void startOrder(ResultSet rs) throws SQLException, IOException {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong(1));
+                json.writeNumberField("userId", rs.getLong(2));
+                json.writeNumberField("total", rs.getBigDecimal(3));
+                json.writeStringField("status", rs.getString(4));
+                json.writeStringField("createdAt", format(rs.getTimestamp(5)));
+                json.writeStringField("updatedAt", format(rs.getTimestamp(6)));
+                json.writeArrayFieldStart("items");
+            }
+
+            @Override
+            void item(ResultSet rs) throws SQLException, IOException {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong(7));
+                json.writeNumberField("productId", rs.getLong(8));
+                json.writeStringField("productName", rs.getString(9));
+                json.writeNumberField("quantity", rs.getInt(10));
+                json.writeNumberField("price", rs.getBigDecimal(11));
+                json.writeEndObject();
+            }
+
+            @Override
+            void endOrder() throws IOException {
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        });
+        if (orders > 0) {
+            json.writeRaw('\n');
+        }
+        json.flush();
+        return orders;
+    }
+
+    private long exportCsv(OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        csv.write(CSV_HEADER);
+
+        long orders = stream(new OrderRowHandler() {
+            @Override
+            void startOrder(ResultSet rs) {
+            }
+
+            @Override
+            void item(ResultSet rs) throws SQLException, IOException {
+                line(rs, true);
+            }
+
+            @Override
+            void noItems(ResultSet rs) throws SQLException, IOException {
+                line(rs, false);
+            }
+
+            private void line(ResultSet rs, boolean withItem) throws SQLException, IOException {
+                csv.write(Long.toString(rs.getLong(1)));
+                csv.write(',');
+                csv.write(Long.toString(rs.getLong(2)));
+                csv.write(',');
+                csv.write(rs.getString(4));
+                csv.write(',');
+                csv.write(rs.getBigDecimal(3).toPlainString());
+                csv.write(',');
+                csv.write(format(rs.getTimestamp(5)));
+                csv.write(',');
+                csv.write(format(rs.getTimestamp(6)));
+                if (withItem) {
+                    csv.write(',');
+                    csv.write(Long.toString(rs.getLong(7)));
+                    csv.write(',');
+                    csv.write(Long.toString(rs.getLong(8)));
+                    csv.write(',');
+                    csv.write(escapeCsv(rs.getString(9)));
+                    csv.write(',');
+                    csv.write(Integer.toString(rs.getInt(10)));
+                    csv.write(',');
+                    csv.write(rs.getBigDecimal(11).toPlainString());
+                } else {
+                    csv.write(",,,,,");
+                }
+                csv.write('\n');
+            }
+        });
+        csv.flush();
+        return orders;
+    }
+
+    /**
+     * Runs the cursor query in a read-only transaction, feeding every row to the handler.
+     *
+     * @return the number of orders streamed
+     */
+    private long stream(OrderRowHandler handler) {
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, handler));
+        return handler.finish();
+    }
+
+    private static String format(Timestamp timestamp) {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp.toLocalDateTime());
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Groups the joined order/item rows, which arrive sorted by order ID, back into orders.
+     *
+     * <p>Only the current order's ID is kept between rows.</p>
+     */
+    private abstract static class OrderRowHandler implements RowCallbackHandler {
+
+        private long currentOrderId = -1;
+        private long orders;
+
+        /** Called on the first row of an order. */
+        abstract void startOrder(ResultSet rs) throws SQLException, IOException;
+
+        /** Called on every row that carries an item. */
+        abstract void item(ResultSet rs) throws SQLException, IOException;
+
+        /** Called on the single row of an order without items. */
+        void noItems(ResultSet rs) throws SQLException, IOException {
+        }
+
+        /** Called once the last row of an order has been handled. */
+        void endOrder() throws IOException {
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long orderId = rs.getLong(1);
+                if (orderId != currentOrderId) {
+                    if (orders > 0) {
+                        endOrder();
+                    }
+                    currentOrderId = orderId;
+                    orders++;
+                    startOrder(rs);
+                }
+                if (rs.getObject(7) != null) {
+                    item(rs);
+                } else {
+                    noItems(rs);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long finish() {
+            if (orders > 0) {
+                try {
+                    endOrder();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return orders;
+        }
+    }
+}
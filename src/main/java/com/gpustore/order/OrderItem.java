@@ -20,6 +20,9 @@ import java.util.Objects;
  * <p>Each order item references a product, quantity, and the price
  * at the time of purchase (which may differ from current product price).</p>
  *
+ * <p>IDs come from a sequence in blocks of 50, so the items of an order are
+ * inserted in one JDBC batch instead of one statement each.</p>
+ *
  * @author GPU Store Team
  * @version 1.0.0
  * @since 1.0.0
@@ -29,7 +32,7 @@ import java.util.Objects;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,200 @@
+package com.gpustore.order;
+
+import com.gpustore.config.NodeIdentity;
+import com.gpustore.config.RabbitMqConfig;
+import com.gpustore.event.OrderCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs one listener container per OrderCreated partition owned by this node.
+ *
+ * <p>Every {@code order.partitions.heartbeat-interval-ms} the node refreshes its
+ * row in {@code order_processor_nodes} and reads the nodes that have sent a
+ * heartbeat within {@code order.partitions.node-timeout-ms}. From that list
+ * {@link OrderPartitions} decides which partitions this node owns; containers
+ * are started for partitions it gained and stopped for partitions it lost. A
+ * node that shuts down deletes its row, so its partitions move at the next
+ * heartbeat of the others; a node that crashes is dropped after the timeout.
+ * Database time is used throughout, so clock skew between nodes does not
+ * matter.</p>
+ *
+ * <p>Each container has a single consumer and feeds
+ * {@link OrderProcessor#processOrder(OrderCreatedEvent, CompletableFuture)},
+ * chaining every order's completion behind the previous one. The partition
+ * queues are single active consumer queues, so while two nodes briefly disagree
+ * on an owner, the broker still delivers to one of them only, and a partition's
+ * orders are completed one at a time in queue order. The
+ * {@link com.gpustore.event.OutboxRelay} publishes a partition's events only
+ * from its owner, in outbox order, so queue order is the order in which the
+ * orders were created. If the database is unreachable the current assignment is
+ * kept.</p>
+ *
+ * <p>When a partition moves, the new owner may complete an order while the
+ * previous owner is still waiting for the payment of an earlier one. Stopping a
+ * container does not wait for the chained completions.</p>
+ *
+ * <p>The number of partitions owned by this node is exported as
+ * {@code orders.partitions.owned}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class OrderPartitionCoordinator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionCoordinator.class);
+
+    // Rows of nodes gone for this long are deleted; node IDs change across restarts
+    private static final long PURGE_AFTER_MS = 3_600_000;
+
+    private final OrderPartitions partitions;
+    private final OrderProcessor orderProcessor;
+    private final SimpleRabbitListenerContainerFactory containerFactory;
+    private final MessageConverter messageConverter;
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final long nodeTimeoutMs;
+
+    private final Map<Integer, SimpleMessageListenerContainer> containers = new TreeMap<>();
+    private volatile Set<Integer> owned = Set.of();
+    private volatile boolean running;
+
+    /**
+     * Constructs a new OrderPartitionCoordinator.
+     *
+     * @param partitions       the user-to-partition and partition-to-node mapping
+     * @param orderProcessor   the processor fed by every partition
+     * @param containerFactory the factory configured from {@code spring.rabbitmq.listener.simple}
+     * @param messageConverter the converter used to read OrderCreated messages
+     * @param jdbcTemplate     the template used for heartbeats
+     * @param nodeIdentity     this node's identity
+     * @param meterRegistry    the registry for partition metrics
+     * @param nodeTimeoutMs    how long a node is considered live after its last heartbeat
+     */
+    public OrderPartitionCoordinator(OrderPartitions partitions,
+                                     OrderProcessor orderProcessor,
+                                     SimpleRabbitListenerContainerFactory containerFactory,
+                                     MessageConverter messageConverter,
+                                     JdbcTemplate jdbcTemplate,
+                                     NodeIdentity nodeIdentity,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${order.partitions.node-timeout-ms:15000}") long nodeTimeoutMs) {
+        this.partitions = partitions;
+        this.orderProcessor = orderProcessor;
+        this.containerFactory = containerFactory;
+        this.messageConverter = messageConverter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.nodeTimeoutMs = nodeTimeoutMs;
+        meterRegistry.gauge("orders.partitions.owned", this, coordinator -> coordinator.owned.size());
+    }
+
+    /**
+     * Returns the partitions this node currently consumes.
+     *
+     * @return the owned partitions, empty while the node is stopped
+     */
+    public Set<Integer> ownedPartitions() {
+        return owned;
+    }
+
+    /**
+     * Sends a heartbeat and adjusts the owned partitions to the live nodes.
+     */
+    @Scheduled(fixedDelayString = "${order.partitions.heartbeat-interval-ms:5000}")
+    public synchronized void rebalance() {
+        if (!running) {
+            return;
+        }
+        List<String> liveNodes;
+        try {
+            jdbcTemplate.update("INSERT INTO order_processor_nodes (node_id, heartbeat_at) VALUES (?, now()) "
+                    + "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = EXCLUDED.heartbeat_at", nodeId);
+            jdbcTemplate.update("DELETE FROM order_processor_nodes "
+                    + "WHERE heartbeat_at < now() - make_interval(secs => ?)", PURGE_AFTER_MS / 1000.0);
+            liveNodes = jdbcTemplate.queryForList("SELECT node_id FROM order_processor_nodes "
+                    + "WHERE heartbeat_at > now() - make_interval(secs => ?)", String.class, nodeTimeoutMs / 1000.0);
+        } catch (DataAccessException e) {
+            log.warn("Order partition heartbeat failed, keeping partitions {}", containers.keySet(), e);
+            return;
+        }
+
+        if (!liveNodes.contains(nodeId)) {
+            liveNodes.add(nodeId);
+        }
+        Set<Integer> assigned = partitions.assignedTo(nodeId, liveNodes);
+        List<Integer> released = containers.keySet().stream().filter(p -> !assigned.contains(p)).toList();
+        List<Integer> gained = assigned.stream().filter(p -> !containers.containsKey(p)).toList();
+        for (Integer partition : released) {
+            containers.remove(partition).stop();
+        }
+        for (Integer partition : gained) {
+            containers.put(partition, startContainer(partition));
+        }
+        owned = Set.copyOf(containers.keySet());
+        if (!released.isEmpty() || !gained.isEmpty()) {
+            log.info("Order partitions rebalanced over {} nodes: owned={}, gained={}, released={}",
+                    liveNodes.size(), containers.keySet(), gained, released);
+        }
+    }
+
+    private SimpleMessageListenerContainer startContainer(int partition) {
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId("order-partition-" + partition);
+        endpoint.setQueueNames(RabbitMqConfig.createdPartitionQueue(partition));
+        endpoint.setConcurrency("1");
+        AtomicReference<CompletableFuture<Void>> previous =
+                new AtomicReference<>(CompletableFuture.completedFuture(null));
+        endpoint.setMessageListener(message -> previous.set(orderProcessor.processOrder(
+                (OrderCreatedEvent) messageConverter.fromMessage(message), previous.get())));
+
+        SimpleMessageListenerContainer container = containerFactory.createListenerContainer(endpoint);
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        rebalance();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        containers.values().forEach(SimpleMessageListenerContainer::stop);
+        containers.clear();
+        owned = Set.of();
+        try {
+            jdbcTemplate.update("DELETE FROM order_processor_nodes WHERE node_id = ?", nodeId);
+        } catch (DataAccessException e) {
+            log.warn("Could not deregister node {}, its partitions move after the node timeout", nodeId, e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
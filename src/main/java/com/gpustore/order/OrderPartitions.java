@@ -0,0 +1,153 @@
+package com.gpustore.order;
+
+import com.gpustore.config.RabbitMqConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maps users to OrderCreated partitions and partitions to processing nodes.
+ *
+ * <p>A user's partition is chosen by jump consistent hashing of the user ID, so
+ * all of a user's orders travel through one queue, and growing
+ * the partition count moves only the users that the new partitions take over.
+ * Partitions are spread over the live nodes by rendezvous hashing with bounded
+ * load: each node scores every partition, and the highest-scoring node that
+ * still has room wins. No node carries more than {@code ceil(partitions / nodes)}
+ * partitions, so throughput grows with the node count, and a node joining or
+ * leaving moves little more than its own share. Every node computes the same
+ * assignment from the same node list.</p>
+ *
+ * <p>Configured by {@code order.partitions.count}. Change the count only while
+ * the partition queues are empty; messages already routed to a partition that
+ * no longer exists would be dropped.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class OrderPartitions {
+
+    private final int count;
+
+    /**
+     * Constructs a new OrderPartitions.
+     *
+     * @param count the number of OrderCreated partitions
+     */
+    public OrderPartitions(@Value("${order.partitions.count:8}") int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("order.partitions.count must be at least 1, was " + count);
+        }
+        this.count = count;
+    }
+
+    /**
+     * Returns the number of partitions.
+     *
+     * @return the partition count
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the partition that carries a user's orders.
+     *
+     * @param userId the user ID
+     * @return the partition number, from 0 to {@link #count()} - 1
+     */
+    public int partitionOf(long userId) {
+        return jumpHash(mix(userId), count);
+    }
+
+    /**
+     * Returns the routing key for a user's OrderCreated events.
+     *
+     * @param userId the user ID
+     * @return the routing key of the user's partition
+     */
+    public String createdRoutingKey(long userId) {
+        return RabbitMqConfig.createdPartitionRoutingKey(partitionOf(userId));
+    }
+
+    /**
+     * Returns the partitions a node should consume.
+     *
+     * @param nodeId    the node
+     * @param liveNodes every live node, including {@code nodeId}
+     * @return the partitions assigned to the node, in ascending order
+     */
+    public Set<Integer> assignedTo(String nodeId, Collection<String> liveNodes) {
+        String[] owners = owners(liveNodes);
+        Set<Integer> assigned = new TreeSet<>();
+        for (int partition = 0; partition < count; partition++) {
+            if (nodeId.equals(owners[partition])) {
+                assigned.add(partition);
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Assigns every partition to a node.
+     *
+     * <p>Each partition goes to the node with the highest score that has not yet
+     * reached its share of {@code ceil(count / nodes)} partitions, so no node
+     * carries more than its share.</p>
+     *
+     * @param liveNodes every live node, in any order
+     * @return the owning node per partition
+     */
+    String[] owners(Collection<String> liveNodes) {
+        List<String> nodes = new ArrayList<>(new TreeSet<>(liveNodes));
+        int share = (count + nodes.size() - 1) / nodes.size();
+        int[] load = new int[nodes.size()];
+        String[] owners = new String[count];
+        for (int partition = 0; partition < count; partition++) {
+            int best = -1;
+            long bestScore = 0;
+            for (int i = 0; i < nodes.size(); i++) {
+                long score = mix(((long) nodes.get(i).hashCode() << 32) ^ partition);
+                if (load[i] < share && (best < 0 || score > bestScore)) {
+                    best = i;
+                    bestScore = score;
+                }
+            }
+            owners[partition] = nodes.get(best);
+            load[best]++;
+        }
+        return owners;
+    }
+
+    /**
+     * Jump consistent hash (Lamping and Veach): maps a key to one of {@code buckets}
+     * buckets so that growing to {@code buckets + 1} moves only 1/(buckets + 1) of the keys.
+     */
+    static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    // MurmurHash3 64-bit finalizer; spreads sequential IDs over the whole range
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
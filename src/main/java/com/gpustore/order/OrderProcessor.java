@@ -5,29 +5,49 @@ import com.gpustore.config.RabbitMqConfig;
 import com.gpustore.event.EventBus;
 import com.gpustore.event.OrderCompletedEvent;
 import com.gpustore.event.OrderCreatedEvent;
-import com.gpustore.product.Product;
-import com.gpustore.product.ProductRepository;
+import com.gpustore.event.OrderExpiredEvent;
+import com.gpustore.inventory.InsufficientStockException;
+import com.gpustore.inventory.InventoryService;
+import com.gpustore.payment.PaymentGateway;
+import com.gpustore.payment.PaymentResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Asynchronous order processor that consumes OrderCreatedEvent messages.
  *
- * <p>Processing flow:</p>
+ * <p>Processing is split into stages so that no listener thread, transaction or
+ * JDBC connection is held while payment is in flight:</p>
  * <ol>
- *   <li>Receives OrderCreatedEvent from orders.created.queue</li>
- *   <li>Updates order status to PROCESSING</li>
- *   <li>Simulates payment processing (5 second delay)</li>
- *   <li>50% success rate: on success, deducts stock and marks COMPLETED</li>
- *   <li>On failure, order remains in PROCESSING (scheduler will expire it)</li>
+ *   <li>Receives OrderCreatedEvent from its user's partition queue, one at a time per partition
+ *       ({@link OrderPartitionCoordinator})</li>
+ *   <li>Commits the PENDING to PROCESSING transition in a short transaction</li>
+ *   <li>Hands the charge to the {@link PaymentGateway} and releases the listener thread</li>
+ *   <li>On approval, locks the order, confirms the stock reserved at creation and marks COMPLETED in a
+ *       fresh transaction; an order expired in the meantime is left untouched</li>
+ *   <li>If a lapsed reservation can no longer be covered, nothing is deducted and the order is EXPIRED
+ *       with the shortages as reason</li>
+ *   <li>On decline, order remains in PROCESSING until its expiry timer fires</li>
  * </ol>
  *
+ * <p>The partition listeners pass each order the completion of the one before
+ * it. Payments of a partition's orders overlap, but an order's completion stage
+ * waits for the previous order's, so a user's orders reach their final state in
+ * queue order. A charge that does not answer within
+ * {@code order.expiration.timeout-minutes} is treated as failed, so a stuck
+ * provider cannot hold a partition for longer than the order would live.</p>
+ *
  * @author GPU Store Team
  * @version 1.0.0
  * @since 1.0.0
@@ -36,107 +56,176 @@ import java.util.Random;
 public class OrderProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(OrderProcessor.class);
-    private static final Random RANDOM = new Random();
-    private static final int PAYMENT_SIMULATION_MS = 5000;
 
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
     private final EventBus eventBus;
+    private final PaymentGateway paymentGateway;
+    private final OrderExpiryScheduler expiryScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor completionExecutor;
+    private final OrderAdmissionController admissionController;
+    private final long paymentTimeoutMinutes;
 
     /**
      * Constructs a new OrderProcessor with required dependencies.
      *
-     * @param orderRepository   the repository for order persistence
-     * @param productRepository the repository for product operations
-     * @param eventBus          the event bus for publishing domain events
+     * @param orderRepository     the repository for order persistence
+     * @param inventoryService    the service confirming and releasing stock reservations
+     * @param eventBus            the event bus for publishing domain events
+     * @param paymentGateway      the gateway used to charge orders
+     * @param expiryScheduler     the scheduler expiring orders stuck in PROCESSING
+     * @param transactionTemplate the template used to run each stage in its own transaction
+     * @param completionExecutor  the executor that runs the completion stage after payment
+     * @param admissionController the controller fed with the processing lag
+     * @param paymentTimeoutMinutes how long a charge may take before it counts as failed
      */
     public OrderProcessor(OrderRepository orderRepository,
-                          ProductRepository productRepository,
-                          EventBus eventBus) {
+                          InventoryService inventoryService,
+                          EventBus eventBus,
+                          PaymentGateway paymentGateway,
+                          OrderExpiryScheduler expiryScheduler,
+                          TransactionTemplate transactionTemplate,
+                          @Qualifier("applicationTaskExecutor") Executor completionExecutor,
+                          OrderAdmissionController admissionController,
+                          @Value("${order.expiration.timeout-minutes:10}") long paymentTimeoutMinutes) {
         this.orderRepository = orderRepository;
-        this.productRepository = productRepository;
+        this.inventoryService = inventoryService;
         this.eventBus = eventBus;
+        this.paymentGateway = paymentGateway;
+        this.expiryScheduler = expiryScheduler;
+        this.transactionTemplate = transactionTemplate;
+        this.completionExecutor = completionExecutor;
+        this.admissionController = admissionController;
+        this.paymentTimeoutMinutes = paymentTimeoutMinutes;
     }
 
     /**
      * Processes an order asynchronously after creation.
      *
+     * <p>Returns as soon as the order is marked PROCESSING and the charge has been
+     * handed to the payment gateway; completion happens on a separate thread.</p>
+     *
+     * <p>The listener on {@value RabbitMqConfig#CREATED_QUEUE} only drains events
+     * published without a partition, by nodes running an older version, so their
+     * completions are not ordered.</p>
+     *
      * @param event the order created event containing order details
      */
     @RabbitListener(queues = RabbitMqConfig.CREATED_QUEUE)
-    @Transactional
     public void processOrder(OrderCreatedEvent event) {
+        processOrder(event, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Processes an order whose completion must follow a previous one.
+     *
+     * <p>Called by the partition listeners of {@link OrderPartitionCoordinator}
+     * with the completion of the partition's previous order. Returns once the
+     * charge has been handed to the payment gateway.</p>
+     *
+     * @param event    the order created event containing order details
+     * @param previous completes when the previous order of the partition has been completed or rejected
+     * @return completes when this order has been completed or rejected, or at once if it was not PENDING
+     */
+    public CompletableFuture<Void> processOrder(OrderCreatedEvent event, CompletableFuture<Void> previous) {
         log.info("Processing order: orderId={}", event.orderId());
+        if (event.timestamp() != null) {
+            admissionController.recordLag(Duration.between(event.timestamp(), LocalDateTime.now()));
+        }
+
+        Order order = transactionTemplate.execute(status -> startProcessing(event.orderId()));
+        if (order == null) {
+            return previous;
+        }
 
-        Order order = orderRepository.findByIdWithItems(event.orderId())
+        CompletableFuture<PaymentResult> payment = paymentGateway.charge(order.getId(), order.getTotal())
+                .orTimeout(paymentTimeoutMinutes, TimeUnit.MINUTES);
+        // A failed completion must not stop the partition's later orders
+        return previous.exceptionally(ex -> null)
+                .thenCompose(done -> payment.<Void>handleAsync((result, ex) -> {
+                    handlePaymentResult(order.getId(), result, ex);
+                    return null;
+                }, completionExecutor));
+    }
+
+    /**
+     * Transitions a PENDING order to PROCESSING.
+     *
+     * @param orderId the order ID
+     * @return the updated order, or null if the order is not in PENDING state
+     */
+    private Order startProcessing(Long orderId) {
+        Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> {
-                    log.error("Order not found for processing: {}", event.orderId());
-                    return new ResourceNotFoundException("Order", event.orderId());
+                    log.error("Order not found for processing: {}", orderId);
+                    return new ResourceNotFoundException("Order", orderId);
                 });
 
         // Idempotency check: only process PENDING orders
         if (order.getStatus() != OrderStatus.PENDING) {
             log.warn("Order {} not in PENDING state (current={}), skipping processing",
-                    event.orderId(), order.getStatus());
-            return;
+                    orderId, order.getStatus());
+            return null;
         }
 
-        // Transition to PROCESSING
         order.setStatus(OrderStatus.PROCESSING);
-        orderRepository.save(order);
-        log.info("Order {} status updated to PROCESSING", order.getId());
+        Order savedOrder = orderRepository.save(order);
+        expiryScheduler.schedule(orderId);
+        log.info("Order {} status updated to PROCESSING", orderId);
+        return savedOrder;
+    }
 
-        // Simulate payment processing
-        simulatePaymentProcessing();
+    /**
+     * Handles the payment gateway's answer for an order.
+     *
+     * @param orderId the order ID
+     * @param result  the payment result, or null if the charge failed
+     * @param ex      the failure raised by the gateway, or null on success
+     */
+    private void handlePaymentResult(Long orderId, PaymentResult result, Throwable ex) {
+        if (ex != null) {
+            log.error("Payment for order {} failed, will be expired by scheduler", orderId, ex);
+            return;
+        }
 
-        // 50% success rate simulation
-        if (RANDOM.nextBoolean()) {
-            completeOrder(order);
-        } else {
-            log.info("Order {} payment failed simulation, will be expired by scheduler",
-                    order.getId());
+        if (result != PaymentResult.APPROVED) {
+            log.info("Order {} payment declined, will be expired by scheduler", orderId);
             // Order stays in PROCESSING - scheduler will expire it after timeout
+            return;
         }
-    }
 
-    /**
-     * Simulates payment processing with a configurable delay.
-     */
-    private void simulatePaymentProcessing() {
         try {
-            log.debug("Simulating payment processing ({} ms delay)", PAYMENT_SIMULATION_MS);
-            Thread.sleep(PAYMENT_SIMULATION_MS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Payment simulation interrupted");
+            transactionTemplate.executeWithoutResult(status -> completeOrder(orderId));
+        } catch (InsufficientStockException e) {
+            log.warn("Order {} cannot be fulfilled: {}", orderId, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> rejectOrder(orderId, e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Failed to complete order {} after successful payment", orderId, e);
         }
     }
 
     /**
-     * Completes an order by deducting stock and updating status.
+     * Completes an order by confirming its stock reservation and updating status.
      *
-     * @param order the order to complete
+     * @param orderId the ID of the order to complete
+     * @throws InsufficientStockException if any line cannot be fulfilled; nothing is deducted
      */
-    private void completeOrder(Order order) {
-        // Deduct stock for all items
-        for (OrderItem item : order.getItems()) {
-            Product product = productRepository.findByIdWithLock(item.getProduct().getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", item.getProduct().getId()));
-
-            int newStock = product.getStock() - item.getQuantity();
-            if (newStock < 0) {
-                log.error("Insufficient stock for product {} during order {} completion",
-                        product.getId(), order.getId());
-                // In a real system, we might handle this differently (refund, partial fulfillment)
-                // For now, we still complete but log the error
-                newStock = 0;
-            }
-            product.setStock(newStock);
-            productRepository.save(product);
-            log.debug("Stock deducted for product {}: quantity={}, newStock={}",
-                    product.getId(), item.getQuantity(), newStock);
+    private void completeOrder(Long orderId) {
+        // Locked so that an expiry cannot commit between the status check and the deduction
+        Order order = orderRepository.findByIdWithLock(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+
+        // The order may have been expired while payment was in flight
+        if (order.getStatus() != OrderStatus.PROCESSING) {
+            log.warn("Order {} no longer in PROCESSING state (current={}), skipping completion",
+                    orderId, order.getStatus());
+            return;
         }
 
+        // Convert the reservation made at creation into a sale
+        inventoryService.confirm(orderId, order.quantitiesByProduct());
+
         // Mark as completed
         order.setStatus(OrderStatus.COMPLETED);
         orderRepository.save(order);
@@ -151,4 +240,31 @@ public class OrderProcessor {
 
         log.info("Order {} completed successfully", order.getId());
     }
+
+    /**
+     * Expires an order that cannot be fulfilled and publishes an expiration event.
+     *
+     * @param orderId the ID of the order to reject
+     * @param reason  the reason reported to the user
+     */
+    private void rejectOrder(Long orderId, String reason) {
+        Order order = orderRepository.findByIdWithLock(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+        if (order.getStatus() != OrderStatus.PROCESSING) {
+            return;
+        }
+
+        inventoryService.release(orderId);
+        order.setStatus(OrderStatus.EXPIRED);
+        orderRepository.save(order);
+
+        eventBus.publish(RabbitMqConfig.ROUTING_KEY_EXPIRED, new OrderExpiredEvent(
+                order.getId(),
+                order.getUser().getId(),
+                reason,
+                LocalDateTime.now()
+        ));
+
+        log.info("Order {} rejected: {}", orderId, reason);
+    }
 }
@@ -1,10 +1,14 @@
 package com.gpustore.order;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +23,15 @@ import java.util.Optional;
  */
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * ID and last modification time of an order, used to rebuild expiry timers.
+     */
+    interface StatusTimestamp {
+        Long getId();
+
+        LocalDateTime getUpdatedAt();
+    }
+
     /**
      * Finds all orders belonging to a specific user.
      *
@@ -28,12 +41,40 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
 
     /**
-     * Finds all orders with items and products eagerly loaded.
+     * Finds the IDs of the first page of orders in {@code (created_at, id)} order.
+     *
+     * <p>Paging on IDs first keeps the row limit in the database; a fetch join
+     * would make Hibernate apply it in memory.</p>
+     *
+     * @param limit the maximum number of orders
+     * @return the order IDs
+     */
+    @Query("SELECT o.id FROM Order o ORDER BY o.createdAt, o.id")
+    List<Long> findPageIds(Limit limit);
+
+    /**
+     * Finds the IDs of the page of orders that follows a keyset position.
      *
-     * @return a list of all orders with their items and products
+     * @param createdAt the creation time of the last order of the previous page
+     * @param id        the ID of the last order of the previous page
+     * @param limit     the maximum number of orders
+     * @return the order IDs
      */
-    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product")
-    List<Order> findAllWithItems();
+    @Query("SELECT o.id FROM Order o WHERE (o.createdAt, o.id) > (:createdAt, :id) ORDER BY o.createdAt, o.id")
+    List<Long> findPageIdsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    /**
+     * Finds orders by ID with items and products eagerly loaded, in {@code (created_at, id)} order.
+     *
+     * @param ids the order IDs
+     * @return the orders with their items and products
+     */
+    @Query("""
+            SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product
+            WHERE o.id IN :ids
+            ORDER BY o.createdAt, o.id
+            """)
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Finds all orders for a user with items and products eagerly loaded.
@@ -54,14 +95,27 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByIdWithItems(Long id);
 
     /**
-     * Finds orders with a specific status that haven't been updated since the cutoff time.
-     * Used by the expiration job to find stale PROCESSING orders.
+     * Finds and locks an order by ID.
+     *
+     * <p>The lock makes completion and expiry mutually exclusive per order: whichever
+     * takes the row first decides its final status, and the other sees that status
+     * once the lock is released. Items and products are left as lazy references, so
+     * that the product locks taken afterwards load them with current state.</p>
+     *
+     * @param id the order ID
+     * @return the locked order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * Finds the ID and last modification time of every order with a specific status.
+     * Served from the status/updated_at index without loading entities.
      *
      * @param status the order status to filter by
-     * @param cutoff orders with updatedAt before this time are returned
-     * @return list of stale orders
+     * @return the matching orders' timestamps
      */
-    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user WHERE o.status = :status AND o.updatedAt < :cutoff")
-    List<Order> findByStatusAndUpdatedAtBefore(@Param("status") OrderStatus status,
-                                                @Param("cutoff") LocalDateTime cutoff);
+    @Query("SELECT o.id AS id, o.updatedAt AS updatedAt FROM Order o WHERE o.status = :status")
+    List<StatusTimestamp> findTimestampsByStatus(@Param("status") OrderStatus status);
 }
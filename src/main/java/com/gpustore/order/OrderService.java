@@ -2,9 +2,12 @@ package com.gpustore.order;
 
 import com.gpustore.common.exception.ResourceNotFoundException;
 import com.gpustore.common.exception.ValidationException;
-import com.gpustore.config.RabbitMqConfig;
+import com.gpustore.common.pagination.CursorPage;
+import com.gpustore.common.pagination.KeysetCursor;
 import com.gpustore.event.EventBus;
 import com.gpustore.event.OrderCreatedEvent;
+import com.gpustore.inventory.InsufficientStockException;
+import com.gpustore.inventory.InventoryService;
 import com.gpustore.order.dto.CreateOrderRequest;
 import com.gpustore.order.dto.OrderItemRequest;
 import com.gpustore.order.dto.UpdateOrderRequest;
@@ -14,12 +17,16 @@ import com.gpustore.user.User;
 import com.gpustore.user.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for order management operations.
@@ -31,8 +38,8 @@ import java.util.List;
  *   <li>Order retrieval and deletion</li>
  * </ul>
  *
- * <p>Note: Stock validation and deduction has been moved to async processing
- * via {@link OrderProcessor} to enable instant order creation response.</p>
+ * <p>Note: Stock is only reserved on creation; deduction happens during async
+ * processing via {@link OrderProcessor} to enable instant order creation response.</p>
  *
  * @author GPU Store Team
  * @version 1.0.0
@@ -47,7 +54,10 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final InventoryService inventoryService;
+    private final OrderExpiryScheduler expiryScheduler;
     private final EventBus eventBus;
+    private final OrderPartitions partitions;
 
     /**
      * Constructs a new OrderService with required dependencies.
@@ -55,44 +65,66 @@ public class OrderService {
      * @param orderRepository   the repository for order persistence
      * @param productRepository the repository for product operations
      * @param userRepository    the repository for user lookups
+     * @param inventoryService  the service reserving and releasing stock
+     * @param expiryScheduler   the scheduler expiring orders stuck in PROCESSING
      * @param eventBus          the event bus for publishing domain events
+     * @param partitions        the mapping of users to OrderCreated partitions
      */
     public OrderService(OrderRepository orderRepository,
                         ProductRepository productRepository,
                         UserRepository userRepository,
-                        EventBus eventBus) {
+                        InventoryService inventoryService,
+                        OrderExpiryScheduler expiryScheduler,
+                        EventBus eventBus,
+                        OrderPartitions partitions) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.inventoryService = inventoryService;
+        this.expiryScheduler = expiryScheduler;
         this.eventBus = eventBus;
+        this.partitions = partitions;
     }
 
     /**
      * Creates a new order for a user.
      *
-     * <p>Creates the order with PENDING status and publishes an OrderCreatedEvent
-     * for async processing. Stock validation and deduction is handled asynchronously
-     * by the OrderProcessor.</p>
+     * <p>Creates the order with PENDING status, reserves stock for every line and
+     * publishes an OrderCreatedEvent for async processing. Over-subscription is
+     * rejected here; the reservation is converted into a sale by the OrderProcessor.</p>
+     *
+     * <p>All products are loaded with one query, and the items and the
+     * reservations are each inserted in one JDBC batch, so the number of round
+     * trips does not depend on the cart size.
+     * The returned order is the aggregate built here, not re-read.</p>
      *
      * @param userId  the ID of the user placing the order
      * @param request the order creation request with items
      * @return the created order entity with PENDING status
-     * @throws ResourceNotFoundException if user or any product is not found
+     * @throws ResourceNotFoundException  if user or any product is not found
+     * @throws InsufficientStockException if any product lacks available stock
      */
     public Order create(Long userId, CreateOrderRequest request) {
         log.debug("Creating order for user: {}", userId);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId));
 
+        Map<Long, Product> products = productRepository.findAllById(
+                        request.items().stream().map(OrderItemRequest::productId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
         Order order = new Order(user, BigDecimal.ZERO, OrderStatus.PENDING);
         BigDecimal total = BigDecimal.ZERO;
 
         for (OrderItemRequest itemRequest : request.items()) {
-            // Validate product exists (stock validation moved to async processing)
-            Product product = productRepository.findById(itemRequest.productId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", itemRequest.productId()));
+            // Validate product exists (stock is reserved once the order is saved)
+            Product product = products.get(itemRequest.productId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", itemRequest.productId());
+            }
 
-            // Capture price at order time (stock deduction moved to OrderProcessor)
+            // Capture price at order time (stock deduction happens in OrderProcessor)
             BigDecimal itemPrice = product.getPrice();
             BigDecimal itemTotal = itemPrice.multiply(BigDecimal.valueOf(itemRequest.quantity()));
             total = total.add(itemTotal);
@@ -102,30 +134,44 @@ public class OrderService {
         }
 
         order.setTotal(total);
-        Order savedOrder = orderRepository.save(order);
+        // Written before the reservations: they reference the order by ID only, so
+        // ordered inserts would not know to put the order first
+        Order savedOrder = orderRepository.saveAndFlush(order);
+        inventoryService.reserve(savedOrder.getId(), savedOrder.quantitiesByProduct());
         log.info("Order created: id={}, total={}, status=PENDING", savedOrder.getId(), total);
 
-        // Publish event for async processing
-        eventBus.publish(RabbitMqConfig.ROUTING_KEY_CREATED, new OrderCreatedEvent(
+        // Publish event for async processing, on the user's partition to keep their orders in sequence
+        eventBus.publish(partitions.createdRoutingKey(userId), new OrderCreatedEvent(
                 savedOrder.getId(),
                 userId,
                 savedOrder.getTotal(),
                 LocalDateTime.now()
         ));
 
-        // Re-fetch with eager-loaded items and products to avoid LazyInitializationException
-        return orderRepository.findByIdWithItems(savedOrder.getId()).orElse(savedOrder);
+        // User, items and products are already loaded, so no re-fetch is needed for the response
+        return savedOrder;
     }
 
     /**
-     * Retrieves all orders.
+     * Retrieves one page of orders in creation order.
      *
-     * @return a list of all orders
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @return the orders with their items and products, and the cursor of the next page
      */
     @Transactional(readOnly = true)
-    public List<Order> findAll() {
-        log.debug("Finding all orders");
-        return orderRepository.findAllWithItems();
+    public CursorPage<Order> findPage(String cursor, int limit) {
+        log.debug("Finding orders after cursor: {}", cursor);
+        int size = CursorPage.clamp(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit rows = Limit.of(size + 1);
+        List<Long> ids = after == null
+                ? orderRepository.findPageIds(rows)
+                : orderRepository.findPageIdsAfter(after.createdAt(), after.id(), rows);
+        if (ids.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        return CursorPage.of(orderRepository.findAllWithItemsByIdIn(ids), size, Order::getCreatedAt, Order::getId);
     }
 
     /**
@@ -157,7 +203,10 @@ public class OrderService {
     /**
      * Updates an order's status.
      *
-     * <p>Validates that the status transition is allowed before updating.</p>
+     * <p>Validates that the status transition is allowed before updating.
+     * Completing an order deducts its reserved stock; expiring it returns the
+     * reservation. The order row is locked first, so a manual transition and
+     * the order processor never both act on the same status.</p>
      *
      * @param id      the order ID
      * @param request the update request with new status
@@ -167,10 +216,22 @@ public class OrderService {
      */
     public Order update(Long id, UpdateOrderRequest request) {
         log.debug("Updating order status: id={}, newStatus={}", id, request.status());
+        // Locked so that the processor cannot complete or reject the order between the check and the update;
+        // the second read returns the same locked instance with its items and products fetched for the response
+        orderRepository.findByIdWithLock(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", id));
         Order order = findById(id);
         validateStatusTransition(order.getStatus(), request.status());
+        if (request.status() == OrderStatus.COMPLETED) {
+            inventoryService.confirm(id, order.quantitiesByProduct());
+        } else if (request.status() == OrderStatus.EXPIRED) {
+            inventoryService.release(id);
+        }
         order.setStatus(request.status());
         Order savedOrder = orderRepository.save(order);
+        if (request.status() == OrderStatus.PROCESSING) {
+            expiryScheduler.schedule(id);
+        }
         log.debug("Order status updated: id={}, status={}", id, request.status());
         return savedOrder;
     }
@@ -184,6 +245,7 @@ public class OrderService {
     public void delete(Long id) {
         log.debug("Deleting order with id: {}", id);
         Order order = findById(id);
+        inventoryService.release(id);
         orderRepository.delete(order);
         log.debug("Order deleted: id={}", id);
     }
@@ -0,0 +1,128 @@
+package com.gpustore.order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding order IDs until their deadline tick.
+ *
+ * <p>Four levels of 64 slots each cover 64<sup>4</sup> ticks. A timer is filed on
+ * the lowest level whose range reaches its deadline; whenever a level wraps, the
+ * next slot of the level above is cascaded down. Adding a timer and advancing
+ * one tick are O(1) amortized, independent of how many timers are pending.
+ * Deadlines beyond the last level are parked in its furthest slot and
+ * re-filed when it cascades.</p>
+ *
+ * <p>Not thread-safe; callers synchronize externally.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class TimingWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private record Timer(Long orderId, long deadlineTick) {
+    }
+
+    private final List<List<List<Timer>>> levels = new ArrayList<>(LEVELS);
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int level = 0; level < LEVELS; level++) {
+            List<List<Timer>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new ArrayList<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     * Files a timer.
+     *
+     * @param orderId      the order to expire
+     * @param deadlineTick the tick at which the order is due
+     * @return false if the deadline has already passed and the order is due now
+     */
+    boolean add(Long orderId, long deadlineTick) {
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        file(new Timer(orderId, deadlineTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to the given tick, collecting every order that became due.
+     *
+     * @param targetTick the tick to advance to
+     * @param due        receives the IDs of due orders
+     */
+    void advanceTo(long targetTick, List<Long> due) {
+        while (currentTick < targetTick) {
+            currentTick++;
+            int index = (int) (currentTick & MASK);
+            if (index == 0) {
+                cascade(1);
+            }
+            List<Timer> slot = levels.get(0).get(index);
+            for (Timer timer : slot) {
+                due.add(timer.orderId());
+            }
+            size -= slot.size();
+            slot.clear();
+        }
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int index = (int) ((currentTick >>> (BITS * level)) & MASK);
+        if (index == 0) {
+            cascade(level + 1);
+        }
+        List<Timer> slot = levels.get(level).get(index);
+        List<Timer> timers = new ArrayList<>(slot);
+        slot.clear();
+        for (Timer timer : timers) {
+            if (timer.deadlineTick() <= currentTick) {
+                // Only reachable for level 0 due now; keep it for this tick's slot
+                levels.get(0).get((int) (currentTick & MASK)).add(timer);
+            } else {
+                file(timer);
+            }
+        }
+    }
+
+    private void file(Timer timer) {
+        long delta = timer.deadlineTick() - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (BITS * (level + 1)))) {
+                int index = (int) ((timer.deadlineTick() >>> (BITS * level)) & MASK);
+                levels.get(level).get(index).add(timer);
+                return;
+            }
+        }
+        // Beyond the wheel's range: park in the furthest top-level slot and re-file on cascade
+        int top = LEVELS - 1;
+        int index = (int) (((currentTick >>> (BITS * top)) - 1) & MASK);
+        levels.get(top).get(index).add(timer);
+    }
+}
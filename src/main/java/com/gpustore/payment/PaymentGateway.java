@@ -0,0 +1,27 @@
+package com.gpustore.payment;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Abstraction over the external payment provider.
+ *
+ * <p>Charges are asynchronous: implementations must return immediately and
+ * complete the returned future once the provider has answered. Callers must
+ * not hold database connections or transactions while a charge is in flight.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface PaymentGateway {
+
+    /**
+     * Starts charging the given amount for an order.
+     *
+     * @param orderId the ID of the order being paid
+     * @param amount  the amount to charge
+     * @return a future completed with the provider's decision
+     */
+    CompletableFuture<PaymentResult> charge(Long orderId, BigDecimal amount);
+}
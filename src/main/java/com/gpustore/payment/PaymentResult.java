@@ -0,0 +1,15 @@
+package com.gpustore.payment;
+
+/**
+ * Outcome of a payment attempt reported by a {@link PaymentGateway}.
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public enum PaymentResult {
+    /** The charge was accepted by the provider. */
+    APPROVED,
+    /** The charge was rejected by the provider. */
+    DECLINED
+}
@@ -0,0 +1,66 @@
+package com.gpustore.payment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for a real payment provider.
+ *
+ * <p>Completes each charge from a scheduled callback after a configurable delay,
+ * approving it with a configurable probability. No thread is blocked while the
+ * simulated charge is pending.</p>
+ *
+ * <p>Configuration properties:</p>
+ * <ul>
+ *   <li>{@code payment.simulation.delay-ms} - Delay before the charge completes (default 5000)</li>
+ *   <li>{@code payment.simulation.success-rate} - Probability of approval, 0.0 to 1.0 (default 0.5)</li>
+ * </ul>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedPaymentGateway.class);
+
+    private final TaskScheduler taskScheduler;
+    private final long delayMs;
+    private final double successRate;
+
+    /**
+     * Constructs a new SimulatedPaymentGateway.
+     *
+     * @param taskScheduler the scheduler used to complete charges after the delay
+     * @param delayMs       the simulated provider latency in milliseconds
+     * @param successRate   the probability that a charge is approved
+     */
+    public SimulatedPaymentGateway(TaskScheduler taskScheduler,
+                                   @Value("${payment.simulation.delay-ms:5000}") long delayMs,
+                                   @Value("${payment.simulation.success-rate:0.5}") double successRate) {
+        this.taskScheduler = taskScheduler;
+        this.delayMs = delayMs;
+        this.successRate = successRate;
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> charge(Long orderId, BigDecimal amount) {
+        log.debug("Simulating payment for order {}: amount={}, delay={} ms", orderId, amount, delayMs);
+        CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+        taskScheduler.schedule(() -> result.complete(
+                ThreadLocalRandom.current().nextDouble() < successRate
+                        ? PaymentResult.APPROVED
+                        : PaymentResult.DECLINED
+        ), Instant.now().plusMillis(delayMs));
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package com.gpustore.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gpustore.product.dto.ProductResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, pre-encoded version of the product listing.
+ *
+ * <p>The JSON body and its gzip variant are encoded once when the catalog is
+ * loaded and then written to every response as-is. The ETag is derived from
+ * the JSON content, so every node serving the same catalog produces the same
+ * tag and clients can revalidate against any of them.</p>
+ *
+ * <p>The byte arrays are shared between requests and must not be modified.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class CatalogSnapshot {
+
+    private final List<ProductResponse> products;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+    private final String gzipEtag;
+
+    private CatalogSnapshot(List<ProductResponse> products, byte[] json, byte[] gzip, String version) {
+        this.products = products;
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = "\"" + version + "\"";
+        // Strong ETags must differ per content encoding
+        this.gzipEtag = "\"" + version + "-gzip\"";
+    }
+
+    /**
+     * Encodes a product listing.
+     *
+     * @param products     the products to include
+     * @param objectMapper the mapper used for the JSON encoding
+     * @return the encoded snapshot
+     */
+    public static CatalogSnapshot of(List<ProductResponse> products, ObjectMapper objectMapper) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(products);
+            return new CatalogSnapshot(List.copyOf(products), json, gzip(json), version(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Product catalog is not serializable", e);
+        }
+    }
+
+    /**
+     * Returns the products in this snapshot.
+     *
+     * @return an immutable list of products
+     */
+    public List<ProductResponse> getProducts() {
+        return products;
+    }
+
+    /**
+     * Returns the body for the requested encoding.
+     *
+     * @param gzipped whether the gzip variant is requested
+     * @return the shared, pre-encoded body
+     */
+    public byte[] getBody(boolean gzipped) {
+        return gzipped ? gzip : json;
+    }
+
+    /**
+     * Returns the strong ETag for the requested encoding.
+     *
+     * @param gzipped whether the gzip variant is requested
+     * @return the quoted ETag
+     */
+    public String getEtag(boolean gzipped) {
+        return gzipped ? gzipEtag : etag;
+    }
+
+    /**
+     * Checks whether an {@code If-None-Match} header matches this snapshot in any encoding.
+     *
+     * <p>Uses the weak comparison {@code If-None-Match} calls for, so a tag a
+     * proxy or client has marked {@code W/} still matches.</p>
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @return true if the client already holds this version
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String version(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
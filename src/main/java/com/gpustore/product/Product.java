@@ -16,7 +16,8 @@ import java.math.BigDecimal;
  * JPA entity representing a GPU product in the catalog.
  *
  * <p>Products have a name, optional description, price, and stock quantity.
- * Stock is tracked and updated when orders are placed.</p>
+ * Stock is tracked and updated when orders are placed. Part of the stock may be
+ * reserved for admitted orders that have not completed yet.</p>
  *
  * @author GPU Store Team
  * @version 1.0.0
@@ -44,6 +45,13 @@ public class Product extends BaseEntity {
     @Column(nullable = false)
     private Integer stock;
 
+    /**
+     * Quantity held by admitted orders that have not completed yet.
+     * Only ever changed by relative SQL updates, never written from the entity.
+     */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer reserved = 0;
+
     public Product() {
     }
 
@@ -85,4 +93,17 @@ public class Product extends BaseEntity {
     public void setStock(Integer stock) {
         this.stock = stock;
     }
+
+    public Integer getReserved() {
+        return reserved;
+    }
+
+    /**
+     * Returns the stock not held by any pending reservation.
+     *
+     * @return stock minus reserved quantity
+     */
+    public int getAvailableStock() {
+        return stock - reserved;
+    }
 }
@@ -0,0 +1,164 @@
+package com.gpustore.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.gpustore.config.RabbitMqConfig;
+import com.gpustore.product.dto.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Read-through cache of the product catalog.
+ *
+ * <p>Holds immutable {@link ProductResponse} views, never entities, in two Caffeine
+ * caches: one per product and one for the full listing, which is kept as a
+ * pre-encoded {@link CatalogSnapshot}. The first read of an entry older than
+ * {@code product.cache.refresh-seconds} reloads it in the background, so readers
+ * are served from memory while stock figures catch up with orders. An entry is
+ * evicted {@code product.cache.ttl-seconds} after it was last loaded, so entries
+ * that are still read keep being refreshed and the others drop out.</p>
+ *
+ * <p>Catalog changes evict the affected entries once their transaction commits and
+ * broadcast the eviction over the {@value RabbitMqConfig#PRODUCT_CACHE_EXCHANGE}
+ * fanout exchange, which every node consumes through its own anonymous queue. A
+ * lost broadcast is bounded by the refresh interval. Hit and miss counts are
+ * exported as {@code cache.*} metrics.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class ProductCatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalogCache.class);
+    private static final String ALL = "all";
+    // Same order as the keyset-paginated listing
+    private static final Sort LISTING_ORDER = Sort.by("createdAt", "id");
+
+    private final RabbitTemplate rabbitTemplate;
+    private final LoadingCache<Long, ProductResponse> products;
+    private final LoadingCache<String, CatalogSnapshot> listing;
+
+    /**
+     * Constructs a new ProductCatalogCache.
+     *
+     * @param productRepository the repository loading products on a miss
+     * @param rabbitTemplate    the template used to broadcast evictions
+     * @param objectMapper      the mapper used to pre-encode the listing
+     * @param meterRegistry     the registry the cache statistics are bound to
+     * @param maximumSize       the maximum number of cached products
+     * @param ttlSeconds        how long an entry is kept after it was last written
+     * @param refreshSeconds    how long an entry is served before it is reloaded in the background
+     */
+    public ProductCatalogCache(ProductRepository productRepository,
+                               RabbitTemplate rabbitTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${product.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${product.cache.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${product.cache.refresh-seconds:30}") long refreshSeconds) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .recordStats()
+                .build(id -> productRepository.findById(id).map(ProductResponse::from).orElse(null));
+        this.listing = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .recordStats()
+                .build(key -> CatalogSnapshot.of(
+                        productRepository.findAll(LISTING_ORDER).stream().map(ProductResponse::from).toList(), objectMapper));
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "products");
+        CaffeineCacheMetrics.monitor(meterRegistry, listing, "products.listing");
+    }
+
+    /**
+     * Returns the pre-encoded product listing.
+     *
+     * <p>A new snapshot is only encoded when the listing is reloaded.</p>
+     *
+     * @return the current catalog snapshot
+     */
+    public CatalogSnapshot snapshot() {
+        return listing.get(ALL);
+    }
+
+    /**
+     * Returns the pre-encoded product listing if it is already loaded.
+     *
+     * @return the current catalog snapshot, or null if none is cached
+     */
+    public CatalogSnapshot cachedSnapshot() {
+        return listing.getIfPresent(ALL);
+    }
+
+    /**
+     * Returns a product by ID.
+     *
+     * @param id the product ID
+     * @return the product, or null if it does not exist
+     */
+    public ProductResponse findById(Long id) {
+        return products.get(id);
+    }
+
+    /**
+     * Evicts a changed product on this and every other node once the current transaction commits.
+     *
+     * @param id the ID of the created, updated or deleted product
+     */
+    public void evict(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAndBroadcast(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictAndBroadcast(id);
+            }
+        });
+    }
+
+    /**
+     * Applies an eviction broadcast by any node, including this one.
+     *
+     * @param id the ID of the changed product
+     */
+    @RabbitListener(queues = "#{productCacheQueue.name}")
+    public void onEviction(Long id) {
+        evictLocally(id);
+        log.debug("Product {} evicted from cache by broadcast", id);
+    }
+
+    private void evictAndBroadcast(Long id) {
+        evictLocally(id);
+        try {
+            rabbitTemplate.convertAndSend(RabbitMqConfig.PRODUCT_CACHE_EXCHANGE, "", id);
+        } catch (AmqpException e) {
+            log.warn("Failed to broadcast cache eviction for product {}, other nodes refresh on schedule", id, e);
+        }
+    }
+
+    private void evictLocally(Long id) {
+        products.invalidate(id);
+        listing.invalidateAll();
+    }
+}
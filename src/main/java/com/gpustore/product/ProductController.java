@@ -1,12 +1,16 @@
 package com.gpustore.product;
 
+import com.gpustore.common.pagination.CursorPage;
 import com.gpustore.product.dto.CreateProductRequest;
+import com.gpustore.product.dto.ProductFilter;
 import com.gpustore.product.dto.ProductResponse;
 import com.gpustore.product.dto.UpdateProductRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,10 +18,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.math.BigDecimal;
 
 /**
  * REST controller for product management operations.
@@ -25,7 +31,7 @@ import java.util.List;
  * <p>Provides endpoints for CRUD operations on products:</p>
  * <ul>
  *   <li>{@code POST /api/products} - Create a new product</li>
- *   <li>{@code GET /api/products} - List all products</li>
+ *   <li>{@code GET /api/products} - List products, one keyset page at a time</li>
  *   <li>{@code GET /api/products/{id}} - Get product by ID</li>
  *   <li>{@code PUT /api/products/{id}} - Update product</li>
  *   <li>{@code DELETE /api/products/{id}} - Delete product</li>
@@ -67,18 +73,79 @@ public class ProductController {
     }
 
     /**
-     * Retrieves all products.
+     * Retrieves one page of products, oldest first, optionally filtered by price and stock.
      *
-     * @return 200 OK with a list of all products
+     * <p>An unfiltered first page that covers the whole catalog is served from the
+     * pre-encoded catalog snapshot, gzip-compressed when the client accepts it,
+     * with a strong ETag for conditional requests. Weak validators the client
+     * sends back are accepted as well.</p>
+     *
+     * @param cursor         the {@value CursorPage#NEXT_CURSOR_HEADER} value of the previous page
+     * @param limit          the maximum number of products, capped at {@value CursorPage#MAX_LIMIT}
+     * @param minPrice       the lowest price to include
+     * @param maxPrice       the highest price to include
+     * @param inStock        whether to include only products with available stock
+     * @param ifNoneMatch    the ETags the client already holds
+     * @param acceptEncoding the encodings the client accepts
+     * @return 200 OK with a JSON list of products and the next page's cursor in a header,
+     *         or 304 if the client's copy of the catalog is current
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> findAll() {
-        log.debug("Fetching all products");
-        List<ProductResponse> products = productService.findAll().stream()
-                .map(ProductResponse::from)
-                .toList();
-        log.debug("Found {} products", products.size());
-        return ResponseEntity.ok(products);
+    public ResponseEntity<?> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ProductFilter filter = new ProductFilter(minPrice, maxPrice, inStock);
+        if (cursor == null && filter.isEmpty()) {
+            CatalogSnapshot snapshot = productService.findCatalogSnapshot(limit);
+            if (snapshot != null) {
+                return snapshotResponse(snapshot, ifNoneMatch, acceptEncoding);
+            }
+        }
+        log.debug("Fetching products page");
+        CursorPage<ProductResponse> page = productService.findPage(filter, cursor, limit);
+        log.debug("Found {} products", page.items().size());
+        return page.toResponseEntity();
+    }
+
+    private ResponseEntity<byte[]> snapshotResponse(CatalogSnapshot snapshot,
+                                                    String ifNoneMatch, String acceptEncoding) {
+        log.debug("Serving catalog snapshot");
+        boolean gzipped = acceptsGzip(acceptEncoding);
+
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag(gzipped))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.getEtag(gzipped))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        log.debug("Found {} products", snapshot.getProducts().size());
+        return response.body(snapshot.getBody(gzipped));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
     /**
@@ -90,8 +157,7 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> findById(@PathVariable Long id) {
         log.debug("Fetching product with id: {}", id);
-        Product product = productService.findById(id);
-        return ResponseEntity.ok(ProductResponse.from(product));
+        return ResponseEntity.ok(productService.findById(id));
     }
 
     /**
@@ -2,23 +2,28 @@ package com.gpustore.product;
 
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Spring Data JPA repository for {@link Product} entities.
  *
  * <p>Provides CRUD operations and custom query methods for product management,
- * including pessimistic locking for concurrent stock updates.</p>
+ * including pessimistic locking for concurrent stock updates. Listing pages
+ * are queried through {@link ProductSpecifications}.</p>
  *
  * @author GPU Store Team
  * @version 1.0.0
  * @since 1.0.0
  */
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     /**
      * Finds a product by ID with pessimistic write lock.
@@ -31,4 +36,40 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * Finds several products with pessimistic write locks, ordered by ID.
+     *
+     * <p>Locks are acquired in ascending ID order so that concurrent callers
+     * locking overlapping product sets cannot deadlock.</p>
+     *
+     * @param ids the product IDs
+     * @return the locked products that exist, sorted by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdInWithLock(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Converts a reservation into a sale by decrementing both stock and reserved quantity.
+     *
+     * @param id       the product ID
+     * @param quantity the reserved quantity being consumed
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET stock = stock - :quantity, reserved = reserved - :quantity WHERE id = :id",
+            nativeQuery = true)
+    int consumeReservation(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Returns a reserved quantity to available stock.
+     *
+     * @param id       the product ID
+     * @param quantity the reserved quantity being released
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET reserved = reserved - :quantity WHERE id = :id", nativeQuery = true)
+    int releaseReservation(@Param("id") Long id, @Param("quantity") int quantity);
 }
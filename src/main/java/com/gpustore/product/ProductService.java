@@ -2,11 +2,17 @@ package com.gpustore.product;
 
 import com.gpustore.common.exception.ResourceNotFoundException;
 import com.gpustore.common.exception.ValidationException;
+import com.gpustore.common.pagination.CursorPage;
+import com.gpustore.common.pagination.KeysetCursor;
 import com.gpustore.product.dto.CreateProductRequest;
+import com.gpustore.product.dto.ProductFilter;
+import com.gpustore.product.dto.ProductResponse;
 import com.gpustore.product.dto.UpdateProductRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -15,7 +21,8 @@ import java.util.List;
  * Service class for product management operations.
  *
  * <p>Handles business logic for product CRUD operations including
- * validation of prices and stock quantities.</p>
+ * validation of prices and stock quantities. Reads are served from the
+ * {@link ProductCatalogCache}; every change evicts the affected entries.</p>
  *
  * @author GPU Store Team
  * @version 1.0.0
@@ -27,15 +34,20 @@ public class ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductService.class);
 
+    private static final Sort KEYSET_ORDER = Sort.by("createdAt", "id");
+
     private final ProductRepository productRepository;
+    private final ProductCatalogCache catalogCache;
 
     /**
      * Constructs a new ProductService with required dependencies.
      *
      * @param productRepository the repository for product persistence
+     * @param catalogCache      the read-through cache of the catalog
      */
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductCatalogCache catalogCache) {
         this.productRepository = productRepository;
+        this.catalogCache = catalogCache;
     }
 
     /**
@@ -54,33 +66,71 @@ public class ProductService {
         );
 
         Product savedProduct = productRepository.save(product);
+        catalogCache.evict(savedProduct.getId());
         log.debug("Product created with id: {}", savedProduct.getId());
         return savedProduct;
     }
 
     /**
-     * Retrieves all products.
+     * Retrieves one page of products matching the filters, in creation order.
      *
-     * @return a list of all products
+     * @param filter the price and stock filters
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @return the products and the cursor of the next page
+     * @throws ValidationException if the price range is inverted
      */
     @Transactional(readOnly = true)
-    public List<Product> findAll() {
-        log.debug("Finding all products");
-        return productRepository.findAll();
+    public CursorPage<ProductResponse> findPage(ProductFilter filter, String cursor, int limit) {
+        log.debug("Finding products matching {} after cursor: {}", filter, cursor);
+        if (filter.minPrice() != null && filter.maxPrice() != null
+                && filter.minPrice().compareTo(filter.maxPrice()) > 0) {
+            throw new ValidationException("minPrice must not exceed maxPrice");
+        }
+        int size = CursorPage.clamp(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Product> products = productRepository.findBy(ProductSpecifications.page(filter, after),
+                query -> query.sortBy(KEYSET_ORDER).limit(size + 1).all());
+        return CursorPage.of(products, size, Product::getCreatedAt, Product::getId).map(ProductResponse::from);
+    }
+
+    /**
+     * Retrieves the pre-encoded product listing from the catalog cache if it fits in one page.
+     *
+     * <p>Without a cached snapshot the products are counted first, so a catalog
+     * larger than the page is not loaded and encoded only to be turned down.</p>
+     *
+     * @param limit the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @return the current catalog snapshot, or null if the catalog has more products than the page
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CatalogSnapshot findCatalogSnapshot(int limit) {
+        int size = CursorPage.clamp(limit);
+        CatalogSnapshot snapshot = catalogCache.cachedSnapshot();
+        if (snapshot == null) {
+            if (productRepository.count() > size) {
+                return null;
+            }
+            snapshot = catalogCache.snapshot();
+        }
+        return snapshot.getProducts().size() <= size ? snapshot : null;
     }
 
     /**
-     * Retrieves a product by its ID.
+     * Retrieves a product by its ID from the catalog cache.
      *
      * @param id the product ID
-     * @return the product entity
+     * @return the product
      * @throws ResourceNotFoundException if no product is found with the given ID
      */
-    @Transactional(readOnly = true)
-    public Product findById(Long id) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductResponse findById(Long id) {
         log.debug("Finding product by id: {}", id);
-        return productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        ProductResponse product = catalogCache.findById(id);
+        if (product == null) {
+            throw new ResourceNotFoundException("Product", id);
+        }
+        return product;
     }
 
     /**
@@ -96,7 +146,7 @@ public class ProductService {
      */
     public Product update(Long id, UpdateProductRequest request) {
         log.debug("Updating product with id: {}", id);
-        Product product = findById(id);
+        Product product = getProduct(id);
 
         if (request.name() != null) {
             product.setName(request.name());
@@ -123,6 +173,7 @@ public class ProductService {
         }
 
         Product savedProduct = productRepository.save(product);
+        catalogCache.evict(id);
         log.debug("Product updated: id={}", id);
         return savedProduct;
     }
@@ -135,8 +186,14 @@ public class ProductService {
      */
     public void delete(Long id) {
         log.debug("Deleting product with id: {}", id);
-        Product product = findById(id);
+        Product product = getProduct(id);
         productRepository.delete(product);
+        catalogCache.evict(id);
         log.debug("Product deleted: id={}", id);
     }
+
+    private Product getProduct(Long id) {
+        return productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+    }
 }
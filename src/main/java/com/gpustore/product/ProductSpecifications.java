@@ -0,0 +1,66 @@
+package com.gpustore.product;
+
+import com.gpustore.common.pagination.KeysetCursor;
+import com.gpustore.product.dto.ProductFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds the query criteria of a product listing page.
+ *
+ * <p>Only the filters that are set become predicates, so every combination is
+ * planned against the index that serves it instead of one catch-all query
+ * with {@code :param IS NULL OR ...} branches. Available stock is served by
+ * the partial {@code (created_at, id)} index on products with
+ * {@code stock > reserved}; the price bounds by the price index.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Builds the criteria for the page of products matching a filter after a keyset position.
+     *
+     * @param filter the listing filters
+     * @param after  the position of the last product of the previous page, or null for the first page
+     * @return the combined criteria
+     */
+    static Specification<Product> page(ProductFilter filter, KeysetCursor after) {
+        Specification<Product> spec = Specification.where(null);
+        if (after != null) {
+            spec = spec.and(after(after));
+        }
+        if (filter.minPrice() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+        }
+        if (filter.inStock()) {
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("stock"), root.<Integer>get("reserved")));
+        }
+        return spec;
+    }
+
+    /**
+     * Matches the products after a keyset position in {@code (created_at, id)} order.
+     *
+     * <p>The leading {@code created_at >=} bound lets the scan start at the
+     * cursor in the {@code (created_at, id)} index; the rest excludes the rows
+     * up to and including the cursor's own.</p>
+     *
+     * @param after the position of the last product of the previous page
+     * @return the criteria
+     */
+    private static Specification<Product> after(KeysetCursor after) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("createdAt"), after.createdAt()),
+                cb.or(
+                        cb.greaterThan(root.get("createdAt"), after.createdAt()),
+                        cb.greaterThan(root.get("id"), after.id())));
+    }
+}
@@ -0,0 +1,28 @@
+package com.gpustore.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Server-side filters for the product listing.
+ *
+ * @param minPrice the lowest price to include, or null for no lower bound
+ * @param maxPrice the highest price to include, or null for no upper bound
+ * @param inStock  whether to include only products with available stock
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record ProductFilter(
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        boolean inStock
+) {
+    /**
+     * Checks whether this filter matches every product.
+     *
+     * @return true if no filter is set
+     */
+    public boolean isEmpty() {
+        return minPrice == null && maxPrice == null && !inStock;
+    }
+}
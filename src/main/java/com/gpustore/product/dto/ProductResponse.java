@@ -8,13 +8,14 @@ import java.time.LocalDateTime;
 /**
  * Response DTO representing product data returned by the API.
  *
- * @param id          the product's unique identifier
- * @param name        the product name
- * @param description the product description
- * @param price       the product price
- * @param stock       the current stock quantity
- * @param createdAt   when the product was created
- * @param updatedAt   when the product was last updated
+ * @param id             the product's unique identifier
+ * @param name           the product name
+ * @param description    the product description
+ * @param price          the product price
+ * @param stock          the current stock quantity
+ * @param availableStock the stock not reserved by pending orders
+ * @param createdAt      when the product was created
+ * @param updatedAt      when the product was last updated
  * @author GPU Store Team
  * @version 1.0.0
  * @since 1.0.0
@@ -25,6 +26,7 @@ public record ProductResponse(
         String description,
         BigDecimal price,
         Integer stock,
+        Integer availableStock,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {
@@ -41,6 +43,7 @@ public record ProductResponse(
                 product.getDescription(),
                 product.getPrice(),
                 product.getStock(),
+                product.getAvailableStock(),
                 product.getCreatedAt(),
                 product.getUpdatedAt()
         );
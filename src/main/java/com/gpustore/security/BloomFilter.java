@@ -0,0 +1,110 @@
+package com.gpustore.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings.
+ *
+ * <p>Answers "definitely absent" or "possibly present" with a handful of hash
+ * computations and word reads, and never allocates. The {@code k} bit positions
+ * are derived from one 64-bit hash by double hashing. Lookups are lock-free and
+ * may run concurrently with insertions. Entries cannot be removed; the owner
+ * rebuilds the filter instead.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+    private final int capacity;
+
+    /**
+     * Creates a filter sized for the given number of entries and false-positive rate.
+     *
+     * @param expectedInsertions the number of entries the filter is sized for
+     * @param falsePositiveRate  the false-positive rate at that number of entries
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int numWords = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(numWords);
+        this.numBits = numWords * 64L;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        this.capacity = n;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value to add
+     */
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Checks whether a value may have been added.
+     *
+     * @param value the value to check
+     * @return false if the value was definitely never added
+     */
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of entries the filter was sized for.
+     *
+     * @return the expected number of insertions
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    private long index(int combinedHash) {
+        // Flip negative hashes instead of taking abs(), which fails for MIN_VALUE
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % numBits;
+    }
+
+    /**
+     * FNV-1a over the characters, finished with the MurmurHash3 mixer so both halves are usable.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,134 @@
+package com.gpustore.security;
+
+import com.gpustore.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Password encoder that runs hashing and verification on a small, bounded pool.
+ *
+ * <p>BCrypt is deliberately CPU-heavy. Run inline on request threads, a burst of
+ * logins or registrations would occupy every core and stall unrelated traffic.
+ * This encoder confines the work to {@code threads} platform threads with a
+ * queue of {@code queueCapacity} pending operations. Callers that find the
+ * queue full, or that wait longer than {@code maxWaitMs} for their result, get
+ * a {@link TooManyRequestsException} (429) instead.</p>
+ *
+ * <p>Exposes the pool as {@code executor.*} metrics tagged
+ * {@code name=password.hashing}, plus {@code password.hashing.wait} (time
+ * queued), {@code password.hashing} (time hashing) and
+ * {@code password.hashing.rejected}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    /**
+     * Constructs a new BoundedPasswordEncoder.
+     *
+     * @param delegate      the encoder doing the actual hashing
+     * @param threads       the number of hashing threads
+     * @param queueCapacity the maximum number of operations waiting for a thread
+     * @param maxWaitMs     how long a caller waits for its result before giving up
+     * @param meterRegistry the registry for pool metrics
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMs = maxWaitMs;
+        this.waitTimer = meterRegistry.timer("password.hashing.wait");
+        this.hashTimer = meterRegistry.timer("password.hashing");
+        this.rejected = meterRegistry.counter("password.hashing.rejected");
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+        log.info("Password hashing limited to {} threads with {} queued operations", threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> operation) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(operation);
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject("queue full");
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops the operation if it has not started yet
+            future.cancel(false);
+            throw reject("waited " + maxWaitMs + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private TooManyRequestsException reject(String reason) {
+        rejected.increment();
+        log.warn("Password hashing rejected: {}", reason);
+        return new TooManyRequestsException("Too many concurrent sign-ins, please retry shortly", RETRY_AFTER_SECONDS);
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -26,6 +27,13 @@ import java.io.IOException;
  * <p>This filter runs once per request and processes tokens in the format:
  * {@code Authorization: Bearer <token>}</p>
  *
+ * <p>By default the user is loaded from the database on every request. With
+ * {@code jwt.stateless.enabled} the principal is built from the token claims
+ * instead, and freshness is checked against the {@link TokenVersionRegistry},
+ * so authentication costs no database round trip. In both modes tokens issued
+ * before the user's last credential change, and tokens revoked through the
+ * {@link TokenRevocationRegistry}, are rejected.</p>
+ *
  * @author GPU Store Team
  * @version 1.0.0
  * @since 1.0.0
@@ -37,16 +45,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
+    private final TokenVersionRegistry tokenVersions;
+    private final TokenRevocationRegistry revocations;
+    private final boolean stateless;
 
     /**
      * Constructs a new JwtAuthenticationFilter with required dependencies.
      *
      * @param tokenProvider  the provider for JWT token operations
      * @param userRepository the repository for user lookups
+     * @param tokenVersions  the in-memory token versions used in stateless mode
+     * @param revocations    the registry of revoked tokens
+     * @param stateless      whether to authenticate from token claims without a user lookup
      */
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
+                                   UserRepository userRepository,
+                                   TokenVersionRegistry tokenVersions,
+                                   TokenRevocationRegistry revocations,
+                                   @Value("${jwt.stateless.enabled:false}") boolean stateless) {
         this.tokenProvider = tokenProvider;
         this.userRepository = userRepository;
+        this.tokenVersions = tokenVersions;
+        this.revocations = revocations;
+        this.stateless = stateless;
     }
 
     /**
@@ -67,26 +88,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = getTokenFromRequest(request);
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            Long userId = tokenProvider.getUserIdFromToken(token);
-            User user = userRepository.findById(userId).orElse(null);
-
-            if (user != null) {
-                UserPrincipal userPrincipal = UserPrincipal.create(user);
+        VerifiedToken verified = StringUtils.hasText(token) ? tokenProvider.verify(token) : null;
+        if (verified != null && revocations.isRevoked(verified)) {
+            log.debug("Rejected revoked token for user: id={}", verified.userId());
+            verified = null;
+        }
+        if (verified != null) {
+            UserPrincipal userPrincipal = stateless ? fromClaims(verified) : fromDatabase(verified);
+            if (userPrincipal != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                userPrincipal, null, userPrincipal.getAuthorities());
+                                userPrincipal, verified, userPrincipal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Authenticated user: id={}, email={}", userId, user.getEmail());
-            } else {
-                log.warn("User not found for token with userId: {}", userId);
+                log.debug("Authenticated user: id={}, email={}", userPrincipal.getId(), userPrincipal.getEmail());
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal from the token claims alone, rejecting tokens superseded by a credential change.
+     */
+    private UserPrincipal fromClaims(VerifiedToken verified) {
+        if (!tokenVersions.isCurrent(verified.userId(), verified.version())) {
+            log.debug("Rejected superseded token for user: id={}", verified.userId());
+            return null;
+        }
+        return UserPrincipal.fromToken(verified);
+    }
+
+    /**
+     * Builds the principal from the current user row.
+     */
+    private UserPrincipal fromDatabase(VerifiedToken verified) {
+        User user = userRepository.findById(verified.userId()).orElse(null);
+        if (user == null) {
+            log.warn("User not found for token with userId: {}", verified.userId());
+            return null;
+        }
+        if (user.getTokenVersion() > verified.version()) {
+            log.debug("Rejected superseded token for user: id={}", verified.userId());
+            return null;
+        }
+        return UserPrincipal.create(user);
+    }
+
     /**
      * Extracts the JWT token from the Authorization header.
      *
@@ -1,28 +1,48 @@
 package com.gpustore.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Provider for JWT token operations including generation, validation, and parsing.
  *
- * <p>Uses HMAC-SHA signing algorithm with a configurable secret key and expiration time.
- * Tokens contain the user ID as subject and email as a custom claim.</p>
+ * <p>Uses HMAC-SHA signing with keys from the {@link SigningKeyRing} and a configurable
+ * expiration time. Every token names its signing key in the {@code kid} header.
+ * Tokens contain a random ID ({@code jti}), the user ID as subject and the email,
+ * roles and token version as custom claims.</p>
+ *
+ * <p>Tokens are verified by a single, reused parser that looks the key up by
+ * {@code kid}, so keys can be rotated without a restart. Verified tokens are kept in
+ * a bounded cache keyed by their digest and evicted when they expire, so a
+ * client's repeated requests are authenticated without re-checking the signature.</p>
  *
  * <p>Configuration properties:</p>
  * <ul>
- *   <li>{@code jwt.secret} - The secret key for signing tokens (min 256 bits)</li>
+ *   <li>{@code jwt.secret} - The secret key for tokens without a {@code kid} (min 256 bits)</li>
  *   <li>{@code jwt.expiration} - Token validity duration in milliseconds</li>
+ *   <li>{@code jwt.cache.maximum-size} - Maximum number of verified tokens cached</li>
  * </ul>
  *
  * @author GPU Store Team
@@ -34,90 +54,130 @@ public class JwtTokenProvider {
 
     private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    private final SecretKey key;
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String VERSION_CLAIM = "ver";
+    // Tokens issued before roles were embedded
+    private static final List<String> DEFAULT_ROLES = List.of("ROLE_USER");
+
+    private final SigningKeyRing keyRing;
+    private final JwtParser parser;
     private final long expirationMs;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     /**
-     * Constructs a new JwtTokenProvider with the specified secret and expiration.
+     * Constructs a new JwtTokenProvider with the specified key ring and expiration.
      *
-     * @param secret       the secret key for signing tokens
-     * @param expirationMs the token validity duration in milliseconds
+     * @param keyRing        the keys tokens are signed and verified with
+     * @param expirationMs   the token validity duration in milliseconds
+     * @param cacheSize      the maximum number of verified tokens kept in memory
+     * @param meterRegistry  the registry the cache statistics are bound to
      */
     public JwtTokenProvider(
-            @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long expirationMs) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            SigningKeyRing keyRing,
+            @Value("${jwt.expiration}") long expirationMs,
+            @Value("${jwt.cache.maximum-size:10000}") long cacheSize,
+            MeterRegistry meterRegistry) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser().keyLocator(keyRing).build();
         this.expirationMs = expirationMs;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                        // Never serve a token from the cache past its own expiry
+                        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken token,
+                                                  long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken token,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
     }
 
     /**
      * Generates a new JWT token for the specified user.
      *
-     * @param userId the user's unique identifier
-     * @param email  the user's email address
+     * <p>Besides the user ID and email, the token carries the user's roles and
+     * token version, so that it can be authenticated from its claims alone.</p>
+     *
+     * @param principal the authenticated user
      * @return the generated JWT token string
      */
-    public String generateToken(Long userId, String email) {
+    public String generateToken(UserPrincipal principal) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
-        log.debug("Generating token for user: id={}, email={}", userId, email);
+        SigningKeyRing.SigningKey signingKey = keyRing.signingKey();
+        log.debug("Generating token for user: id={}, email={}", principal.getId(), principal.getEmail());
         return Jwts.builder()
-                .subject(userId.toString())
-                .claim("email", email)
+                .header().keyId(signingKey.id()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(principal.getId().toString())
+                .claim(EMAIL_CLAIM, principal.getEmail())
+                .claim(ROLES_CLAIM, principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(VERSION_CLAIM, principal.getTokenVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(key)
+                .signWith(signingKey.key())
                 .compact();
     }
 
     /**
-     * Validates a JWT token.
+     * Verifies a JWT token and returns its claims.
      *
-     * @param token the JWT token to validate
-     * @return true if the token is valid and not expired, false otherwise
+     * <p>The token's signature and expiry are checked once; the result is cached
+     * under the token's SHA-256 digest until the token expires, so repeated
+     * requests with the same token skip parsing and the signature check.</p>
+     *
+     * @param token the JWT token to verify
+     * @return the verified claims, or null if the token is invalid or expired
      */
-    public boolean validateToken(String token) {
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            List<?> roles = claims.get(ROLES_CLAIM, List.class);
+            Integer version = claims.get(VERSION_CLAIM, Integer.class);
+            VerifiedToken verified = new VerifiedToken(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get(EMAIL_CLAIM, String.class),
+                    roles == null ? DEFAULT_ROLES : roles.stream().map(String::valueOf).toList(),
+                    version == null ? 0 : version,
+                    claims.getExpiration().toInstant(),
+                    claims.getId());
+            verifiedTokens.put(digest, verified);
+            return verified;
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Token validation failed: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
-    /**
-     * Extracts the user ID from a JWT token.
-     *
-     * @param token the JWT token to parse
-     * @return the user ID stored in the token subject
-     */
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return Long.parseLong(claims.getSubject());
-    }
-
-    /**
-     * Extracts the email address from a JWT token.
-     *
-     * @param token the JWT token to parse
-     * @return the email address stored in the token claims
-     */
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("email", String.class);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     /**
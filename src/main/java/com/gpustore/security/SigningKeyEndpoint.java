@@ -0,0 +1,59 @@
+package com.gpustore.security;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for rotating the JWT signing key without a restart.
+ *
+ * <p>{@code GET /actuator/jwtkeys} returns the current signing key ID and
+ * {@code POST /actuator/jwtkeys} rotates it. The endpoint is not exposed by
+ * default. To enable it, add {@code jwtkeys} to
+ * {@code management.endpoints.web.exposure.include} and set
+ * {@code management.server.port} to a port reachable only by operators.
+ * {@link com.gpustore.config.SecurityConfig} denies the endpoint on any other
+ * port, since any authenticated user could otherwise rotate the key.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "jwtkeys")
+public class SigningKeyEndpoint {
+
+    private final SigningKeyRing keyRing;
+
+    /**
+     * Constructs a new SigningKeyEndpoint.
+     *
+     * @param keyRing the key ring to rotate
+     */
+    public SigningKeyEndpoint(SigningKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * Returns the ID of the current signing key.
+     *
+     * @return the signing key ID
+     */
+    @ReadOperation
+    public Map<String, String> signingKey() {
+        return Map.of("kid", keyRing.signingKey().id());
+    }
+
+    /**
+     * Rotates the signing key.
+     *
+     * @return the ID of the new signing key
+     */
+    @WriteOperation
+    public Map<String, String> rotate() {
+        return Map.of("kid", keyRing.rotate());
+    }
+}
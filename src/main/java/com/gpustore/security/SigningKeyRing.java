@@ -0,0 +1,334 @@
+package com.gpustore.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ring of HMAC keys used to sign and verify JWT tokens, selected by the {@code kid} header.
+ *
+ * <p>The key derived from {@code jwt.secret} has the ID {@value #CONFIG_KEY_ID}. It
+ * verifies tokens without a {@code kid} and signs until the first rotation.
+ * Rotated keys are stored in {@code jwt_signing_keys}. The newest unretired key
+ * signs. A rotation retires the previous keys one token lifetime into the
+ * future, so every token they signed stays valid until it expires and nobody
+ * is logged out. The config key is retired the same way, one token lifetime
+ * after the oldest stored key was created, so once a key has been rotated a
+ * leaked {@code jwt.secret} can no longer mint accepted tokens.</p>
+ *
+ * <p>Stored secrets are encrypted with AES-GCM under a key derived from
+ * {@code jwt.secret}, so reading the table alone does not allow forging tokens.
+ * Changing {@code jwt.secret} therefore also invalidates the stored keys. Rows
+ * written in plain text before encryption was introduced are encrypted in
+ * place by the next scheduled refresh.</p>
+ *
+ * <p>Every {@link SecretKey} is built once when the ring is loaded. The ring is
+ * held in an immutable map that is swapped as a whole, so a verification costs
+ * one map lookup however many keys are live. The ring is refreshed every
+ * {@code jwt.keys.refresh-interval-ms}; only that scheduled refresh writes,
+ * deleting retired keys and encrypting plain-text rows. When a token names an
+ * unknown key, which happens right after another node rotates, the ring is
+ * reloaded at once with a single read-only query on the request thread. With
+ * {@code jwt.keys.rotation-interval-hours} set, the ring also rotates on its
+ * own.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class SigningKeyRing extends LocatorAdapter<Key> {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRing.class);
+
+    /** ID of the key derived from {@code jwt.secret}. */
+    public static final String CONFIG_KEY_ID = "config";
+
+    private static final int SECRET_BYTES = 32;
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    // Bounds the reloads triggered by tokens with an unknown or forged kid
+    private static final long MIN_RELOAD_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+    // Serializes automatic rotations between nodes
+    private static final long ROTATION_LOCK_ID = 0x6a77746b657973L;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * A key with its ID.
+     *
+     * @param id  the key ID written to the {@code kid} header
+     * @param key the HMAC key
+     */
+    public record SigningKey(String id, SecretKey key) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SigningKey configKey;
+    private final SecretKey encryptionKey;
+    private final Duration tokenLifetime;
+    private final Duration rotationInterval;
+
+    private volatile Map<String, SecretKey> keys;
+    private volatile SigningKey signingKey;
+    private volatile Instant signingKeyCreatedAt = Instant.EPOCH;
+    private volatile Instant configKeyRetiredAt = Instant.MAX;
+    private volatile long lastReload;
+
+    /**
+     * Constructs a new SigningKeyRing and loads the stored keys, without writing to the table.
+     *
+     * @param jdbcTemplate          the template used to load and store keys
+     * @param transactionTemplate   the template used to run a rotation in one transaction
+     * @param secret                the configured secret, from which the config and encryption keys are derived
+     * @param expirationMs          the token validity duration in milliseconds
+     * @param rotationIntervalHours the age after which the signing key is rotated, 0 to disable
+     */
+    public SigningKeyRing(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${jwt.secret}") String secret,
+                          @Value("${jwt.expiration}") long expirationMs,
+                          @Value("${jwt.keys.rotation-interval-hours:0}") long rotationIntervalHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.configKey = new SigningKey(CONFIG_KEY_ID, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+        this.encryptionKey = encryptionKey(secret);
+        this.tokenLifetime = Duration.ofMillis(expirationMs);
+        this.rotationInterval = Duration.ofHours(rotationIntervalHours);
+        this.keys = Map.of();
+        this.signingKey = configKey;
+        reload();
+    }
+
+    /**
+     * Returns the key new tokens are signed with.
+     *
+     * @return the current signing key
+     */
+    public SigningKey signingKey() {
+        return signingKey;
+    }
+
+    /**
+     * Finds the verification key named by a token's {@code kid} header.
+     *
+     * @param header the token header
+     * @return the key, or null if it is unknown or retired
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null || CONFIG_KEY_ID.equals(kid)) {
+            return Instant.now().isBefore(configKeyRetiredAt) ? configKey.key() : null;
+        }
+        SecretKey key = keys.get(kid);
+        return key != null ? key : reloadIfStale(kid);
+    }
+
+    /**
+     * Creates a new signing key and retires the previous ones once their tokens have expired.
+     *
+     * <p>Other nodes start signing with the new key within
+     * {@code jwt.keys.refresh-interval-ms} and accept it at once.</p>
+     *
+     * @return the ID of the new key
+     */
+    public String rotate() {
+        String kid = transactionTemplate.execute(status -> insertKey());
+        reload();
+        log.info("Rotated JWT signing key, new kid={}", kid);
+        return kid;
+    }
+
+    /**
+     * Reloads the live keys, rotating first if the signing key has outlived
+     * {@code jwt.keys.rotation-interval-hours}, and deletes retired keys and
+     * encrypts plain-text rows.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!rotationInterval.isZero() && signingKeyCreatedAt.plus(rotationInterval).isBefore(Instant.now())) {
+            String kid = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ROTATION_LOCK_ID);
+                // Another node may have rotated while this one waited for the lock
+                Timestamp newest = jdbcTemplate.queryForObject(
+                        "SELECT max(created_at) FROM jwt_signing_keys", Timestamp.class);
+                if (newest != null && newest.toInstant().plus(rotationInterval).isAfter(Instant.now())) {
+                    return null;
+                }
+                return insertKey();
+            });
+            if (kid != null) {
+                log.info("Rotated JWT signing key on schedule, new kid={}", kid);
+            }
+        }
+        purgeAndEncrypt();
+        reload();
+    }
+
+    /**
+     * Must run in a transaction, so that the retirement and the new key become visible together.
+     */
+    private String insertKey() {
+        Instant now = Instant.now();
+        String kid = UUID.randomUUID().toString();
+        byte[] secret = new byte[SECRET_BYTES];
+        RANDOM.nextBytes(secret);
+
+        jdbcTemplate.update("UPDATE jwt_signing_keys SET retired_at = ? WHERE retired_at IS NULL",
+                Timestamp.from(now.plus(tokenLifetime)));
+        jdbcTemplate.update("INSERT INTO jwt_signing_keys (kid, secret, created_at, encrypted) VALUES (?, ?, ?, TRUE)",
+                kid, encrypt(secret), Timestamp.from(now));
+        return kid;
+    }
+
+    /**
+     * Deletes retired keys and encrypts rows still stored in plain text. Only
+     * called from the scheduled refresh, never on a request thread.
+     */
+    private void purgeAndEncrypt() {
+        jdbcTemplate.update("DELETE FROM jwt_signing_keys WHERE retired_at <= ?", Timestamp.from(Instant.now()));
+
+        Map<String, byte[]> plainText = new HashMap<>();
+        jdbcTemplate.query("SELECT kid, secret FROM jwt_signing_keys WHERE NOT encrypted",
+                rs -> {
+                    plainText.put(rs.getString(1), rs.getBytes(2));
+                });
+        plainText.forEach((kid, secret) -> jdbcTemplate.update(
+                "UPDATE jwt_signing_keys SET secret = ?, encrypted = TRUE WHERE kid = ? AND NOT encrypted",
+                encrypt(secret), kid));
+    }
+
+    /**
+     * Reloads the ring for an unknown key unless it was reloaded within
+     * {@link #MIN_RELOAD_INTERVAL_NANOS}. Checked under the lock, so a burst of
+     * tokens with unknown or forged kids costs one query, not one per request.
+     *
+     * @return the key, or null if it is still unknown
+     */
+    private synchronized SecretKey reloadIfStale(String kid) {
+        // Another request may have reloaded while this one waited for the lock
+        SecretKey key = keys.get(kid);
+        if (key == null && System.nanoTime() - lastReload > MIN_RELOAD_INTERVAL_NANOS) {
+            reload();
+            key = keys.get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * Swaps in the live keys with one read-only query. Keys are rebuilt only
+     * when first seen, and keys that are retired or cannot be decrypted with
+     * the configured secret are skipped.
+     */
+    private synchronized void reload() {
+        lastReload = System.nanoTime();
+        Instant now = Instant.now();
+
+        Map<String, SecretKey> previous = keys;
+        Map<String, SecretKey> loaded = new HashMap<>();
+        SigningKey[] newest = {configKey};
+        Instant[] newestCreatedAt = {Instant.EPOCH};
+        Instant[] oldestCreatedAt = {null};
+        jdbcTemplate.query(
+                "SELECT kid, secret, created_at, retired_at, encrypted FROM jwt_signing_keys ORDER BY created_at",
+                rs -> {
+                    String kid = rs.getString(1);
+                    Instant createdAt = rs.getTimestamp(3).toInstant();
+                    Timestamp retiredAt = rs.getTimestamp(4);
+                    if (retiredAt != null && !retiredAt.toInstant().isAfter(now)) {
+                        return;
+                    }
+                    if (oldestCreatedAt[0] == null) {
+                        oldestCreatedAt[0] = createdAt;
+                    }
+                    SecretKey key = previous.get(kid);
+                    if (key == null && rs.getBoolean(5)) {
+                        key = decrypt(kid, rs.getBytes(2));
+                    } else if (key == null) {
+                        key = Keys.hmacShaKeyFor(rs.getBytes(2));
+                    }
+                    if (key == null) {
+                        return;
+                    }
+                    loaded.put(kid, key);
+                    if (retiredAt == null) {
+                        newest[0] = new SigningKey(kid, key);
+                        newestCreatedAt[0] = createdAt;
+                    }
+                });
+        if (!loaded.keySet().equals(previous.keySet())) {
+            log.info("JWT key ring loaded: {} keys, signing kid={}", loaded.size(), newest[0].id());
+        }
+        keys = Map.copyOf(loaded);
+        signingKey = newest[0];
+        signingKeyCreatedAt = newestCreatedAt[0];
+        // The config key stopped signing when the first stored key was created
+        configKeyRetiredAt = oldestCreatedAt[0] == null ? Instant.MAX : oldestCreatedAt[0].plus(tokenLifetime);
+    }
+
+    private byte[] encrypt(byte[] secret) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            RANDOM.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(secret);
+            return ByteBuffer.allocate(IV_BYTES + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt JWT signing key", e);
+        }
+    }
+
+    /**
+     * Decrypts a stored secret: a 12-byte IV followed by the ciphertext and its tag.
+     *
+     * @return the key, or null if it was encrypted under another {@code jwt.secret}
+     */
+    private SecretKey decrypt(String kid, byte[] stored) {
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, stored, 0, IV_BYTES));
+            return Keys.hmacShaKeyFor(cipher.doFinal(stored, IV_BYTES, stored.length - IV_BYTES));
+        } catch (GeneralSecurityException e) {
+            log.warn("Skipping JWT signing key {}: it cannot be decrypted with the configured secret", kid);
+            return null;
+        }
+    }
+
+    private static SecretKey encryptionKey(String secret) {
+        try {
+            // Separate from the config signing key, which uses the secret as is
+            byte[] key = MessageDigest.getInstance("SHA-256")
+                    .digest(("jwt_signing_keys:" + secret).getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(key, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
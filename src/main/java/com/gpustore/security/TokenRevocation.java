@@ -0,0 +1,18 @@
+package com.gpustore.security;
+
+import java.time.Instant;
+
+/**
+ * Broadcast announcing that an access token has been revoked.
+ *
+ * @param tokenId   the revoked token's {@code jti} claim
+ * @param expiresAt when the token would have expired
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record TokenRevocation(
+        String tokenId,
+        Instant expiresAt
+) {
+}
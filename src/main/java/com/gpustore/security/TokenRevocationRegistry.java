@@ -0,0 +1,206 @@
+package com.gpustore.security;
+
+import com.gpustore.config.RabbitMqConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of access tokens revoked before their expiry.
+ *
+ * <p>Revocations are stored in the {@code revoked_tokens} table and mirrored in
+ * memory on every node as an exact set of token IDs fronted by a
+ * {@link BloomFilter}. Nearly every request carries a token that was never
+ * revoked, and the filter rejects those with a few hash computations; only
+ * filter hits consult the exact set.</p>
+ *
+ * <p>A revocation is applied locally once it commits and broadcast over the
+ * {@value RabbitMqConfig#TOKEN_REVOCATION_EXCHANGE} fanout exchange. Every
+ * {@code jwt.revocation.sync-interval-ms} each node also reads the rows revoked
+ * since its previous sync, so a lost broadcast is bounded by that interval; the
+ * first sync loads every unexpired row. Expired entries are dropped from memory
+ * by rebuilding the filter, and from the table by {@link #purgeExpired()}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    // Re-reads rows committed late by transactions that started before the previous sync
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final double falsePositiveRate;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final Counter filterHits;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private Instant lastSync;
+
+    /**
+     * Constructs a new TokenRevocationRegistry.
+     *
+     * @param jdbcTemplate       the template used to store and reload revocations
+     * @param rabbitTemplate     the template used to broadcast revocations
+     * @param meterRegistry      the registry for revocation metrics
+     * @param expectedInsertions the number of live revocations the filter is sized for
+     * @param falsePositiveRate  the filter's false-positive rate at that size
+     */
+    public TokenRevocationRegistry(JdbcTemplate jdbcTemplate,
+                                   RabbitTemplate rabbitTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+                                   @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.filterHits = meterRegistry.counter("jwt.revocation.filter.hits");
+        this.falsePositives = meterRegistry.counter("jwt.revocation.filter.false-positives");
+        meterRegistry.gaugeMapSize("jwt.revoked", Tags.empty(), revoked);
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param token the verified token
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        String tokenId = token.tokenId();
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revokes a token on every node once the current transaction commits.
+     *
+     * @param token the verified token to revoke
+     */
+    public void revoke(VerifiedToken token) {
+        if (token.tokenId() == null) {
+            // Issued before tokens carried an ID; it expires on its own
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO revoked_tokens (jti, user_id, expires_at, revoked_at) "
+                        + "VALUES (?, ?, ?, ?) ON CONFLICT (jti) DO NOTHING",
+                token.tokenId(), token.userId(), Timestamp.from(token.expiresAt()), now);
+
+        TokenRevocation revocation = new TokenRevocation(token.tokenId(), token.expiresAt());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addAndBroadcast(revocation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addAndBroadcast(revocation);
+            }
+        });
+    }
+
+    /**
+     * Applies a revocation broadcast by any node, including this one.
+     *
+     * @param revocation the revoked token
+     */
+    @RabbitListener(queues = "#{tokenRevocationQueue.name}")
+    public void onRevocation(TokenRevocation revocation) {
+        add(revocation.tokenId(), revocation.expiresAt());
+        log.debug("Token {} revoked by broadcast", revocation.tokenId());
+    }
+
+    /**
+     * Loads the revocations recorded since the previous sync and drops expired ones.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        Instant started = Instant.now();
+        Instant since = lastSync == null ? Instant.EPOCH : lastSync.minus(SYNC_OVERLAP);
+        jdbcTemplate.query("SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > ?",
+                rs -> {
+                    add(rs.getString(1), rs.getTimestamp(2).toInstant());
+                },
+                Timestamp.from(since), Timestamp.from(started));
+        lastSync = started;
+
+        if (revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(started))
+                || revoked.size() > filter.capacity()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Deletes revocations of tokens that have expired anyway.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?",
+                Timestamp.from(Instant.now()));
+        if (deleted > 0) {
+            log.info("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    private void addAndBroadcast(TokenRevocation revocation) {
+        add(revocation.tokenId(), revocation.expiresAt());
+        try {
+            rabbitTemplate.convertAndSend(RabbitMqConfig.TOKEN_REVOCATION_EXCHANGE, "", revocation);
+        } catch (AmqpException e) {
+            log.warn("Failed to broadcast revocation of token {}, other nodes sync on schedule",
+                    revocation.tokenId(), e);
+        }
+    }
+
+    /**
+     * Adds a revocation. Synchronized with {@link #rebuild()} so that no entry
+     * lands in a filter that is about to be replaced.
+     */
+    private synchronized void add(String tokenId, Instant expiresAt) {
+        if (revoked.putIfAbsent(tokenId, expiresAt) == null) {
+            filter.put(tokenId);
+        }
+    }
+
+    /**
+     * Replaces the filter with one holding only the live revocations, growing it if it is over capacity.
+     */
+    private synchronized void rebuild() {
+        int capacity = Math.max(filter.capacity(), revoked.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        log.debug("Revocation filter rebuilt: {} tokens, capacity {}", revoked.size(), capacity);
+    }
+}
@@ -0,0 +1,142 @@
+package com.gpustore.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the token versions of users whose credentials have changed.
+ *
+ * <p>Used by the stateless authentication mode to reject tokens issued before a
+ * password or email change without looking the user up on every request. Only
+ * users with a non-zero {@code users.token_version} are held, so the map stays
+ * small. Deleted users are held too, with a version no token carries, until
+ * their last token has expired.</p>
+ *
+ * <p>The versions are loaded when the application starts and replaced every
+ * {@code jwt.stateless.refresh-interval-ms}. Changes made on this node are
+ * applied as soon as they commit, and kept until a reload has seen them.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    // Newer than the version of any token, so every token of a deleted user is rejected
+    private static final int DELETED = Integer.MAX_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration tokenLifetime;
+    private final Map<Long, Integer> recorded = new ConcurrentHashMap<>();
+    private volatile Map<Long, Integer> loaded = Map.of();
+
+    /**
+     * Constructs a new TokenVersionRegistry and loads the current versions.
+     *
+     * @param jdbcTemplate the template used to reload the versions
+     * @param enabled      whether stateless authentication is enabled
+     * @param expirationMs the lifetime of an access token in milliseconds
+     */
+    public TokenVersionRegistry(JdbcTemplate jdbcTemplate,
+                                @Value("${jwt.stateless.enabled:false}") boolean enabled,
+                                @Value("${jwt.expiration}") long expirationMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.tokenLifetime = Duration.ofMillis(expirationMs);
+        refresh();
+    }
+
+    /**
+     * Checks whether a token was issued at or after the user's latest credential change.
+     *
+     * @param userId  the user ID from the token
+     * @param version the token version from the token
+     * @return true if the token has not been superseded and the user has not been deleted
+     */
+    public boolean isCurrent(Long userId, int version) {
+        Integer current = loaded.get(userId);
+        Integer local = recorded.get(userId);
+        return (current == null || version >= current) && (local == null || version >= local);
+    }
+
+    /**
+     * Records a user's new token version once the current transaction commits.
+     *
+     * @param userId  the user ID
+     * @param version the new token version
+     */
+    public void record(Long userId, int version) {
+        afterCommit(() -> recorded.merge(userId, version, Math::max));
+    }
+
+    /**
+     * Rejects every token of a user deleted in the current transaction until the
+     * last of them has expired. Does nothing unless stateless authentication is enabled.
+     *
+     * @param userId the ID of the deleted user
+     */
+    public void recordDeleted(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO deleted_users (user_id, expires_at) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                userId, Timestamp.valueOf(LocalDateTime.now().plus(tokenLifetime)));
+        afterCommit(() -> recorded.put(userId, DELETED));
+    }
+
+    /**
+     * Reloads the versions of every user whose credentials have changed, and of
+     * every user deleted within the token lifetime, dropping everything else.
+     */
+    @Scheduled(fixedDelayString = "${jwt.stateless.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        // Changes that committed before the queries run are part of their result
+        Map<Long, Integer> seen = Map.copyOf(recorded);
+        Map<Long, Integer> versions = new HashMap<>();
+        jdbcTemplate.update("DELETE FROM deleted_users WHERE expires_at <= ?", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.query("SELECT id, token_version FROM users WHERE token_version > 0",
+                rs -> {
+                    versions.put(rs.getLong(1), rs.getInt(2));
+                });
+        jdbcTemplate.query("SELECT user_id FROM deleted_users",
+                rs -> {
+                    versions.put(rs.getLong(1), DELETED);
+                });
+        loaded = versions;
+        seen.forEach(recorded::remove);
+        log.debug("Token versions refreshed: {} users", versions.size());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -27,21 +27,24 @@ public class UserPrincipal implements UserDetails {
     private final String email;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
+    private final int tokenVersion;
 
     /**
      * Constructs a new UserPrincipal with the specified user details.
      *
-     * @param id          the user's unique identifier
-     * @param email       the user's email address (used as username)
-     * @param password    the user's hashed password
-     * @param authorities the granted authorities for the user
+     * @param id           the user's unique identifier
+     * @param email        the user's email address (used as username)
+     * @param password     the user's hashed password, or null if built from token claims
+     * @param authorities  the granted authorities for the user
+     * @param tokenVersion the user's current token version
      */
     public UserPrincipal(Long id, String email, String password,
-                         Collection<? extends GrantedAuthority> authorities) {
+                         Collection<? extends GrantedAuthority> authorities, int tokenVersion) {
         this.id = id;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
+        this.tokenVersion = tokenVersion;
     }
 
     /**
@@ -58,10 +61,24 @@ public class UserPrincipal implements UserDetails {
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                authorities,
+                user.getTokenVersion()
         );
     }
 
+    /**
+     * Factory method to create a UserPrincipal from verified token claims, without a database lookup.
+     *
+     * @param token the verified token
+     * @return a new UserPrincipal instance without password
+     */
+    public static UserPrincipal fromToken(VerifiedToken token) {
+        List<GrantedAuthority> authorities = token.roles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new UserPrincipal(token.userId(), token.email(), null, authorities, token.version());
+    }
+
     /**
      * Returns the user's unique identifier.
      *
@@ -71,6 +88,15 @@ public class UserPrincipal implements UserDetails {
         return id;
     }
 
+    /**
+     * Returns the token version the user had when this principal was built.
+     *
+     * @return the token version
+     */
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     /**
      * Returns the user's email address.
      *
@@ -0,0 +1,27 @@
+package com.gpustore.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have been verified.
+ *
+ * @param userId    the user ID stored in the token subject
+ * @param email     the email address stored in the token claims
+ * @param roles     the granted authorities stored in the token claims
+ * @param version   the user's token version when the token was issued
+ * @param expiresAt when the token expires
+ * @param tokenId   the token's {@code jti} claim, or null for tokens issued without one
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public record VerifiedToken(
+        Long userId,
+        String email,
+        List<String> roles,
+        int version,
+        Instant expiresAt,
+        String tokenId
+) {
+}
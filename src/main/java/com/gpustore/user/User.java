@@ -28,6 +28,9 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private String password;
 
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
     public User() {
     }
 
@@ -60,4 +63,15 @@ public class User extends BaseEntity {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * Invalidates every token issued to this user so far.
+     */
+    public void incrementTokenVersion() {
+        this.tokenVersion++;
+    }
 }
@@ -1,5 +1,6 @@
 package com.gpustore.user;
 
+import com.gpustore.common.pagination.CursorPage;
 import com.gpustore.user.dto.CreateUserRequest;
 import com.gpustore.user.dto.UpdateUserRequest;
 import com.gpustore.user.dto.UserResponse;
@@ -18,7 +19,7 @@ import java.util.List;
  * <p>Provides endpoints for CRUD operations on users:</p>
  * <ul>
  *   <li>{@code POST /api/users} - Create a new user (public)</li>
- *   <li>{@code GET /api/users} - List all users</li>
+ *   <li>{@code GET /api/users} - List users, one keyset page at a time</li>
  *   <li>{@code GET /api/users/{id}} - Get user by ID</li>
  *   <li>{@code PUT /api/users/{id}} - Update user</li>
  *   <li>{@code DELETE /api/users/{id}} - Delete user</li>
@@ -62,18 +63,20 @@ public class UserController {
     }
 
     /**
-     * Retrieves all users.
+     * Retrieves one page of users, oldest first.
      *
-     * @return 200 OK with a list of all users
+     * @param cursor the {@value CursorPage#NEXT_CURSOR_HEADER} value of the previous page
+     * @param limit  the maximum number of users, capped at {@value CursorPage#MAX_LIMIT}
+     * @return 200 OK with a list of users and the next page's cursor in a header
      */
     @GetMapping
-    public ResponseEntity<List<UserResponse>> findAll() {
-        log.debug("Fetching all users");
-        List<UserResponse> users = userService.findAll().stream()
-                .map(UserResponse::from)
-                .toList();
-        log.debug("Found {} users", users.size());
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserResponse>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        log.debug("Fetching users page");
+        CursorPage<UserResponse> page = userService.findPage(cursor, limit).map(UserResponse::from);
+        log.debug("Found {} users", page.items().size());
+        return page.toResponseEntity();
     }
 
     /**
@@ -1,7 +1,12 @@
 package com.gpustore.user;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,4 +35,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with this email exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Finds the first page of users in {@code (created_at, id)} order.
+     *
+     * @param limit the maximum number of users
+     * @return the users
+     */
+    @Query("SELECT u FROM User u ORDER BY u.createdAt, u.id")
+    List<User> findPage(Limit limit);
+
+    /**
+     * Finds the page of users that follows a keyset position.
+     *
+     * @param createdAt the creation time of the last user of the previous page
+     * @param id        the ID of the last user of the previous page
+     * @param limit     the maximum number of users
+     * @return the users
+     */
+    @Query("SELECT u FROM User u WHERE (u.createdAt, u.id) > (:createdAt, :id) ORDER BY u.createdAt, u.id")
+    List<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
 }
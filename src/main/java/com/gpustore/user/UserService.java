@@ -2,10 +2,14 @@ package com.gpustore.user;
 
 import com.gpustore.common.exception.ResourceNotFoundException;
 import com.gpustore.common.exception.ValidationException;
+import com.gpustore.common.pagination.CursorPage;
+import com.gpustore.common.pagination.KeysetCursor;
+import com.gpustore.security.TokenVersionRegistry;
 import com.gpustore.user.dto.CreateUserRequest;
 import com.gpustore.user.dto.UpdateUserRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,16 +34,20 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersions;
 
     /**
      * Constructs a new UserService with required dependencies.
      *
      * @param userRepository  the repository for user persistence
      * @param passwordEncoder the encoder for hashing passwords
+     * @param tokenVersions   the registry notified when a user's tokens are superseded
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       TokenVersionRegistry tokenVersions) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersions = tokenVersions;
     }
 
     /**
@@ -70,14 +78,22 @@ public class UserService {
     }
 
     /**
-     * Retrieves all users.
+     * Retrieves one page of users in registration order.
      *
-     * @return a list of all users
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @return the users and the cursor of the next page
      */
     @Transactional(readOnly = true)
-    public List<User> findAll() {
-        log.debug("Finding all users");
-        return userRepository.findAll();
+    public CursorPage<User> findPage(String cursor, int limit) {
+        log.debug("Finding users after cursor: {}", cursor);
+        int size = CursorPage.clamp(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit rows = Limit.of(size + 1);
+        List<User> users = after == null
+                ? userRepository.findPage(rows)
+                : userRepository.findPageAfter(after.createdAt(), after.id(), rows);
+        return CursorPage.of(users, size, User::getCreatedAt, User::getId);
     }
 
     /**
@@ -112,7 +128,8 @@ public class UserService {
      * Updates an existing user with the provided details.
      *
      * <p>Only non-null fields in the request are updated. If email is changed,
-     * uniqueness is verified. Password is re-encoded if changed.</p>
+     * uniqueness is verified. Password is re-encoded if changed. Changing the
+     * email or password invalidates the user's existing tokens.</p>
      *
      * @param id      the user ID
      * @param request the update request
@@ -123,6 +140,7 @@ public class UserService {
     public User update(Long id, UpdateUserRequest request) {
         log.debug("Updating user with id: {}", id);
         User user = findById(id);
+        String previousEmail = user.getEmail();
 
         if (request.name() != null) {
             user.setName(request.name());
@@ -140,6 +158,12 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(request.password()));
         }
 
+        if (request.password() != null || !user.getEmail().equals(previousEmail)) {
+            // Tokens issued with the old credentials stop working
+            user.incrementTokenVersion();
+            tokenVersions.record(user.getId(), user.getTokenVersion());
+        }
+
         User savedUser = userRepository.save(user);
         log.debug("User updated: id={}", id);
         return savedUser;
@@ -148,6 +172,9 @@ public class UserService {
     /**
      * Deletes a user by their ID.
      *
+     * <p>In stateless authentication mode the user's tokens are rejected from
+     * then on, rather than when they expire.</p>
+     *
      * @param id the user ID
      * @throws ResourceNotFoundException if no user is found with the given ID
      */
@@ -155,6 +182,7 @@ public class UserService {
         log.debug("Deleting user with id: {}", id);
         User user = findById(id);
         userRepository.delete(user);
+        tokenVersions.recordDeleted(user.getId());
         log.debug("User deleted: id={}", id);
     }
 }
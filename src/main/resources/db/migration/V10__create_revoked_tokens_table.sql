@@ -0,0 +1,12 @@
+-- Access tokens revoked before their expiry, keyed by the token's jti claim.
+-- Mirrored in memory by every node; rows are purged once the token expires
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+
+-- Incremental sync reads the rows revoked since the previous run
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
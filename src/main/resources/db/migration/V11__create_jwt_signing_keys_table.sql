@@ -0,0 +1,8 @@
+-- JWT signing keys selected by the kid header. The newest unretired key signs;
+-- retired keys keep verifying until retired_at, when their last tokens expire
+CREATE TABLE jwt_signing_keys (
+    kid VARCHAR(36) PRIMARY KEY,
+    secret BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    retired_at TIMESTAMP
+);
@@ -0,0 +1,3 @@
+-- Hibernate allocates order item IDs 50 at a time (pooled-lo), so the items of
+-- an order can be inserted in one JDBC batch
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
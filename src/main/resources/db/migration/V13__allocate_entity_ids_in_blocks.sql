@@ -0,0 +1,8 @@
+-- Hibernate allocates IDs 50 at a time (pooled-lo) from each table's own
+-- BIGSERIAL sequence, so rows written together go out as one JDBC batch.
+-- Column defaults keep working: a plain SQL insert simply takes a whole block.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE products_id_seq INCREMENT BY 50;
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE notifications_id_seq INCREMENT BY 50;
+ALTER SEQUENCE stock_reservations_id_seq INCREMENT BY 50;
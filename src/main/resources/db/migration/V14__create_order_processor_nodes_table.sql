@@ -0,0 +1,6 @@
+-- Nodes consuming the partitioned order queues. Each node refreshes its row on
+-- every heartbeat; partitions are spread over the nodes seen recently
+CREATE TABLE order_processor_nodes (
+    node_id VARCHAR(255) PRIMARY KEY,
+    heartbeat_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Users deleted while stateless authentication is enabled. Their tokens are
+-- rejected until expires_at, when the last one issued has expired; rows are
+-- purged after that
+CREATE TABLE deleted_users (
+    user_id BIGINT PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
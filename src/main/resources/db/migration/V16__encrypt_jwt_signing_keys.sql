@@ -0,0 +1,3 @@
+-- Secrets are now stored AES-GCM encrypted under a key derived from jwt.secret.
+-- Rows stored before this migration are encrypted in place on the next reload
+ALTER TABLE jwt_signing_keys ADD COLUMN encrypted BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,3 @@
+-- Heartbeats are compared with now(); TIMESTAMPTZ keeps that independent of the
+-- session time zone of each node
+ALTER TABLE order_processor_nodes ALTER COLUMN heartbeat_at TYPE TIMESTAMPTZ;
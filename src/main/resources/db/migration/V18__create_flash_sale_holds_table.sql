@@ -0,0 +1,12 @@
+-- Flash-sale stock granted by a sequencer but not yet recorded in the ledger.
+-- A hold is inserted by the same statement that increments products.reserved and
+-- is deleted by the order transaction that writes the stock_reservations rows,
+-- so a crash in between leaves a row for StockReservationExpiryJob to return
+CREATE TABLE flash_sale_holds (
+    id VARCHAR(36) PRIMARY KEY,
+    product_id BIGINT NOT NULL REFERENCES products(id),
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_flash_sale_holds_expires_at ON flash_sale_holds(expires_at);
@@ -0,0 +1,14 @@
+-- OutboxRelay claims a batch and commits before waiting for publisher confirms;
+-- other relays skip a row until its claim lapses
+ALTER TABLE outbox_events ADD COLUMN claimed_until TIMESTAMPTZ;
+
+-- Outbox rows that can never be published, moved out of the relay's way
+CREATE TABLE outbox_dead_letters (
+    id BIGINT PRIMARY KEY,
+    routing_key VARCHAR(100) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    error TEXT NOT NULL,
+    failed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
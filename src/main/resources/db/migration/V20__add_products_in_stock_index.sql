@@ -0,0 +1,3 @@
+-- Product listing filtered to available stock: a partial index in keyset
+-- order, so the in-stock filter is an index scan instead of a scan and sort
+CREATE INDEX idx_products_in_stock_created_at_id ON products(created_at, id) WHERE stock > reserved;
@@ -0,0 +1,9 @@
+-- Transactional outbox: domain events written in the producer's transaction
+-- and relayed to RabbitMQ by OutboxRelay
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    routing_key VARCHAR(100) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
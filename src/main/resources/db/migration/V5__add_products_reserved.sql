@@ -0,0 +1,3 @@
+-- Quantity held by admitted orders that have not completed yet.
+-- Available stock is stock - reserved.
+ALTER TABLE products ADD COLUMN reserved INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,17 @@
+-- Stock reservation ledger: one row per order line, held in products.reserved
+-- while ACTIVE and converted into a sale (CONFIRMED) or returned (RELEASED)
+CREATE TABLE stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL REFERENCES orders(id) ON DELETE CASCADE,
+    product_id BIGINT NOT NULL REFERENCES products(id),
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('ACTIVE', 'CONFIRMED', 'RELEASED')),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_stock_reservations_order_id ON stock_reservations(order_id);
+
+-- Reaper scans only reservations still holding stock
+CREATE INDEX idx_stock_reservations_active_expires_at ON stock_reservations(expires_at)
+    WHERE status = 'ACTIVE';
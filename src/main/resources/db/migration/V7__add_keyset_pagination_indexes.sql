@@ -0,0 +1,7 @@
+-- Keyset pagination indexes: listings are ordered by (created_at, id)
+CREATE INDEX idx_products_created_at_id ON products(created_at, id);
+CREATE INDEX idx_orders_created_at_id ON orders(created_at, id);
+CREATE INDEX idx_users_created_at_id ON users(created_at, id);
+
+-- Product price range filter
+CREATE INDEX idx_products_price ON products(price);
@@ -3,6 +3,8 @@ package com.gpustore;
 import com.gpustore.auth.dto.LoginRequest;
 import com.gpustore.auth.dto.LoginResponse;
 import com.gpustore.order.OrderRepository;
+import com.gpustore.product.Product;
+import com.gpustore.product.ProductRepository;
 import com.gpustore.user.UserRepository;
 import com.gpustore.user.dto.CreateUserRequest;
 import com.gpustore.user.dto.UserResponse;
@@ -14,6 +16,7 @@ import org.springframework.boot.testcontainers.service.connection.ServiceConnect
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -22,11 +25,16 @@ import org.testcontainers.containers.RabbitMQContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Base class for integration tests providing common test infrastructure.
  *
  * <p>Configures PostgreSQL and RabbitMQ containers via Testcontainers,
- * provides auth helpers and cleanup between tests.</p>
+ * provides auth and product fixture helpers and cleanup between tests.</p>
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -60,12 +68,20 @@ public abstract class AbstractIntegrationTest {
     @Autowired
     protected OrderRepository orderRepository;
 
+    @Autowired
+    protected ProductRepository productRepository;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void cleanUp() {
         // Clean orders first due to FK constraint
         orderRepository.deleteAll();
         userRepository.deleteAll();
-        // Products remain (seed data from migrations)
+        // Products remain (seed data from migrations); return stock held by deleted orders
+        jdbcTemplate.update("DELETE FROM flash_sale_holds");
+        jdbcTemplate.update("UPDATE products SET reserved = 0 WHERE reserved <> 0");
     }
 
     protected String getAuthToken() {
@@ -98,4 +114,15 @@ public abstract class AbstractIntegrationTest {
         headers.setContentType(MediaType.APPLICATION_JSON);
         return headers;
     }
+
+    protected Product product(int stock) {
+        return productRepository.save(new Product("Test GPU " + UUID.randomUUID(), "Test product",
+                new BigDecimal("100.00"), stock));
+    }
+
+    protected void assertStock(Product product, int stock, int reserved) {
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(reloaded.getStock()).isEqualTo(stock);
+        assertThat(reloaded.getReserved()).isEqualTo(reserved);
+    }
 }
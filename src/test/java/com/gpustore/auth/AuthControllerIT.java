@@ -3,6 +3,8 @@ package com.gpustore.auth;
 import com.gpustore.AbstractIntegrationTest;
 import com.gpustore.auth.dto.LoginRequest;
 import com.gpustore.auth.dto.LoginResponse;
+import com.gpustore.auth.dto.LogoutRequest;
+import com.gpustore.auth.dto.RefreshRequest;
 import com.gpustore.user.dto.CreateUserRequest;
 import com.gpustore.user.dto.UserResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -102,4 +104,111 @@ class AuthControllerIT extends AbstractIntegrationTest {
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
+
+    @Test
+    void refresh_WithValidRefreshToken_ReturnsNewTokens() {
+        // Given
+        LoginResponse login = restTemplate.postForEntity(
+                "/api/auth/login",
+                new LoginRequest(TEST_EMAIL, TEST_PASSWORD),
+                LoginResponse.class
+        ).getBody();
+        assertThat(login.refreshToken()).isNotEmpty();
+
+        // When
+        ResponseEntity<LoginResponse> response = restTemplate.postForEntity(
+                "/api/auth/refresh",
+                new RefreshRequest(login.refreshToken()),
+                LoginResponse.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().refreshToken()).isNotEqualTo(login.refreshToken());
+        ResponseEntity<String> users = restTemplate.exchange(
+                "/api/users",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(response.getBody().token())),
+                String.class
+        );
+        assertThat(users.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void refresh_WithReusedRefreshToken_RevokesTokenFamily() {
+        // Given - a token that has already been rotated
+        LoginResponse login = restTemplate.postForEntity(
+                "/api/auth/login",
+                new LoginRequest(TEST_EMAIL, TEST_PASSWORD),
+                LoginResponse.class
+        ).getBody();
+        LoginResponse rotated = restTemplate.postForEntity(
+                "/api/auth/refresh",
+                new RefreshRequest(login.refreshToken()),
+                LoginResponse.class
+        ).getBody();
+
+        // When
+        ResponseEntity<String> reuse = restTemplate.postForEntity(
+                "/api/auth/refresh",
+                new RefreshRequest(login.refreshToken()),
+                String.class
+        );
+
+        // Then - the replay fails and the successor is revoked with it
+        assertThat(reuse.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        ResponseEntity<String> successor = restTemplate.postForEntity(
+                "/api/auth/refresh",
+                new RefreshRequest(rotated.refreshToken()),
+                String.class
+        );
+        assertThat(successor.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void refresh_WithUnknownRefreshToken_ReturnsUnauthorized() {
+        // When
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/api/auth/refresh",
+                new RefreshRequest("not-a-refresh-token"),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void logout_RevokesAccessAndRefreshTokens() {
+        // Given
+        LoginResponse login = restTemplate.postForEntity(
+                "/api/auth/login",
+                new LoginRequest(TEST_EMAIL, TEST_PASSWORD),
+                LoginResponse.class
+        ).getBody();
+
+        // When
+        ResponseEntity<Void> logout = restTemplate.exchange(
+                "/api/auth/logout",
+                HttpMethod.POST,
+                new HttpEntity<>(new LogoutRequest(login.refreshToken()), authHeaders(login.token())),
+                Void.class
+        );
+
+        // Then
+        assertThat(logout.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        ResponseEntity<String> users = restTemplate.exchange(
+                "/api/users",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(login.token())),
+                String.class
+        );
+        assertThat(users.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        ResponseEntity<String> refresh = restTemplate.postForEntity(
+                "/api/auth/refresh",
+                new RefreshRequest(login.refreshToken()),
+                String.class
+        );
+        assertThat(refresh.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
 }
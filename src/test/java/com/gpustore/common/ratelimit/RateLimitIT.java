@@ -0,0 +1,76 @@
+package com.gpustore.common.ratelimit;
+
+import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.auth.dto.LoginRequest;
+import com.gpustore.order.dto.CreateOrderRequest;
+import com.gpustore.security.JwtTokenProvider;
+import com.gpustore.security.UserPrincipal;
+import com.gpustore.user.dto.CreateUserRequest;
+import com.gpustore.user.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.auth.permits-per-second=0.01",
+        "rate-limit.auth.burst=5",
+        "rate-limit.orders.permits-per-second=0.01",
+        "rate-limit.orders.burst=2"
+})
+class RateLimitIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Test
+    void login_OverIpLimit_ReturnsTooManyRequests() {
+        // Given
+        LoginRequest request = new LoginRequest("nobody@example.com", "wrongpassword");
+
+        // When - more attempts than the burst allows
+        ResponseEntity<String> response = null;
+        for (int i = 0; i < 6; i++) {
+            response = restTemplate.postForEntity("/api/auth/login", request, String.class);
+        }
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+    }
+
+    @Test
+    void createOrder_OverUserLimit_ReturnsTooManyRequests() {
+        // Given - a token issued directly, since logins share this client's IP limit
+        restTemplate.postForEntity("/api/users",
+                new CreateUserRequest("Limited User", "limited@example.com", "password123"), UserResponse.class);
+        String token = tokenProvider.generateToken(
+                UserPrincipal.create(userRepository.findByEmail("limited@example.com").orElseThrow()));
+        CreateOrderRequest request = new CreateOrderRequest(List.of());
+
+        // When - invalid orders still count against the limit
+        ResponseEntity<String> first = post(token, request);
+        ResponseEntity<String> second = post(token, request);
+        ResponseEntity<String> third = post(token, request);
+
+        // Then
+        assertThat(first.getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(second.getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(third.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(third.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+    }
+
+    private ResponseEntity<String> post(String token, CreateOrderRequest request) {
+        return restTemplate.exchange("/api/orders", HttpMethod.POST,
+                new HttpEntity<>(request, authHeaders(token)), String.class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.gpustore.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPolicyTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenRejectUntilRefilled() {
+        RateLimitPolicy policy = new RateLimitPolicy("test", "POST", "/test", RateLimitPolicy.KeyType.IP,
+                1, 3, 100);
+        long now = 1_000 * SECOND;
+
+        assertThat(policy.tryAcquire("a", now)).isZero();
+        assertThat(policy.tryAcquire("a", now)).isZero();
+        assertThat(policy.tryAcquire("a", now)).isZero();
+        long wait = policy.tryAcquire("a", now);
+        assertThat(wait).isEqualTo(SECOND);
+
+        // One permit refills per second
+        assertThat(policy.tryAcquire("a", now + SECOND)).isZero();
+        assertThat(policy.tryAcquire("a", now + SECOND)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBucketsPerKey() {
+        RateLimitPolicy policy = new RateLimitPolicy("test", "POST", "/test", RateLimitPolicy.KeyType.USER,
+                1, 1, 100);
+        long now = 5 * SECOND;
+
+        assertThat(policy.tryAcquire(1L, now)).isZero();
+        assertThat(policy.tryAcquire(1L, now)).isPositive();
+        assertThat(policy.tryAcquire(2L, now)).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldNotBankPermitsBeyondBurst() {
+        RateLimitPolicy policy = new RateLimitPolicy("test", "POST", "/test", RateLimitPolicy.KeyType.IP,
+                10, 2, 100);
+        long now = -50 * SECOND;
+
+        assertThat(policy.tryAcquire("a", now)).isZero();
+        // A long pause refills the bucket to its burst, not beyond
+        long later = now + 60 * SECOND;
+        assertThat(policy.tryAcquire("a", later)).isZero();
+        assertThat(policy.tryAcquire("a", later)).isZero();
+        assertThat(policy.tryAcquire("a", later)).isPositive();
+    }
+}
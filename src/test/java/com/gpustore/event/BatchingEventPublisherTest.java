@@ -0,0 +1,134 @@
+package com.gpustore.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchingEventPublisherTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations channel = mock(RabbitOperations.class);
+    private final AtomicInteger batches = new AtomicInteger();
+    private volatile CountDownLatch firstBatchGate;
+    private BatchingEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        // Each batch is one channel operation; the first one may be held back by a test
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation -> {
+            CountDownLatch gate = firstBatchGate;
+            if (batches.incrementAndGet() == 1 && gate != null) {
+                gate.await(5, TimeUnit.SECONDS);
+            }
+            RabbitOperations.OperationsCallback<?> callback = invocation.getArgument(0);
+            return callback.doInRabbit(channel);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void publish_shouldSendQueuedEventsInBatchesAndCompleteOnAck() {
+        CountDownLatch release = blockFirstBatch();
+        confirmWith(routingKey -> true);
+        publisher = start(1000, 100, BatchingEventPublisher.OverflowPolicy.FAIL);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            results.add(publisher.publish("order.created", "event-" + i));
+        }
+        release.countDown();
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+        // Events queued while a batch was being sent go out together
+        assertThat(batches.get()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void publish_shouldFailEventsTheBrokerRejects() {
+        confirmWith(routingKey -> !routingKey.equals("order.rejected"));
+        publisher = start(100, 10, BatchingEventPublisher.OverflowPolicy.FAIL);
+
+        CompletableFuture<Void> accepted = publisher.publish("order.created", "accepted");
+        CompletableFuture<Void> rejected = publisher.publish("order.rejected", "rejected");
+
+        accepted.orTimeout(5, TimeUnit.SECONDS).join();
+        assertThat(rejected).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableThat().withCauseInstanceOf(AmqpException.class)
+                .withMessageContaining("Broker rejected");
+    }
+
+    @Test
+    void publish_shouldFailImmediatelyWhenQueueIsFull() {
+        CountDownLatch release = blockFirstBatch();
+        confirmWith(routingKey -> true);
+        publisher = start(2, 1, BatchingEventPublisher.OverflowPolicy.FAIL);
+
+        CompletableFuture<Void> inFlight = publisher.publish("order.created", "in-flight");
+        await(() -> batches.get() == 1);
+        publisher.publish("order.created", "queued-1");
+        publisher.publish("order.created", "queued-2");
+        CompletableFuture<Void> overflow = publisher.publish("order.created", "overflow");
+
+        assertThat(overflow).isCompletedExceptionally();
+        release.countDown();
+        inFlight.orTimeout(5, TimeUnit.SECONDS).join();
+    }
+
+    private BatchingEventPublisher start(int queueCapacity, int batchSize,
+                                         BatchingEventPublisher.OverflowPolicy overflow) {
+        BatchingEventPublisher started = new BatchingEventPublisher(rabbitTemplate, new SimpleMeterRegistry(),
+                queueCapacity, batchSize, 1, 1, overflow, 0, 5_000);
+        started.start();
+        return started;
+    }
+
+    private CountDownLatch blockFirstBatch() {
+        firstBatchGate = new CountDownLatch(1);
+        return firstBatchGate;
+    }
+
+    private void confirmWith(Predicate<String> ack) {
+        doAnswer(invocation -> {
+            String routingKey = invocation.getArgument(1);
+            CorrelationData correlationData = invocation.getArgument(3);
+            boolean acked = ack.test(routingKey);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(acked, acked ? null : "rejected"));
+            return null;
+        }).when(channel).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,91 @@
+package com.gpustore.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary event codec with the JSON converter it replaces.
+ *
+ * <p>Not run by the build. Run {@link #main} from the IDE, or from the command line:</p>
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) com.gpustore.event.EventCodecBenchmark
+ * </pre>
+ *
+ * <p>Reports time per message and, through the GC profiler, bytes allocated per
+ * message ({@code gc.alloc.rate.norm}). Body sizes are checked by {@link EventCodecTest}.</p>
+ *
+ * @author GPU Store Team
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    private final OrderCreatedEvent event =
+            new OrderCreatedEvent(123_456L, 789L, new BigDecimal("1599.99"), LocalDateTime.now());
+
+    private Jackson2JsonMessageConverter jsonConverter;
+    private EventMessageConverter binaryConverter;
+    private Message jsonMessage;
+    private Message binaryMessage;
+
+    @Setup
+    public void setUp() {
+        jsonConverter = new Jackson2JsonMessageConverter();
+        binaryConverter = new EventMessageConverter(jsonConverter, EventMessageConverter.Format.BINARY);
+        jsonMessage = jsonConverter.toMessage(event, new MessageProperties());
+        binaryMessage = binaryConverter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeJson() {
+        return jsonConverter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeBinary() {
+        return binaryConverter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return jsonConverter.fromMessage(jsonMessage);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binaryConverter.fromMessage(binaryMessage);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.gpustore.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCodecTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 10, 16, 12, 30, 15, 123_456_789);
+
+    @Test
+    void decode_shouldRestoreEveryEventType() {
+        Object[] events = {
+                new OrderCreatedEvent(42L, 7L, new BigDecimal("1299.99"), TIMESTAMP),
+                new OrderCompletedEvent(Long.MAX_VALUE, 1L, new BigDecimal("0.00"), TIMESTAMP),
+                new OrderExpiredEvent(3L, 9L, "Insufficient stock for RTX 4090 – 2 short", TIMESTAMP)
+        };
+
+        for (Object event : events) {
+            assertThat(EventCodec.decode(EventCodec.encode(event))).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void decode_shouldRestoreNullComponents() {
+        OrderExpiredEvent event = new OrderExpiredEvent(3L, null, null, null);
+
+        assertThat(EventCodec.decode(EventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void decode_shouldRestoreAmountsBeyondSixtyFourBits() {
+        BigDecimal huge = new BigDecimal("-123456789012345678901234567890.123456");
+        OrderCreatedEvent event = new OrderCreatedEvent(1L, 2L, huge, TIMESTAMP);
+
+        OrderCreatedEvent decoded = (OrderCreatedEvent) EventCodec.decode(EventCodec.encode(event));
+
+        assertThat(decoded.total()).isEqualTo(huge);
+        assertThat(decoded.total().scale()).isEqualTo(huge.scale());
+    }
+
+    @Test
+    void encode_shouldProduceCompactBody() {
+        byte[] body = EventCodec.encode(new OrderCreatedEvent(123_456L, 789L, new BigDecimal("1599.99"), TIMESTAMP));
+
+        assertThat(body[0]).isEqualTo(EventCodec.VERSION);
+        assertThat(body.length).isLessThanOrEqualTo(24);
+    }
+
+    @Test
+    void encode_shouldProduceBodyFarSmallerThanJson() {
+        OrderCreatedEvent event = new OrderCreatedEvent(123_456L, 789L, new BigDecimal("1599.99"), TIMESTAMP);
+        byte[] json = new Jackson2JsonMessageConverter().toMessage(event, new MessageProperties()).getBody();
+
+        // The JSON message also carries a __TypeId__ header the binary one does not need
+        assertThat(EventCodec.encode(event).length * 3).isLessThan(json.length);
+    }
+
+    @Test
+    void decode_shouldRejectUnknownSchemaVersion() {
+        byte[] body = EventCodec.encode(new OrderCreatedEvent(1L, 2L, BigDecimal.TEN, TIMESTAMP));
+        body[0] = (byte) (EventCodec.VERSION + 1);
+
+        assertThatThrownBy(() -> EventCodec.decode(body))
+                .isInstanceOf(MessageConversionException.class)
+                .hasMessageContaining("schema version");
+    }
+
+    @Test
+    void decode_shouldRejectTruncatedBody() {
+        byte[] body = EventCodec.encode(new OrderExpiredEvent(1L, 2L, "Payment timeout", TIMESTAMP));
+
+        assertThatThrownBy(() -> EventCodec.decode(Arrays.copyOf(body, body.length - 8)))
+                .isInstanceOf(MessageConversionException.class);
+    }
+}
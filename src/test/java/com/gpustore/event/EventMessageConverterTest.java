@@ -0,0 +1,50 @@
+package com.gpustore.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventMessageConverterTest {
+
+    private static final OrderCreatedEvent EVENT =
+            new OrderCreatedEvent(123_456L, 789L, new BigDecimal("1599.99"), LocalDateTime.of(2026, 10, 16, 12, 0));
+
+    private final EventMessageConverter json =
+            new EventMessageConverter(new Jackson2JsonMessageConverter(), EventMessageConverter.Format.JSON);
+    private final EventMessageConverter binary =
+            new EventMessageConverter(new Jackson2JsonMessageConverter(), EventMessageConverter.Format.BINARY);
+
+    @Test
+    void toMessage_shouldWriteEventsInConfiguredFormat() {
+        Message jsonMessage = json.toMessage(EVENT, new MessageProperties());
+        Message binaryMessage = binary.toMessage(EVENT, new MessageProperties());
+
+        assertThat(jsonMessage.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(binaryMessage.getMessageProperties().getContentType())
+                .isEqualTo(EventMessageConverter.BINARY_CONTENT_TYPE);
+        assertThat(binaryMessage.getBody().length * 3).isLessThan(jsonMessage.getBody().length);
+    }
+
+    @Test
+    void fromMessage_shouldReadBothFormatsRegardlessOfConfiguredFormat() {
+        Message jsonMessage = json.toMessage(EVENT, new MessageProperties());
+        Message binaryMessage = binary.toMessage(EVENT, new MessageProperties());
+
+        assertThat(json.fromMessage(binaryMessage)).isEqualTo(EVENT);
+        assertThat(binary.fromMessage(jsonMessage)).isEqualTo(EVENT);
+    }
+
+    @Test
+    void toMessage_shouldWriteNonEventPayloadsAsJson() {
+        Message message = binary.toMessage(42L, new MessageProperties());
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(binary.fromMessage(message)).isEqualTo(42L);
+    }
+}
@@ -0,0 +1,108 @@
+package com.gpustore.event;
+
+import com.gpustore.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for the transactional outbox and its relay.
+ */
+class OutboxIT extends AbstractIntegrationTest {
+
+    private static final String ROUTING_KEY = "test.outbox";
+
+    @Autowired
+    private EventBus eventBus;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Autowired
+    private DirectExchange ordersExchange;
+
+    private Queue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new AnonymousQueue();
+        amqpAdmin.declareQueue(queue);
+        amqpAdmin.declareBinding(BindingBuilder.bind(queue).to(ordersExchange).with(ROUTING_KEY));
+    }
+
+    @AfterEach
+    void tearDown() {
+        amqpAdmin.deleteQueue(queue.getName());
+    }
+
+    @Test
+    void publish_inRolledBackTransaction_shouldNeverBeRelayed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventBus.publish(ROUTING_KEY, event(1L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(pendingTestEvents()).isZero();
+        assertThat(rabbitTemplate.receiveAndConvert(queue.getName(), 1_000)).isNull();
+    }
+
+    @Test
+    void publish_inCommittedTransaction_shouldBeRelayedAndDeleted() {
+        OrderCreatedEvent event = event(2L);
+        transactionTemplate.executeWithoutResult(status -> eventBus.publish(ROUTING_KEY, event));
+
+        Object received = rabbitTemplate.receiveAndConvert(queue.getName(), 5_000);
+
+        assertThat(received).isEqualTo(event);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pendingTestEvents() == 0);
+    }
+
+    @Test
+    void unreadableRow_shouldBeDeadLetteredWithoutStallingTheRelay() {
+        Long unreadableId = jdbcTemplate.queryForObject("INSERT INTO outbox_events "
+                + "(routing_key, event_type, payload, created_at) VALUES (?, ?, ?, now()) RETURNING id",
+                Long.class, ROUTING_KEY, "com.gpustore.event.RemovedEvent", "{}");
+        OrderCreatedEvent event = event(3L);
+        transactionTemplate.executeWithoutResult(status -> eventBus.publish(ROUTING_KEY, event));
+
+        assertThat(rabbitTemplate.receiveAndConvert(queue.getName(), 5_000)).isEqualTo(event);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pendingTestEvents() == 0);
+        assertThat(jdbcTemplate.queryForObject("SELECT event_type FROM outbox_dead_letters WHERE id = ?",
+                String.class, unreadableId)).isEqualTo("com.gpustore.event.RemovedEvent");
+    }
+
+    // Other tests' background processing may still write events; only ours count
+    private long pendingTestEvents() {
+        return outboxEventRepository.findAll().stream()
+                .filter(outboxEvent -> ROUTING_KEY.equals(outboxEvent.getRoutingKey()))
+                .count();
+    }
+
+    private static OrderCreatedEvent event(Long orderId) {
+        return new OrderCreatedEvent(orderId, 1L, BigDecimal.TEN, LocalDateTime.now().withNano(0));
+    }
+}
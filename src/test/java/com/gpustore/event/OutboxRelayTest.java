@@ -0,0 +1,167 @@
+package com.gpustore.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gpustore.order.OrderPartitionCoordinator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final OrderPartitionCoordinator partitionCoordinator = mock(OrderPartitionCoordinator.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> publications = new ArrayList<>();
+    private OutboxRelay relay;
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction = false;
+            }
+        });
+        doAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            } finally {
+                inTransaction = false;
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate));
+        when(partitionCoordinator.ownedPartitions()).thenReturn(Set.of());
+        when(repository.lockNextBatch(anyCollection(), anyInt())).thenReturn(List.of(event(1L)));
+        relay = new OutboxRelay(repository, rabbitTemplate, objectMapper, transactionTemplate,
+                partitionCoordinator, meterRegistry, 100, 200, 1000);
+    }
+
+    @Test
+    void relay_shouldDeleteRowsOnlyAfterTheBrokerConfirms() {
+        confirmWith(new CorrelationData.Confirm(true, null));
+
+        relay.relay();
+
+        verify(repository).deleteAllByIdInBatch(Set.of(1L));
+        verify(repository, never()).releaseClaims(anyCollection());
+    }
+
+    @Test
+    void relay_shouldReleaseClaimsWhenTheBrokerNacks() {
+        confirmWith(new CorrelationData.Confirm(false, "rejected"));
+
+        relay.relay();
+
+        verify(repository, never()).deleteAllByIdInBatch(any());
+        verify(repository).releaseClaims(List.of(1L));
+    }
+
+    @Test
+    void relay_shouldReleaseClaimsWhenNoConfirmArrives() {
+        // No confirm at all: the relay gives up after the confirm timeout
+        relay.relay();
+
+        verify(repository, never()).deleteAllByIdInBatch(any());
+        verify(repository).releaseClaims(List.of(1L));
+    }
+
+    @Test
+    void relay_shouldCommitTheClaimBeforePublishingAndAwaitingConfirms() {
+        doAnswer(invocation -> {
+            publications.add(inTransaction ? "published in transaction" : "published");
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+
+        relay.relay();
+
+        assertThat(publications).containsExactly("published");
+        InOrder inOrder = inOrder(repository, rabbitTemplate);
+        inOrder.verify(repository).claim(List.of(1L), 1.0);
+        inOrder.verify(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class),
+                any(CorrelationData.class));
+        inOrder.verify(repository).deleteAllByIdInBatch(Set.of(1L));
+    }
+
+    @Test
+    void relay_shouldDeadLetterUnreadableRowAndRelayTheRestOfTheBatch() throws Exception {
+        OutboxEvent unreadable = new OutboxEvent("order.created", "com.gpustore.event.RemovedEvent", "{}");
+        ReflectionTestUtils.setField(unreadable, "id", 2L);
+        when(repository.lockNextBatch(anyCollection(), anyInt())).thenReturn(List.of(event(1L), unreadable));
+        confirmWith(new CorrelationData.Confirm(true, null));
+
+        relay.relay();
+
+        verify(repository).deadLetter(eq(2L), anyString());
+        verify(repository).claim(List.of(1L), 1.0);
+        verify(repository).deleteAllByIdInBatch(Set.of(1L));
+        assertThat(meterRegistry.counter("event.outbox.dead-lettered").count()).isEqualTo(1);
+    }
+
+    @Test
+    void relay_shouldOnlyTakeOwnedPartitionsWhoseRelayLockIsFree() {
+        confirmWith(new CorrelationData.Confirm(true, null));
+        when(partitionCoordinator.ownedPartitions()).thenReturn(Set.of(0, 3));
+        when(repository.tryLockPartition(anyInt(), eq(0))).thenReturn(false);
+        when(repository.tryLockPartition(anyInt(), eq(3))).thenReturn(true);
+
+        relay.relay();
+
+        verify(repository).lockNextBatch(List.of("order.created", "order.created.3"), 100);
+        verify(repository).claim(anyCollection(), anyDouble());
+    }
+
+    private OutboxEvent event(Long id) throws Exception {
+        OutboxEvent event = new OutboxEvent("order.created", OrderCreatedEvent.class.getName(),
+                objectMapper.writeValueAsString(
+                        new OrderCreatedEvent(id, 2L, BigDecimal.TEN, LocalDateTime.now())));
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+    private void confirmWith(CorrelationData.Confirm confirm) {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(confirm);
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.gpustore.event;
+
+import com.gpustore.config.RabbitMqConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RabbitMqEventBusTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final BatchingEventPublisher publisher = mock(BatchingEventPublisher.class);
+
+    @Test
+    void publish_inAsyncMode_shouldThrowWhenEventIsNotQueued() {
+        when(publisher.publish("order.created", "event"))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("queue full")));
+
+        assertThatThrownBy(() -> asyncBus().publish("order.created", "event"))
+                .isInstanceOf(AmqpException.class)
+                .hasMessage("queue full");
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void publish_inAsyncMode_shouldReturnOnceEventIsQueued() {
+        CompletableFuture<Void> confirm = new CompletableFuture<>();
+        when(publisher.publish("order.created", "event")).thenReturn(confirm);
+
+        assertThatCode(() -> asyncBus().publish("order.created", "event")).doesNotThrowAnyException();
+        // The confirm is not awaited; a later nack is only logged
+        confirm.completeExceptionally(new AmqpException("nack"));
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void publish_inSyncMode_shouldSendDirectly() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<BatchingEventPublisher> none = mock(ObjectProvider.class);
+
+        new RabbitMqEventBus(rabbitTemplate, none).publish("order.created", "event");
+
+        verify(rabbitTemplate).convertAndSend(RabbitMqConfig.EXCHANGE_NAME, "order.created", "event");
+    }
+
+    private RabbitMqEventBus asyncBus() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<BatchingEventPublisher> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(publisher);
+        return new RabbitMqEventBus(rabbitTemplate, provider);
+    }
+}
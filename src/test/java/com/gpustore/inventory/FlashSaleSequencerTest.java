@@ -0,0 +1,290 @@
+package com.gpustore.inventory;
+
+import com.gpustore.common.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class FlashSaleSequencerTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    private final FakeProducts products = new FakeProducts();
+    private FlashSaleSequencer sequencer;
+
+    @AfterEach
+    void tearDown() {
+        products.openCommits();
+        if (sequencer != null) {
+            sequencer.stop();
+        }
+    }
+
+    @Test
+    void reserve_shouldNeverOversellUnderContention() throws Exception {
+        products.stock = 100;
+        sequencer = start(4096, 5000, 60_000);
+
+        ExecutorService buyers = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 50; i++) {
+                results.add(buyers.submit(() -> {
+                    try {
+                        sequencer.reserve(Map.of(PRODUCT_ID, 3));
+                        return true;
+                    } catch (InsufficientStockException e) {
+                        return false;
+                    }
+                }));
+            }
+            int granted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    granted++;
+                }
+            }
+
+            assertThat(granted).isEqualTo(33);
+            assertThat(products.reserved).isEqualTo(99);
+        } finally {
+            buyers.shutdownNow();
+        }
+    }
+
+    @Test
+    void reserve_shouldRejectWith429WhenQueueIsFull() throws Exception {
+        products.stock = 10;
+        sequencer = start(1, 5000, 60_000);
+        products.holdCommits();
+
+        // The writer takes the first request and blocks on its commit; the second fills the queue
+        Thread first = Thread.ofPlatform().start(() -> reserveQuietly(1));
+        assertThat(products.commitEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread second = Thread.ofPlatform().start(() -> reserveQuietly(1));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> second.getState() == Thread.State.TIMED_WAITING);
+
+        assertThatThrownBy(() -> sequencer.reserve(Map.of(PRODUCT_ID, 1)))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        products.openCommits();
+        first.join(5000);
+        second.join(5000);
+        assertThat(products.reserved).isEqualTo(2);
+    }
+
+    @Test
+    void reserve_shouldRejectWith429AndReturnLateGrantOnAdmissionTimeout() throws Exception {
+        products.stock = 10;
+        sequencer = start(4096, 100, 60_000);
+        products.holdCommits();
+
+        assertThatThrownBy(() -> sequencer.reserve(Map.of(PRODUCT_ID, 4)))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        // The writer still commits the reservation the caller gave up on, then gives it back
+        products.openCommits();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> products.releasedTotal == 4);
+        assertThat(products.reserved).isZero();
+    }
+
+    @Test
+    void reserve_shouldSeeRestockAfterResync() {
+        products.stock = 5;
+        sequencer = start(4096, 5000, 100);
+
+        sequencer.reserve(Map.of(PRODUCT_ID, 5));
+        assertThatThrownBy(() -> sequencer.reserve(Map.of(PRODUCT_ID, 3)))
+                .isInstanceOf(InsufficientStockException.class);
+
+        products.restock(10);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> tryReserve(3));
+        assertThat(products.reserved).isEqualTo(8);
+    }
+
+    @Test
+    void reserve_shouldResyncWhenAnotherNodeTookTheStock() {
+        products.stock = 10;
+        sequencer = start(4096, 5000, 60_000);
+        sequencer.reserve(Map.of(PRODUCT_ID, 1));
+
+        // Another node reserves behind this writer's back; the conditional update fails and the batch is re-decided
+        products.reserveElsewhere(8);
+
+        assertThatThrownBy(() -> sequencer.reserve(Map.of(PRODUCT_ID, 2)))
+                .isInstanceOfSatisfying(InsufficientStockException.class, e ->
+                        assertThat(e.getShortages()).singleElement()
+                                .satisfies(shortage -> assertThat(shortage.available()).isEqualTo(1)));
+        assertThat(products.reserved).isEqualTo(9);
+    }
+
+    @Test
+    void reserve_shouldWriteOneHoldPerGrantUntilSettled() {
+        products.stock = 10;
+        sequencer = start(4096, 5000, 60_000);
+
+        List<String> holdIds = sequencer.reserve(Map.of(PRODUCT_ID, 4));
+
+        assertThat(holdIds).singleElement().satisfies(holdId -> assertThat(products.holds).containsEntry(holdId, 4));
+        assertThat(products.reserved).isEqualTo(4);
+
+        // The order transaction swaps the hold for its ledger row; the reservation stays
+        sequencer.settle(holdIds);
+        assertThat(products.holds).isEmpty();
+        assertThat(products.reserved).isEqualTo(4);
+        assertThatThrownBy(() -> sequencer.settle(holdIds)).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void reserve_shouldReturnHoldsWhenOrderTransactionRollsBack() {
+        products.stock = 10;
+        sequencer = start(4096, 5000, 60_000);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sequencer.reserve(Map.of(PRODUCT_ID, 4));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> products.holds.isEmpty());
+        assertThat(products.reserved).isZero();
+    }
+
+    private FlashSaleSequencer start(int queueCapacity, long admissionTimeoutMs, long resyncIntervalMs) {
+        FlashSaleSequencer started = new FlashSaleSequencer(
+                products, Set.of(PRODUCT_ID), queueCapacity, admissionTimeoutMs, resyncIntervalMs, 15);
+        started.start();
+        return started;
+    }
+
+    private boolean tryReserve(int quantity) {
+        try {
+            sequencer.reserve(Map.of(PRODUCT_ID, quantity));
+            return true;
+        } catch (InsufficientStockException e) {
+            return false;
+        }
+    }
+
+    private void reserveQuietly(int quantity) {
+        try {
+            sequencer.reserve(Map.of(PRODUCT_ID, quantity));
+        } catch (RuntimeException ignored) {
+            // Outcome asserted through the product row
+        }
+    }
+
+    /**
+     * One products row and its flash_sale_holds rows, answering the statements the sequencer issues.
+     */
+    private static class FakeProducts extends JdbcTemplate {
+
+        private final CountDownLatch commitEntered = new CountDownLatch(1);
+        private volatile CountDownLatch commitGate;
+        private volatile int stock;
+        private volatile int reserved;
+        private volatile int releasedTotal;
+        private final Map<String, Integer> holds = new ConcurrentHashMap<>();
+
+        void holdCommits() {
+            commitGate = new CountDownLatch(1);
+        }
+
+        void openCommits() {
+            CountDownLatch gate = commitGate;
+            if (gate != null) {
+                gate.countDown();
+            }
+        }
+
+        synchronized void restock(int quantity) {
+            stock += quantity;
+        }
+
+        synchronized void reserveElsewhere(int quantity) {
+            reserved += quantity;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.contains("reserved + ?")) {
+                commitEntered.countDown();
+                awaitGate();
+                return grantIfAvailable((Integer) args[0], (String[]) args[4], (Integer[]) args[5]);
+            }
+            if (sql.startsWith("DELETE FROM flash_sale_holds")) {
+                int deleted = 0;
+                for (String holdId : (String[]) args[0]) {
+                    deleted += holds.remove(holdId) != null ? 1 : 0;
+                }
+                return deleted;
+            }
+            throw new IllegalArgumentException("Unexpected statement: " + sql);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            if (sql.contains("DELETE FROM flash_sale_holds")) {
+                int returned = 0;
+                for (String holdId : (String[]) args[0]) {
+                    Integer quantity = holds.remove(holdId);
+                    returned += quantity != null ? quantity : 0;
+                }
+                reserved -= returned;
+                releasedTotal += returned;
+            }
+            return (T) Integer.valueOf(stock - reserved);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            return (List<T>) List.of("Flash Sale GPU");
+        }
+
+        private synchronized int grantIfAvailable(int quantity, String[] holdIds, Integer[] quantities) {
+            if (stock - reserved < quantity) {
+                return 0;
+            }
+            reserved += quantity;
+            for (int i = 0; i < holdIds.length; i++) {
+                holds.put(holdIds[i], quantities[i]);
+            }
+            return holdIds.length;
+        }
+
+        private void awaitGate() {
+            CountDownLatch gate = commitGate;
+            if (gate == null) {
+                return;
+            }
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
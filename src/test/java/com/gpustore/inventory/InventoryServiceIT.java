@@ -0,0 +1,315 @@
+package com.gpustore.inventory;
+
+import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.order.Order;
+import com.gpustore.order.OrderItem;
+import com.gpustore.order.OrderService;
+import com.gpustore.order.OrderStatus;
+import com.gpustore.order.dto.UpdateOrderRequest;
+import com.gpustore.product.Product;
+import com.gpustore.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for stock reservation and deduction in InventoryService.
+ */
+class InventoryServiceIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private StockReservationExpiryJob expiryJob;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Inventory User", "inventory-test@example.com", "password"));
+    }
+
+    @Test
+    void reserve_withOneShortLine_shouldReserveNothing() {
+        Product plenty = product(10);
+        Product scarce = product(2);
+        Long orderId = order();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                inventoryService.reserve(orderId, Map.of(plenty.getId(), 3, scarce.getId(), 5))))
+                .isInstanceOfSatisfying(InsufficientStockException.class, e ->
+                        assertThat(e.getShortages()).extracting(StockShortage::productId)
+                                .containsExactly(scarce.getId()));
+
+        assertStock(plenty, 10, 0);
+        assertStock(scarce, 2, 0);
+        assertThat(reservationRepository.findAll()).noneMatch(r -> r.getOrderId().equals(orderId));
+    }
+
+    @Test
+    void confirm_withLapsedReservationsAndOneShortLine_shouldDeductNothing() {
+        Product plenty = product(10);
+        Product scarce = product(2);
+        Long orderId = order();
+
+        // No active reservations: every line is deducted from available stock, all or nothing
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                inventoryService.confirm(orderId, Map.of(plenty.getId(), 3, scarce.getId(), 5))))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertStock(plenty, 10, 0);
+        assertStock(scarce, 2, 0);
+    }
+
+    @Test
+    void confirm_withLapsedReservations_shouldDeductEveryLine() {
+        Product first = product(10);
+        Product second = product(4);
+        Long orderId = order();
+
+        transactionTemplate.executeWithoutResult(status ->
+                inventoryService.confirm(orderId, Map.of(first.getId(), 3, second.getId(), 4)));
+
+        assertStock(first, 7, 0);
+        assertStock(second, 0, 0);
+    }
+
+    @Test
+    void confirm_shouldConvertReservationIntoDeduction() {
+        Product product = product(10);
+        Long orderId = order();
+        reserve(orderId, product, 3);
+        assertStock(product, 10, 3);
+
+        transactionTemplate.executeWithoutResult(status ->
+                inventoryService.confirm(orderId, Map.of(product.getId(), 3)));
+
+        assertStock(product, 7, 0);
+        assertReservations(orderId, ReservationStatus.CONFIRMED);
+    }
+
+    @Test
+    void release_shouldReturnReservedStock() {
+        Product product = product(10);
+        Long orderId = order();
+        reserve(orderId, product, 3);
+
+        transactionTemplate.executeWithoutResult(status -> inventoryService.release(orderId));
+
+        assertStock(product, 10, 0);
+        assertReservations(orderId, ReservationStatus.RELEASED);
+    }
+
+    @Test
+    void expiryJob_shouldReleaseOnlyExpiredReservations() {
+        Product product = product(10);
+        Long expiredOrderId = order();
+        Long activeOrderId = order();
+        reserve(expiredOrderId, product, 3);
+        reserve(activeOrderId, product, 2);
+        expireReservations(expiredOrderId);
+
+        expiryJob.releaseExpiredReservations();
+
+        assertStock(product, 10, 2);
+        assertReservations(expiredOrderId, ReservationStatus.RELEASED);
+        assertReservations(activeOrderId, ReservationStatus.ACTIVE);
+    }
+
+    @Test
+    void confirm_afterExpiryJobReleasedReservation_shouldDeductFromAvailableStock() {
+        Product product = product(10);
+        Long orderId = order();
+        reserve(orderId, product, 3);
+        expireReservations(orderId);
+        expiryJob.releaseExpiredReservations();
+        assertStock(product, 10, 0);
+
+        transactionTemplate.executeWithoutResult(status ->
+                inventoryService.confirm(orderId, Map.of(product.getId(), 3)));
+
+        assertStock(product, 7, 0);
+    }
+
+    @Test
+    void confirm_concurrentlyWithCrossedLapsedReservations_shouldNotDeadlock() throws Exception {
+        Product first = product(100);
+        Product second = product(100);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 10; round++) {
+                // Each order still holds the product whose reservation lapsed for the other one
+                Long firstOrderId = order();
+                Long secondOrderId = order();
+                reserve(firstOrderId, second, 1);
+                reserve(secondOrderId, first, 1);
+                Map<Long, Integer> quantities = Map.of(first.getId(), 1, second.getId(), 1);
+
+                CyclicBarrier start = new CyclicBarrier(2);
+                List<Future<?>> confirms = new ArrayList<>();
+                for (Long orderId : List.of(firstOrderId, secondOrderId)) {
+                    confirms.add(executor.submit(() -> {
+                        start.await();
+                        transactionTemplate.executeWithoutResult(status ->
+                                inventoryService.confirm(orderId, quantities));
+                        return null;
+                    }));
+                }
+                for (Future<?> confirm : confirms) {
+                    confirm.get(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertStock(first, 80, 0);
+        assertStock(second, 80, 0);
+    }
+
+    @Test
+    void completingOrderManually_shouldDeductReservedStock() {
+        Product product = product(10);
+        Long orderId = processingOrder(product, 3);
+
+        orderService.update(orderId, new UpdateOrderRequest(OrderStatus.COMPLETED));
+
+        assertStock(product, 7, 0);
+        assertReservations(orderId, ReservationStatus.CONFIRMED);
+    }
+
+    @Test
+    void expiringOrderManually_shouldReturnReservedStock() {
+        Product product = product(10);
+        Long orderId = processingOrder(product, 3);
+
+        orderService.update(orderId, new UpdateOrderRequest(OrderStatus.EXPIRED));
+
+        assertStock(product, 10, 0);
+        assertReservations(orderId, ReservationStatus.RELEASED);
+    }
+
+    @Test
+    void deletingOrder_shouldReturnReservedStock() {
+        Product product = product(10);
+        Long orderId = processingOrder(product, 3);
+
+        orderService.delete(orderId);
+
+        assertStock(product, 10, 0);
+        assertThat(reservationRepository.findAll()).noneMatch(r -> r.getOrderId().equals(orderId));
+    }
+
+    @Test
+    void flashSaleGrant_whenNodeDiesBeforeOrderCommits_shouldBeReturnedByExpiryJob() {
+        Product product = product(10);
+        FlashSaleSequencer sequencer = flashSale(product);
+        try {
+            // The grant commits together with its hold; the order transaction never does
+            sequencer.reserve(Map.of(product.getId(), 3));
+        } finally {
+            // The node dies: nothing held in memory survives
+            sequencer.stop();
+        }
+        assertStock(product, 10, 3);
+        assertThat(holds(product)).isEqualTo(1);
+
+        jdbcTemplate.update("UPDATE flash_sale_holds SET expires_at = now() - interval '1 minute' "
+                + "WHERE product_id = ?", product.getId());
+        expiryJob.releaseExpiredReservations();
+
+        assertStock(product, 10, 0);
+        assertThat(holds(product)).isZero();
+    }
+
+    @Test
+    void flashSaleReservation_shouldSwapHoldForLedgerRowAndReleaseInLedgerTransaction() {
+        Product product = product(10);
+        FlashSaleSequencer sequencer = flashSale(product);
+        InventoryService flashSaleInventory = new InventoryService(
+                productRepository, reservationRepository, sequencer, jdbcTemplate, 15);
+        Long orderId = order();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    flashSaleInventory.reserve(orderId, Map.of(product.getId(), 3)));
+            assertStock(product, 10, 3);
+            assertThat(holds(product)).isZero();
+            assertReservations(orderId, ReservationStatus.ACTIVE);
+
+            transactionTemplate.executeWithoutResult(status -> flashSaleInventory.release(orderId));
+
+            // Returned by the ledger commit itself, not later by the writer thread
+            assertStock(product, 10, 0);
+            assertReservations(orderId, ReservationStatus.RELEASED);
+        } finally {
+            sequencer.stop();
+        }
+    }
+
+    private FlashSaleSequencer flashSale(Product product) {
+        FlashSaleSequencer sequencer = new FlashSaleSequencer(
+                jdbcTemplate, Set.of(product.getId()), 64, 2000, 60_000, 15);
+        sequencer.start();
+        return sequencer;
+    }
+
+    private int holds(Product product) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM flash_sale_holds WHERE product_id = ?",
+                Integer.class, product.getId());
+    }
+
+    private Long order() {
+        return orderRepository.save(new Order(user, new BigDecimal("100.00"), OrderStatus.PENDING)).getId();
+    }
+
+    private Long processingOrder(Product product, int quantity) {
+        BigDecimal total = product.getPrice().multiply(BigDecimal.valueOf(quantity));
+        Order order = new Order(user, total, OrderStatus.PROCESSING);
+        order.addItem(new OrderItem(order, product, quantity, product.getPrice()));
+        Long orderId = orderRepository.save(order).getId();
+        reserve(orderId, product, quantity);
+        return orderId;
+    }
+
+    private void reserve(Long orderId, Product product, int quantity) {
+        transactionTemplate.executeWithoutResult(status ->
+                inventoryService.reserve(orderId, Map.of(product.getId(), quantity)));
+    }
+
+    private void expireReservations(Long orderId) {
+        jdbcTemplate.update("UPDATE stock_reservations SET expires_at = now() - interval '1 minute' "
+                + "WHERE order_id = ?", orderId);
+    }
+
+    private void assertReservations(Long orderId, ReservationStatus status) {
+        assertThat(reservationRepository.findAll())
+                .filteredOn(r -> r.getOrderId().equals(orderId))
+                .isNotEmpty()
+                .allMatch(r -> r.getStatus() == status);
+    }
+}
@@ -0,0 +1,98 @@
+package com.gpustore.order;
+
+import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.notification.Notification;
+import com.gpustore.notification.NotificationRepository;
+import com.gpustore.notification.NotificationType;
+import com.gpustore.order.dto.CreateOrderRequest;
+import com.gpustore.order.dto.OrderItemRequest;
+import com.gpustore.user.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests checking that multi-row inserts reach the database as JDBC batches.
+ *
+ * <p>Row-by-row inserts would prepare at least one statement per row, so a
+ * statement count below the row count shows the rows went out in batches.
+ * The outbox relay is held back so that its queries do not add to the count.</p>
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "event.outbox.relay-interval-ms=3600000"
+})
+class InsertBatchingIT extends AbstractIntegrationTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(new User("Batching User", "batching-test@example.com", "password"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    void create_shouldInsertItemsAndReservationsInBatches() {
+        List<OrderItemRequest> items = IntStream.range(0, ROWS)
+                .mapToObj(i -> new OrderItemRequest(product(10).getId(), 1))
+                .toList();
+        statistics.clear();
+
+        Order order = orderService.create(user.getId(), new CreateOrderRequest(items));
+
+        assertThat(statistics.getEntityStatistics(OrderItem.class.getName()).getInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ROWS);
+        // The reservations found their order row, so the order was written first
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM stock_reservations WHERE order_id = ?", Integer.class, order.getId()))
+                .isEqualTo(ROWS);
+    }
+
+    @Test
+    void saveAll_shouldInsertNotificationsInBatches() {
+        Order order = orderRepository.save(new Order(user, new BigDecimal("100.00"), OrderStatus.COMPLETED));
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.saveAll(
+                IntStream.range(0, ROWS)
+                        .mapToObj(i -> new Notification(order, NotificationType.EMAIL, "Notification " + i))
+                        .toList()));
+
+        assertThat(statistics.getEntityStatistics(Notification.class.getName()).getInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ROWS);
+        assertThat(notificationRepository.findByOrderId(order.getId())).hasSize(ROWS);
+    }
+}
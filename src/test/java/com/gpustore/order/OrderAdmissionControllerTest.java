@@ -0,0 +1,92 @@
+package com.gpustore.order;
+
+import com.gpustore.common.exception.ServiceUnavailableException;
+import com.gpustore.config.RabbitMqConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderAdmissionControllerTest {
+
+    private AmqpAdmin amqpAdmin;
+    private OrderAdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        amqpAdmin = mock(AmqpAdmin.class);
+        controller = new OrderAdmissionController(amqpAdmin, new OrderPartitions(2), new SimpleMeterRegistry(),
+                true, 100, 20, 5_000, 1_000, 7);
+    }
+
+    @Test
+    void sample_shouldCloseAtHighWatermarkAndReopenOnlyBelowLowWatermark() {
+        depth(100);
+        controller.sample();
+        assertThat(controller.isOpen()).isFalse();
+        assertThatThrownBy(controller::admit)
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting(e -> ((ServiceUnavailableException) e).getRetryAfterSeconds())
+                .isEqualTo(7L);
+
+        // Between the watermarks the state is kept
+        depth(50);
+        controller.sample();
+        assertThat(controller.isOpen()).isFalse();
+
+        depth(19);
+        controller.sample();
+        assertThat(controller.isOpen()).isTrue();
+        controller.admit();
+    }
+
+    @Test
+    void sample_shouldCloseWhenProcessingLagIsHigh() {
+        depth(0);
+        controller.recordLag(Duration.ofSeconds(6));
+        controller.sample();
+        assertThat(controller.isOpen()).isFalse();
+
+        // Lag is measured per sample interval
+        controller.recordLag(Duration.ofMillis(200));
+        controller.sample();
+        assertThat(controller.isOpen()).isTrue();
+    }
+
+    @Test
+    void sample_shouldKeepStateWhenBrokerIsUnreachable() {
+        when(amqpAdmin.getQueueInfo(RabbitMqConfig.CREATED_QUEUE)).thenThrow(new AmqpConnectException(null));
+
+        controller.sample();
+
+        assertThat(controller.isOpen()).isTrue();
+    }
+
+    @Test
+    void sample_shouldAddUpPartitionQueues() {
+        depth(RabbitMqConfig.CREATED_QUEUE, 10);
+        depth(RabbitMqConfig.createdPartitionQueue(0), 60);
+        depth(RabbitMqConfig.createdPartitionQueue(1), 30);
+
+        controller.sample();
+
+        assertThat(controller.isOpen()).isFalse();
+    }
+
+    private void depth(int messages) {
+        depth(RabbitMqConfig.createdPartitionQueue(0), messages);
+    }
+
+    private void depth(String queue, int messages) {
+        when(amqpAdmin.getQueueInfo(queue)).thenReturn(new QueueInformation(queue, messages, 1));
+    }
+}
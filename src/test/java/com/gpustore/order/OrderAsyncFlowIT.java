@@ -5,7 +5,6 @@ import com.gpustore.order.dto.CreateOrderRequest;
 import com.gpustore.order.dto.OrderItemRequest;
 import com.gpustore.order.dto.OrderResponse;
 import com.gpustore.product.Product;
-import com.gpustore.product.ProductRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
@@ -32,9 +31,6 @@ import static org.awaitility.Awaitility.await;
  */
 class OrderAsyncFlowIT extends AbstractIntegrationTest {
 
-    @Autowired
-    private ProductRepository productRepository;
-
     @Test
     void createOrder_shouldReturnPendingImmediately() {
         // Given
@@ -132,6 +128,7 @@ class OrderAsyncFlowIT extends AbstractIntegrationTest {
         String token = getAuthToken();
         Product product = productRepository.findAll().get(0);
         int initialStock = product.getStock();
+        int initialReserved = product.getReserved();
         CreateOrderRequest request = new CreateOrderRequest(
                 List.of(new OrderItemRequest(product.getId(), 1))
         );
@@ -144,9 +141,10 @@ class OrderAsyncFlowIT extends AbstractIntegrationTest {
                 OrderResponse.class
         );
 
-        // Then - stock should not be deducted immediately (deferred to async processing)
+        // Then - stock should be reserved but not deducted immediately (deferred to async processing)
         Product reloadedProduct = productRepository.findById(product.getId()).orElseThrow();
         assertThat(reloadedProduct.getStock()).isEqualTo(initialStock);
+        assertThat(reloadedProduct.getReserved()).isEqualTo(initialReserved + 1);
     }
 
     @Test
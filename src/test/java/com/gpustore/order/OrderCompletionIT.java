@@ -0,0 +1,80 @@
+package com.gpustore.order;
+
+import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.order.dto.CreateOrderRequest;
+import com.gpustore.order.dto.OrderItemRequest;
+import com.gpustore.order.dto.OrderResponse;
+import com.gpustore.payment.PaymentGateway;
+import com.gpustore.payment.PaymentResult;
+import com.gpustore.product.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for completing a user's orders end to end in the order
+ * they were created, with the payment gateway under test control.
+ */
+class OrderCompletionIT extends AbstractIntegrationTest {
+
+    @MockitoBean
+    private PaymentGateway paymentGateway;
+
+    @Test
+    void ordersOfOneUser_shouldCompleteInCreationOrder() {
+        Product product = product(10);
+        List<CompletableFuture<PaymentResult>> payments =
+                List.of(new CompletableFuture<>(), new CompletableFuture<>(), new CompletableFuture<>());
+        when(paymentGateway.charge(any(), any()))
+                .thenReturn(payments.get(0))
+                .thenReturn(payments.get(1))
+                .thenReturn(payments.get(2));
+        String token = getAuthToken();
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < payments.size(); i++) {
+            orderIds.add(createProcessingOrder(token, product, 1));
+        }
+
+        // The later orders are approved first and must wait for the first one
+        payments.get(2).complete(PaymentResult.APPROVED);
+        payments.get(1).complete(PaymentResult.APPROVED);
+        await().during(1, TimeUnit.SECONDS).atMost(3, TimeUnit.SECONDS)
+                .until(() -> status(orderIds.get(1)) == OrderStatus.PROCESSING
+                        && status(orderIds.get(2)) == OrderStatus.PROCESSING);
+
+        payments.get(0).complete(PaymentResult.APPROVED);
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> orderIds.stream().allMatch(id -> status(id) == OrderStatus.COMPLETED));
+        List<LocalDateTime> completedAt = orderIds.stream()
+                .map(id -> orderRepository.findById(id).orElseThrow().getUpdatedAt())
+                .toList();
+        assertThat(completedAt).isSorted();
+        assertStock(product, 7, 0);
+    }
+
+    private Long createProcessingOrder(String token, Product product, int quantity) {
+        CreateOrderRequest request = new CreateOrderRequest(List.of(new OrderItemRequest(product.getId(), quantity)));
+        Long orderId = restTemplate.exchange("/api/orders", HttpMethod.POST,
+                new HttpEntity<>(request, authHeaders(token)), OrderResponse.class).getBody().id();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> status(orderId) == OrderStatus.PROCESSING);
+        return orderId;
+    }
+
+    private OrderStatus status(Long orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getStatus();
+    }
+}
@@ -1,12 +1,13 @@
 package com.gpustore.order;
 
 import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.common.pagination.CursorPage;
 import com.gpustore.order.dto.CreateOrderRequest;
 import com.gpustore.order.dto.OrderItemRequest;
 import com.gpustore.order.dto.OrderResponse;
 import com.gpustore.order.dto.UpdateOrderRequest;
 import com.gpustore.product.Product;
-import com.gpustore.product.ProductRepository;
+import com.gpustore.user.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
@@ -15,15 +16,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class OrderControllerIT extends AbstractIntegrationTest {
 
-    @Autowired
-    private ProductRepository productRepository;
-
     @Test
     void createOrder_WithValidData_ReturnsPendingStatus() {
         // Given
@@ -55,8 +57,8 @@ class OrderControllerIT extends AbstractIntegrationTest {
     }
 
     @Test
-    void createOrder_WithExcessiveQuantity_StillCreatesOrder() {
-        // Given - In async model, stock validation happens during processing, not creation
+    void createOrder_WithExcessiveQuantity_ReturnsBadRequest() {
+        // Given - stock is reserved when the order is placed
         String token = getAuthToken();
         Product product = productRepository.findAll().get(0);
         int excessiveQuantity = product.getStock() + 100;
@@ -66,17 +68,18 @@ class OrderControllerIT extends AbstractIntegrationTest {
         );
 
         // When
-        ResponseEntity<OrderResponse> response = restTemplate.exchange(
+        ResponseEntity<String> response = restTemplate.exchange(
                 "/api/orders",
                 HttpMethod.POST,
                 new HttpEntity<>(request, authHeaders(token)),
-                OrderResponse.class
+                String.class
         );
 
-        // Then - Order is created with PENDING status (validation happens async)
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().status()).isEqualTo(OrderStatus.PENDING);
+        // Then - over-subscription is rejected and nothing is reserved
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("Insufficient stock");
+        Product reloadedProduct = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(reloadedProduct.getReserved()).isEqualTo(product.getReserved());
     }
 
     @Test
@@ -116,6 +119,58 @@ class OrderControllerIT extends AbstractIntegrationTest {
         assertThat(response.getBody().total()).isEqualByComparingTo(expectedTotal);
     }
 
+    @Test
+    void createOrder_WithManyItems_ReturnsItemsWithIdsAndProductNames() {
+        // Given - every seeded product in stock, once
+        String token = getAuthToken();
+        List<Product> products = productRepository.findAll().stream()
+                .filter(product -> product.getStock() - product.getReserved() > 0)
+                .toList();
+        CreateOrderRequest request = new CreateOrderRequest(
+                products.stream().map(product -> new OrderItemRequest(product.getId(), 1)).toList()
+        );
+
+        // When
+        ResponseEntity<OrderResponse> response = restTemplate.exchange(
+                "/api/orders",
+                HttpMethod.POST,
+                new HttpEntity<>(request, authHeaders(token)),
+                OrderResponse.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().items()).hasSize(products.size());
+        assertThat(response.getBody().items()).allSatisfy(item -> {
+            assertThat(item.id()).isNotNull();
+            assertThat(item.productName()).isNotBlank();
+        });
+    }
+
+    @Test
+    void createOrder_WithUnknownProduct_ReturnsNotFound() {
+        // Given
+        String token = getAuthToken();
+        Product product = productRepository.findAll().get(0);
+        CreateOrderRequest request = new CreateOrderRequest(
+                List.of(
+                        new OrderItemRequest(product.getId(), 1),
+                        new OrderItemRequest(Long.MAX_VALUE, 1)
+                )
+        );
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/orders",
+                HttpMethod.POST,
+                new HttpEntity<>(request, authHeaders(token)),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
     @Test
     void updateOrderStatus_FromPendingToProcessing_Works() {
         // Given - create an order first
@@ -234,4 +289,103 @@ class OrderControllerIT extends AbstractIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         assertThat(orderRepository.findById(orderId)).isEmpty();
     }
+
+    @Test
+    void exportOrders_AsNdjson_StreamsOneOrderPerLine() {
+        // Given - two orders exist
+        String token = getAuthToken();
+        Product product = productRepository.findAll().get(0);
+        CreateOrderRequest createRequest = new CreateOrderRequest(
+                List.of(new OrderItemRequest(product.getId(), 1))
+        );
+        for (int i = 0; i < 2; i++) {
+            restTemplate.exchange(
+                    "/api/orders",
+                    HttpMethod.POST,
+                    new HttpEntity<>(createRequest, authHeaders(token)),
+                    OrderResponse.class
+            );
+        }
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/orders/export",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"productId\":" + product.getId());
+    }
+
+    @Test
+    void exportOrders_AsCsv_StreamsOneLinePerItem() {
+        // Given
+        String token = getAuthToken();
+        Product product = productRepository.findAll().get(0);
+        CreateOrderRequest createRequest = new CreateOrderRequest(
+                List.of(new OrderItemRequest(product.getId(), 3))
+        );
+        restTemplate.exchange(
+                "/api/orders",
+                HttpMethod.POST,
+                new HttpEntity<>(createRequest, authHeaders(token)),
+                OrderResponse.class
+        );
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/orders/export?format=csv",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("order_id,");
+        assertThat(lines[1]).endsWith(",3," + product.getPrice().toPlainString());
+    }
+
+    @Test
+    void getAllOrders_WithEqualCreationTimes_ReturnsEveryOrderOnceAcrossPages() {
+        // Given - five orders created in the same instant
+        String token = getAuthToken();
+        User user = userRepository.save(new User("Paging User", "order-paging@example.com", "password"));
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orderIds.add(orderRepository.save(new Order(user, new BigDecimal("10.00"), OrderStatus.PENDING)).getId());
+        }
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ANY (?)",
+                Timestamp.valueOf(LocalDateTime.now().withNano(0)), orderIds.toArray(new Long[0]));
+
+        // When - pages of two, following the cursor
+        List<Long> seen = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            ResponseEntity<OrderResponse[]> page = restTemplate.exchange(
+                    "/api/orders?limit=2" + (cursor == null ? "" : "&cursor=" + cursor),
+                    HttpMethod.GET,
+                    new HttpEntity<>(authHeaders(token)),
+                    OrderResponse[].class
+            );
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(page.getBody()).hasSizeLessThanOrEqualTo(2);
+            Arrays.stream(page.getBody()).map(OrderResponse::id).forEach(seen::add);
+            cursor = page.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        // Then - ties on created_at are broken by ID, so nothing is skipped or repeated
+        assertThat(seen).containsExactlyElementsOf(orderIds);
+        assertThat(pages).isEqualTo(3);
+    }
 }
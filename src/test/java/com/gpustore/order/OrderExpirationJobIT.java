@@ -1,17 +1,25 @@
 package com.gpustore.order;
 
 import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.config.NodeIdentity;
+import com.gpustore.event.EventBus;
+import com.gpustore.inventory.InventoryService;
 import com.gpustore.notification.NotificationRepository;
 import com.gpustore.notification.NotificationType;
 import com.gpustore.user.User;
 import com.gpustore.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +42,18 @@ class OrderExpirationJobIT extends AbstractIntegrationTest {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
     private User testUser;
 
     @BeforeEach
@@ -109,4 +129,35 @@ class OrderExpirationJobIT extends AbstractIntegrationTest {
         Order reloaded = orderRepository.findById(pendingOrder.getId()).orElseThrow();
         assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.PENDING);
     }
+
+    @Test
+    void expireStaleOrders_shouldExpireLargeBacklogInChunks() {
+        // Given - 12 stale orders and one recent order, swept five at a time
+        List<Long> staleIds = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            staleIds.add(orderRepository.save(
+                    new Order(testUser, new BigDecimal("100.00"), OrderStatus.PROCESSING)).getId());
+        }
+        Order recentOrder = orderRepository.save(new Order(testUser, new BigDecimal("100.00"), OrderStatus.PROCESSING));
+        jdbcTemplate.update("UPDATE orders SET updated_at = ? WHERE id = ANY (?)",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(11)), staleIds.toArray(new Long[0]));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderExpirationJob chunkedJob = new OrderExpirationJob(inventoryService, eventBus, jdbcTemplate,
+                transactionTemplate, meterRegistry, nodeIdentity, 10, 5);
+
+        // When
+        chunkedJob.expireStaleOrders();
+
+        // Then - three transactions (5 + 5 + 2), every stale order expired once
+        assertThat(meterRegistry.timer("orders.expiration.chunk", "source", "sweep").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("orders.expired", "source", "sweep").count()).isEqualTo(12);
+        assertThat(orderRepository.findAllById(staleIds)).allMatch(o -> o.getStatus() == OrderStatus.EXPIRED);
+        assertThat(orderRepository.findById(recentOrder.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.PROCESSING);
+
+        // A second sweep finds nothing left to expire
+        chunkedJob.expireStaleOrders();
+        assertThat(meterRegistry.counter("orders.expired", "source", "sweep").count()).isEqualTo(12);
+    }
 }
@@ -0,0 +1,88 @@
+package com.gpustore.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderPartitionsTest {
+
+    @Test
+    void partitionOf_shouldSpreadUsersEvenly() {
+        OrderPartitions partitions = new OrderPartitions(8);
+        int[] users = new int[8];
+        for (long userId = 1; userId <= 80_000; userId++) {
+            users[partitions.partitionOf(userId)]++;
+        }
+
+        for (int count : users) {
+            assertThat(count).isBetween(9_000, 11_000);
+        }
+    }
+
+    @Test
+    void partitionOf_shouldMoveOnlyUsersTakenOverByNewPartition() {
+        OrderPartitions eight = new OrderPartitions(8);
+        OrderPartitions nine = new OrderPartitions(9);
+
+        int moved = 0;
+        for (long userId = 1; userId <= 90_000; userId++) {
+            int before = eight.partitionOf(userId);
+            int after = nine.partitionOf(userId);
+            if (before != after) {
+                assertThat(after).isEqualTo(8);
+                moved++;
+            }
+        }
+
+        // About one user in nine moves, all of them to the new partition
+        assertThat(moved).isBetween(9_000, 11_000);
+    }
+
+    @Test
+    void assignedTo_shouldGiveEveryPartitionToExactlyOneNodeWithinItsShare() {
+        OrderPartitions partitions = new OrderPartitions(64);
+        List<String> nodes = List.of("node-a", "node-b", "node-c", "node-d", "node-e");
+
+        Set<Integer> seen = new HashSet<>();
+        for (String node : nodes) {
+            Set<Integer> assigned = partitions.assignedTo(node, nodes);
+            assertThat(Collections.disjoint(seen, assigned)).isTrue();
+            assertThat(assigned).hasSizeLessThanOrEqualTo(13);
+            seen.addAll(assigned);
+        }
+
+        assertThat(seen).hasSize(64);
+    }
+
+    @Test
+    void owners_shouldNotDependOnNodeOrder() {
+        OrderPartitions partitions = new OrderPartitions(16);
+
+        assertThat(partitions.owners(List.of("node-c", "node-a", "node-b")))
+                .containsExactly(partitions.owners(List.of("node-a", "node-b", "node-c")));
+    }
+
+    @Test
+    void owners_shouldMoveLittleMoreThanTheShareOfAJoiningNode() {
+        OrderPartitions partitions = new OrderPartitions(64);
+        List<String> before = List.of("node-a", "node-b", "node-c");
+        List<String> after = List.of("node-a", "node-b", "node-c", "node-d");
+
+        String[] ownersBefore = partitions.owners(before);
+        String[] ownersAfter = partitions.owners(after);
+        int moved = 0;
+        for (int partition = 0; partition < 64; partition++) {
+            if (!ownersBefore[partition].equals(ownersAfter[partition])) {
+                moved++;
+            }
+        }
+
+        // The new node takes its 16; a rebalance from scratch would move about 48
+        assertThat(moved).isBetween(16, 24);
+    }
+}
@@ -0,0 +1,209 @@
+package com.gpustore.order;
+
+import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.common.exception.ValidationException;
+import com.gpustore.event.OrderCreatedEvent;
+import com.gpustore.inventory.InventoryService;
+import com.gpustore.inventory.StockReservationExpiryJob;
+import com.gpustore.notification.Notification;
+import com.gpustore.notification.NotificationRepository;
+import com.gpustore.notification.NotificationType;
+import com.gpustore.order.dto.UpdateOrderRequest;
+import com.gpustore.payment.PaymentGateway;
+import com.gpustore.payment.PaymentResult;
+import com.gpustore.product.Product;
+import com.gpustore.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the asynchronous stages of OrderProcessor, with the
+ * payment gateway under test control.
+ */
+class OrderProcessorIT extends AbstractIntegrationTest {
+
+    @MockitoBean
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private OrderProcessor orderProcessor;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderExpirationJob orderExpirationJob;
+
+    @Autowired
+    private StockReservationExpiryJob reservationExpiryJob;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final CompletableFuture<PaymentResult> payment = new CompletableFuture<>();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        when(paymentGateway.charge(any(), any())).thenReturn(payment);
+        user = userRepository.save(new User("Processor User", "processor-test@example.com", "password"));
+    }
+
+    @Test
+    void processOrder_shouldReturnBeforeTheChargeCompletes() {
+        Product product = product(10);
+        Order order = pendingOrder(product, 3);
+
+        orderProcessor.processOrder(created(order));
+
+        // The listener is free again while the charge is still in flight
+        assertThat(payment).isNotDone();
+        assertThat(status(order)).isEqualTo(OrderStatus.PROCESSING);
+        assertStock(product, 10, 3);
+
+        payment.complete(PaymentResult.APPROVED);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> status(order) == OrderStatus.COMPLETED);
+        assertStock(product, 7, 0);
+    }
+
+    @Test
+    void declinedPayment_shouldLeaveOrderProcessing() {
+        Product product = product(10);
+        Order order = pendingOrder(product, 3);
+        orderProcessor.processOrder(created(order));
+
+        payment.complete(PaymentResult.DECLINED);
+
+        // Left for the expiry timer; the reservation is kept until then
+        await().during(1, TimeUnit.SECONDS).atMost(3, TimeUnit.SECONDS)
+                .until(() -> status(order) == OrderStatus.PROCESSING);
+        assertStock(product, 10, 3);
+    }
+
+    @Test
+    void approvedPayment_afterOrderExpiredDuringPayment_shouldNotCompleteOrDeduct() {
+        Product product = product(10);
+        Order order = pendingOrder(product, 3);
+        orderProcessor.processOrder(created(order));
+
+        jdbcTemplate.update("UPDATE orders SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(11)), order.getId());
+        assertThat(orderExpirationJob.expireDue(List.of(order.getId()))).isEqualTo(1);
+
+        payment.complete(PaymentResult.APPROVED);
+
+        await().during(1, TimeUnit.SECONDS).atMost(3, TimeUnit.SECONDS)
+                .until(() -> status(order) == OrderStatus.EXPIRED);
+        assertStock(product, 10, 0);
+    }
+
+    @Test
+    void approvedPayment_withLapsedReservationAndNoStockLeft_shouldExpireOrderWithReason() {
+        Product product = product(3);
+        Order order = pendingOrder(product, 3);
+        orderProcessor.processOrder(created(order));
+
+        // The reservation lapses during payment and the stock is sold elsewhere
+        jdbcTemplate.update("UPDATE stock_reservations SET expires_at = now() - interval '1 minute' "
+                + "WHERE order_id = ?", order.getId());
+        reservationExpiryJob.releaseExpiredReservations();
+        jdbcTemplate.update("UPDATE products SET stock = 1 WHERE id = ?", product.getId());
+
+        payment.complete(PaymentResult.APPROVED);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> status(order) == OrderStatus.EXPIRED);
+        assertStock(product, 1, 0);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(notificationRepository.findByOrderId(order.getId()))
+                        .filteredOn(notification -> notification.getType() == NotificationType.SYSTEM_ALERT)
+                        .extracting(Notification::getMessage)
+                        .singleElement().asString()
+                        .contains("Insufficient stock"));
+    }
+
+    @Test
+    void manualCompletion_racingApprovedPayment_shouldDeductStockOnce() throws Exception {
+        Product product = product(10);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 5; round++) {
+                CompletableFuture<PaymentResult> roundPayment = new CompletableFuture<>();
+                when(paymentGateway.charge(any(), any())).thenReturn(roundPayment);
+                Order order = pendingOrder(product, 1);
+                orderProcessor.processOrder(created(order));
+
+                // Whichever side loses must find the order COMPLETED and leave the stock alone
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> processor = executor.submit(() -> {
+                    start.await();
+                    roundPayment.complete(PaymentResult.APPROVED);
+                    return null;
+                });
+                Future<?> manual = executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.update(order.getId(), new UpdateOrderRequest(OrderStatus.COMPLETED));
+                    } catch (ValidationException e) {
+                        // The processor completed the order first
+                    }
+                    return null;
+                });
+                processor.get(30, TimeUnit.SECONDS);
+                manual.get(30, TimeUnit.SECONDS);
+
+                await().atMost(5, TimeUnit.SECONDS).until(() -> status(order) == OrderStatus.COMPLETED);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        await().during(1, TimeUnit.SECONDS).atMost(3, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertStock(product, 5, 0));
+    }
+
+    private Order pendingOrder(Product product, int quantity) {
+        return transactionTemplate.execute(status -> {
+            BigDecimal total = product.getPrice().multiply(BigDecimal.valueOf(quantity));
+            Order order = new Order(user, total, OrderStatus.PENDING);
+            order.addItem(new OrderItem(order, product, quantity, product.getPrice()));
+            Order saved = orderRepository.saveAndFlush(order);
+            inventoryService.reserve(saved.getId(), Map.of(product.getId(), quantity));
+            return saved;
+        });
+    }
+
+    private OrderCreatedEvent created(Order order) {
+        return new OrderCreatedEvent(order.getId(), user.getId(), order.getTotal(), LocalDateTime.now());
+    }
+
+    private OrderStatus status(Order order) {
+        return orderRepository.findById(order.getId()).orElseThrow().getStatus();
+    }
+}
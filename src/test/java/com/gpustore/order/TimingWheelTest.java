@@ -0,0 +1,57 @@
+package com.gpustore.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void add_shouldRejectDeadlinesThatAlreadyPassed() {
+        TimingWheel wheel = new TimingWheel(1_000);
+
+        assertThat(wheel.add(1L, 1_000)).isFalse();
+        assertThat(wheel.add(2L, 999)).isFalse();
+        assertThat(wheel.add(3L, 1_001)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void advanceTo_shouldFireEachTimerExactlyAtItsDeadlineTick() {
+        long start = 123_456;
+        TimingWheel wheel = new TimingWheel(start);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        long[] ranges = {64, 4_096, 262_144, 20_000_000};
+        for (long id = 0; id < 2_000; id++) {
+            long deadline = start + 1 + (long) (random.nextDouble() * ranges[(int) (id % ranges.length)]);
+            deadlines.put(id, deadline);
+            wheel.add(id, deadline);
+        }
+        long lastDeadline = deadlines.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+
+        // Advance in uneven steps and check every fired timer against the tick it fired on
+        List<Long> due = new ArrayList<>();
+        long tick = start;
+        while (tick < lastDeadline) {
+            long target = Math.min(lastDeadline, tick + 1 + random.nextInt(5_000));
+            for (long step = tick + 1; step <= target; step++) {
+                wheel.advanceTo(step, due);
+                for (Long id : due) {
+                    assertThat(deadlines.remove(id)).as("deadline of timer %d", id).isEqualTo(step);
+                }
+                due.clear();
+            }
+            tick = target;
+        }
+
+        assertThat(deadlines).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -1,25 +1,49 @@
 package com.gpustore.product;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.common.pagination.CursorPage;
+import com.gpustore.config.RabbitMqConfig;
 import com.gpustore.product.dto.CreateProductRequest;
 import com.gpustore.product.dto.ProductResponse;
 import com.gpustore.product.dto.UpdateProductRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 class ProductControllerIT extends AbstractIntegrationTest {
 
     @Autowired
-    private ProductRepository productRepository;
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @Test
     void createProduct_WithValidData_ReturnsCreatedProduct() {
@@ -185,4 +209,259 @@ class ProductControllerIT extends AbstractIntegrationTest {
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    void getProductById_SecondRead_IsServedFromCache() {
+        // Given
+        String token = getAuthToken();
+        Product product = saveProduct();
+        getProduct(token, product.getId());
+        double hitsBefore = cacheHits();
+
+        // When - the row changes behind the cache's back
+        renameInDatabase(product.getId(), "Renamed Directly");
+        ResponseEntity<ProductResponse> response = getProduct(token, product.getId());
+
+        // Then - the cached view is served
+        assertThat(response.getBody().name()).isEqualTo(product.getName());
+        assertThat(cacheHits()).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    void updateProduct_EvictsCachedProductAndListing() {
+        // Given
+        String token = getAuthToken();
+        Product product = saveProduct();
+        getProduct(token, product.getId());
+        restTemplate.exchange("/api/products", HttpMethod.GET, new HttpEntity<>(authHeaders(token)), String.class);
+
+        // When
+        UpdateProductRequest updateRequest = new UpdateProductRequest(
+                "Evicted GPU " + product.getId(), null, null, null);
+        restTemplate.exchange("/api/products/" + product.getId(), HttpMethod.PUT,
+                new HttpEntity<>(updateRequest, authHeaders(token)), ProductResponse.class);
+
+        // Then
+        assertThat(getProduct(token, product.getId()).getBody().name()).isEqualTo("Evicted GPU " + product.getId());
+        ResponseEntity<String> listing = restTemplate.exchange(
+                "/api/products", HttpMethod.GET, new HttpEntity<>(authHeaders(token)), String.class);
+        assertThat(listing.getBody()).contains("Evicted GPU " + product.getId());
+    }
+
+    @Test
+    void evictionBroadcast_FromAnotherNode_EvictsCachedProduct() {
+        // Given
+        String token = getAuthToken();
+        Product product = saveProduct();
+        getProduct(token, product.getId());
+        renameInDatabase(product.getId(), "Renamed On Another Node");
+
+        // When - another node broadcasts the eviction after its commit
+        rabbitTemplate.convertAndSend(RabbitMqConfig.PRODUCT_CACHE_EXCHANGE, "", product.getId());
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() ->
+                "Renamed On Another Node".equals(getProduct(token, product.getId()).getBody().name()));
+    }
+
+    @Test
+    void catalogCache_ReloadsEntriesOlderThanRefreshInterval() {
+        // Given - a cache refreshing after one second
+        ProductCatalogCache cache = new ProductCatalogCache(productRepository, rabbitTemplate, objectMapper,
+                new SimpleMeterRegistry(), 100, 300, 1);
+        Product product = saveProduct();
+        assertThat(cache.findById(product.getId()).name()).isEqualTo(product.getName());
+
+        // When
+        renameInDatabase(product.getId(), "Refreshed GPU");
+
+        // Then - stale until the refresh interval passes, then reloaded without an eviction
+        assertThat(cache.findById(product.getId()).name()).isEqualTo(product.getName());
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(200, TimeUnit.MILLISECONDS)
+                .until(() -> "Refreshed GPU".equals(cache.findById(product.getId()).name()));
+    }
+
+    @Test
+    void getAllProducts_WithGzipAccepted_ReturnsCompressedSnapshot() throws IOException {
+        // Given
+        String token = getAuthToken();
+        HttpHeaders gzipHeaders = authHeaders(token);
+        gzipHeaders.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // When
+        ResponseEntity<byte[]> plain = getCatalog(authHeaders(token));
+        ResponseEntity<byte[]> gzipped = getCatalog(gzipHeaders);
+
+        // Then
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzipped.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzipped.getHeaders().getETag()).isNotEqualTo(plain.getHeaders().getETag());
+        assertThat(gzipped.getBody().length).isLessThan(plain.getBody().length);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getBody());
+        }
+    }
+
+    @Test
+    void getAllProducts_WithMatchingIfNoneMatch_ReturnsNotModified() {
+        // Given
+        String token = getAuthToken();
+        String etag = getCatalog(authHeaders(token)).getHeaders().getETag();
+        HttpHeaders conditional = authHeaders(token);
+        conditional.setIfNoneMatch(etag);
+
+        // When
+        ResponseEntity<byte[]> response = getCatalog(conditional);
+
+        // Then
+        assertThat(etag).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void getAllProducts_WithWeakIfNoneMatch_ReturnsNotModified() {
+        // Given - the tag as a proxy that rewrote the body would hand it back
+        String token = getAuthToken();
+        String etag = getCatalog(authHeaders(token)).getHeaders().getETag();
+        HttpHeaders conditional = authHeaders(token);
+        conditional.setIfNoneMatch("W/" + etag);
+
+        // When
+        ResponseEntity<byte[]> response = getCatalog(conditional);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+    }
+
+    @Test
+    void getAllProducts_WithLimitBelowCatalogSize_DoesNotLoadSnapshot() {
+        // Given - the listing was evicted by a change
+        String token = getAuthToken();
+        Product product = saveProduct();
+        restTemplate.exchange("/api/products/" + product.getId(), HttpMethod.PUT,
+                new HttpEntity<>(new UpdateProductRequest(null, null, new BigDecimal("519.99"), null),
+                        authHeaders(token)), ProductResponse.class);
+        double loadsBefore = listingLoads();
+
+        // When
+        ResponseEntity<ProductResponse[]> page = restTemplate.exchange("/api/products?limit=1", HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)), ProductResponse[].class);
+
+        // Then - served from the database without encoding the whole catalog
+        assertThat(page.getBody()).hasSize(1);
+        assertThat(page.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER)).isNotNull();
+        assertThat(listingLoads()).isEqualTo(loadsBefore);
+    }
+
+    @Test
+    void getAllProducts_AfterProductUpdate_ReturnsNewEtag() {
+        // Given
+        String token = getAuthToken();
+        Product product = saveProduct();
+        String etag = getCatalog(authHeaders(token)).getHeaders().getETag();
+
+        // When
+        restTemplate.exchange("/api/products/" + product.getId(), HttpMethod.PUT,
+                new HttpEntity<>(new UpdateProductRequest(null, null, new BigDecimal("549.99"), null),
+                        authHeaders(token)), ProductResponse.class);
+        HttpHeaders conditional = authHeaders(token);
+        conditional.setIfNoneMatch(etag);
+        ResponseEntity<byte[]> response = getCatalog(conditional);
+
+        // Then - the client's copy is stale, so the new version is sent in full
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(new String(response.getBody())).contains("549.99");
+    }
+
+    @Test
+    void getAllProducts_WithInStock_ExcludesSoldOutAndFullyReservedProducts() {
+        // Given - three products in a price band no other test uses
+        String token = getAuthToken();
+        BigDecimal price = new BigDecimal("31415.92");
+        Product available = productRepository.save(new Product("In Stock " + UUID.randomUUID(), "", price, 5));
+        Product soldOut = productRepository.save(new Product("Sold Out " + UUID.randomUUID(), "", price, 0));
+        Product reserved = productRepository.save(new Product("Reserved " + UUID.randomUUID(), "", price, 5));
+        jdbcTemplate.update("UPDATE products SET reserved = stock WHERE id = ?", reserved.getId());
+
+        // When
+        List<Long> all = collectIds(token, "minPrice=" + price + "&maxPrice=" + price);
+        List<Long> inStock = collectIds(token, "minPrice=" + price + "&maxPrice=" + price + "&inStock=true");
+
+        // Then
+        assertThat(all).containsExactly(available.getId(), soldOut.getId(), reserved.getId());
+        assertThat(inStock).containsExactly(available.getId());
+    }
+
+    @Test
+    void getAllProducts_WithEqualCreationTimes_ReturnsEveryProductOnceAcrossPages() {
+        // Given - five matching products created in the same instant
+        String token = getAuthToken();
+        BigDecimal price = new BigDecimal("27182.81");
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            productIds.add(productRepository.save(
+                    new Product("Same Instant " + UUID.randomUUID(), "", price, 3)).getId());
+        }
+        jdbcTemplate.update("UPDATE products SET created_at = ? WHERE id = ANY (?)",
+                Timestamp.valueOf(LocalDateTime.now().withNano(0)), productIds.toArray(new Long[0]));
+
+        // When - pages of two, following the cursor
+        List<Long> seen = collectIds(token, "minPrice=" + price + "&maxPrice=" + price + "&inStock=true&limit=2");
+
+        // Then - ties on created_at are broken by ID, so nothing is skipped or repeated
+        assertThat(seen).containsExactlyElementsOf(productIds);
+    }
+
+    private List<Long> collectIds(String token, String query) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<ProductResponse[]> page = restTemplate.exchange(
+                    "/api/products?" + query + (cursor == null ? "" : "&cursor=" + cursor),
+                    HttpMethod.GET,
+                    new HttpEntity<>(authHeaders(token)),
+                    ProductResponse[].class
+            );
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            Arrays.stream(page.getBody()).map(ProductResponse::id).forEach(ids::add);
+            cursor = page.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return ids;
+    }
+
+    private ResponseEntity<byte[]> getCatalog(HttpHeaders headers) {
+        // A limit covering the whole catalog is served from the pre-encoded snapshot
+        return restTemplate.exchange("/api/products?limit=" + CursorPage.MAX_LIMIT, HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+    }
+
+    private Product saveProduct() {
+        return productRepository.save(new Product("Cached GPU " + UUID.randomUUID(), "Cache test product",
+                new BigDecimal("499.99"), 20));
+    }
+
+    private ResponseEntity<ProductResponse> getProduct(String token, Long id) {
+        return restTemplate.exchange("/api/products/" + id, HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)), ProductResponse.class);
+    }
+
+    private void renameInDatabase(Long id, String name) {
+        jdbcTemplate.update("UPDATE products SET name = ? WHERE id = ?", name, id);
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private double listingLoads() {
+        return meterRegistry.get("cache.load").tag("cache", "products.listing").tag("result", "success")
+                .functionCounter().count();
+    }
 }
@@ -0,0 +1,97 @@
+package com.gpustore.security;
+
+import com.gpustore.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void matches_shouldDelegateToWrappedEncoder() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingEncoder(new CountDownLatch(0)), 1, 1, 1_000, new SimpleMeterRegistry());
+
+        assertThat(encoder.matches("secret", "{hashed}secret")).isTrue();
+        assertThat(encoder.matches("other", "{hashed}secret")).isFalse();
+        assertThat(encoder.encode("secret")).isEqualTo("{hashed}secret");
+        encoder.destroy();
+    }
+
+    @Test
+    void matches_shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingEncoder(release), 1, 1, 5_000, registry);
+
+        // One operation running, one queued
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "{hashed}a"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "{hashed}b"));
+        waitUntil(() -> registry.get("executor.queued").gauge().value() == 1);
+
+        assertThatThrownBy(() -> encoder.matches("c", "{hashed}c"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(registry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        encoder.destroy();
+    }
+
+    @Test
+    void matches_shouldRejectWhenWaitExceedsLimit() {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingEncoder(release), 1, 1, 50, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> encoder.matches("a", "{hashed}a"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        release.countDown();
+        encoder.destroy();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Encoder that blocks every operation until released.
+     */
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "{hashed}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("{hashed}" + rawPassword);
+        }
+
+        private void await() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
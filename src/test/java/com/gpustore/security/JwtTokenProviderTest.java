@@ -0,0 +1,100 @@
+package com.gpustore.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-only-256-bits-minimum-required";
+    private static final String OTHER_SECRET = "another-secret-key-of-at-least-256-bits-length";
+
+    // No stored keys: the ring holds only the key derived from the secret
+    private final SigningKeyRing keyRing = new SigningKeyRing(
+            mock(JdbcTemplate.class), mock(TransactionTemplate.class), SECRET, 3_600_000, 0);
+    private final JwtTokenProvider provider = new JwtTokenProvider(keyRing, 3_600_000, 100, new SimpleMeterRegistry());
+
+    @Test
+    void verify_shouldReturnClaimsOfGeneratedToken() {
+        String token = provider.generateToken(new UserPrincipal(
+                42L, "user@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), 3));
+
+        VerifiedToken verified = provider.verify(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.userId()).isEqualTo(42L);
+        assertThat(verified.email()).isEqualTo("user@example.com");
+        assertThat(verified.roles()).containsExactly("ROLE_ADMIN");
+        assertThat(verified.version()).isEqualTo(3);
+    }
+
+    @Test
+    void verify_shouldRejectExpiredToken() {
+        String token = token(new Date(System.currentTimeMillis() - 60_000));
+
+        assertThat(provider.verify(token)).isNull();
+    }
+
+    @Test
+    void verify_shouldRejectTamperedPayload() {
+        String token = token(new Date(System.currentTimeMillis() + 60_000));
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"sub\":\"42\"", "\"sub\":\"1\"");
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertThat(tampered).isNotEqualTo(token);
+        assertThat(provider.verify(tampered)).isNull();
+    }
+
+    @Test
+    void verify_shouldRejectTokenSignedWithAnotherKey() {
+        String forged = Jwts.builder()
+                .header().keyId(keyRing.signingKey().id()).and()
+                .subject("42")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(OTHER_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThat(provider.verify(forged)).isNull();
+    }
+
+    @Test
+    void verify_shouldStopServingCachedTokenOnceItExpires() {
+        String token = token(new Date(System.currentTimeMillis() + 2_000));
+
+        VerifiedToken first = provider.verify(token);
+        assertThat(first).isNotNull();
+        // Served from the cache while valid
+        assertThat(provider.verify(token)).isSameAs(first);
+
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(100, TimeUnit.MILLISECONDS)
+                .until(() -> provider.verify(token) == null);
+    }
+
+    private String token(Date expiration) {
+        SigningKeyRing.SigningKey signingKey = keyRing.signingKey();
+        return Jwts.builder()
+                .header().keyId(signingKey.id()).and()
+                .subject("42")
+                .claim("email", "user@example.com")
+                .expiration(expiration)
+                .signWith(signingKey.key())
+                .compact();
+    }
+}
@@ -3,8 +3,10 @@ package com.gpustore.security;
 import com.gpustore.AbstractIntegrationTest;
 import com.gpustore.auth.dto.LoginRequest;
 import com.gpustore.user.dto.CreateUserRequest;
+import com.gpustore.user.dto.UpdateUserRequest;
 import com.gpustore.user.dto.UserResponse;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -16,6 +18,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class SecurityIT extends AbstractIntegrationTest {
 
+    @Autowired
+    private SigningKeyRing signingKeyRing;
+
     @Test
     void protectedEndpoint_WithoutToken_ReturnsUnauthorized() {
         // When - access protected endpoint without token
@@ -150,4 +155,74 @@ class SecurityIT extends AbstractIntegrationTest {
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
+
+    @Test
+    void protectedEndpoint_WithTokenIssuedBeforePasswordChange_ReturnsUnauthorized() {
+        // Given - a token, then a password change
+        String token = getAuthToken();
+        Long userId = userRepository.findByEmail("test@example.com").get().getId();
+        restTemplate.exchange(
+                "/api/users/" + userId,
+                HttpMethod.PUT,
+                new HttpEntity<>(new UpdateUserRequest(null, null, "newpassword123"), authHeaders(token)),
+                UserResponse.class
+        );
+
+        // When - access protected endpoint with the old token
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/users",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void protectedEndpoint_AfterSigningKeyRotation_AcceptsOldAndNewTokens() {
+        // Given - a token signed before the rotation and one signed after it
+        String oldToken = getAuthToken();
+        String kid = signingKeyRing.rotate();
+        String newToken = getAuthToken();
+        assertThat(signingKeyRing.signingKey().id()).isEqualTo(kid);
+
+        // When
+        ResponseEntity<String> oldResponse = restTemplate.exchange(
+                "/api/users",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(oldToken)),
+                String.class
+        );
+        ResponseEntity<String> newResponse = restTemplate.exchange(
+                "/api/users",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(newToken)),
+                String.class
+        );
+
+        // Then
+        assertThat(oldResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(newResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void signingKeyEndpoint_OnServerPort_IsForbiddenForUsers() {
+        // Given
+        String token = getAuthToken();
+        String kid = signingKeyRing.signingKey().id();
+
+        // When - a customer tries to rotate the signing key
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/actuator/jwtkeys",
+                HttpMethod.POST,
+                new HttpEntity<>(authHeaders(token)),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(signingKeyRing.signingKey().id()).isEqualTo(kid);
+    }
 }
@@ -0,0 +1,220 @@
+package com.gpustore.security;
+
+import io.jsonwebtoken.JwsHeader;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.Key;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SigningKeyRingTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-only-256-bits-minimum-required";
+    private static final String OTHER_SECRET = "another-secret-key-of-at-least-256-bits-length";
+
+    private final FakeKeyTable table = new FakeKeyTable();
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate() {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            return action.doInTransaction(null);
+        }
+    };
+
+    @Test
+    void rotate_shouldStoreSecretEncrypted() {
+        SigningKeyRing ring = ring(SECRET, 3_600_000);
+
+        String kid = ring.rotate();
+
+        StoredKey stored = table.rows.get(0);
+        assertThat(stored.encrypted).isTrue();
+        assertThat(stored.secret).isNotEqualTo(ring.signingKey().key().getEncoded());
+        // Another node with the same secret decrypts it
+        assertThat(ring(SECRET, 3_600_000).locate(header(kid)).getEncoded())
+                .isEqualTo(ring.signingKey().key().getEncoded());
+    }
+
+    @Test
+    void reload_shouldSkipKeysEncryptedUnderAnotherSecret() {
+        String kid = ring(SECRET, 3_600_000).rotate();
+
+        SigningKeyRing other = ring(OTHER_SECRET, 3_600_000);
+
+        assertThat(other.locate(header(kid))).isNull();
+    }
+
+    @Test
+    void refresh_shouldEncryptPlainTextRowsInPlace() {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, (byte) 7);
+        table.rows.add(new StoredKey("legacy", secret.clone(), Instant.now(), false));
+
+        SigningKeyRing ring = ring(SECRET, 3_600_000);
+
+        assertThat(ring.locate(header("legacy")).getEncoded()).isEqualTo(secret);
+        assertThat(table.rows.get(0).encrypted).isFalse();
+
+        ring.refresh();
+
+        StoredKey stored = table.rows.get(0);
+        assertThat(stored.encrypted).isTrue();
+        assertThat(stored.secret).isNotEqualTo(secret);
+        assertThat(ring(SECRET, 3_600_000).locate(header("legacy")).getEncoded()).isEqualTo(secret);
+    }
+
+    @Test
+    void locate_withUnknownKid_shouldReloadWithoutWriting() {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, (byte) 7);
+        StoredKey retired = new StoredKey("retired", secret.clone(), Instant.now().minusSeconds(60), true);
+        retired.retiredAt = Instant.now().minusSeconds(1);
+        table.rows.add(retired);
+        table.rows.add(new StoredKey("legacy", secret.clone(), Instant.now(), false));
+        SigningKeyRing ring = ring(SECRET, 3_600_000);
+        int reads = table.reads;
+        // Past the reload rate limit
+        ReflectionTestUtils.setField(ring, "lastReload", System.nanoTime() - TimeUnit.SECONDS.toNanos(2));
+
+        assertThat(ring.locate(header("unknown"))).isNull();
+
+        assertThat(table.reads).isEqualTo(reads + 1);
+        assertThat(ring.locate(header("retired"))).isNull();
+        assertThat(table.writes).isZero();
+        assertThat(table.rows).hasSize(2);
+    }
+
+    @Test
+    void locate_withBurstOfUnknownKids_shouldReloadOnce() throws Exception {
+        SigningKeyRing ring = ring(SECRET, 3_600_000);
+        int reads = table.reads;
+        ReflectionTestUtils.setField(ring, "lastReload", System.nanoTime() - TimeUnit.SECONDS.toNanos(2));
+
+        List<Thread> lookups = new ArrayList<>();
+        List<Key> found = Collections.synchronizedList(new ArrayList<>());
+        // Holding the ring's lock queues every lookup behind it, as a burst would
+        synchronized (ring) {
+            for (int i = 0; i < 8; i++) {
+                String kid = "forged-" + i;
+                lookups.add(Thread.ofPlatform().start(() -> found.add(ring.locate(header(kid)))));
+            }
+            await().atMost(5, TimeUnit.SECONDS)
+                    .until(() -> lookups.stream().allMatch(thread -> thread.getState() == Thread.State.BLOCKED));
+        }
+        for (Thread lookup : lookups) {
+            lookup.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(found).hasSize(8).containsOnlyNulls();
+        assertThat(table.reads).isEqualTo(reads + 1);
+    }
+
+    @Test
+    void configKey_shouldBeRetiredOneTokenLifetimeAfterFirstRotation() {
+        SigningKeyRing ring = ring(SECRET, 1_000);
+        assertThat(ring.locate(header(null))).isNotNull();
+
+        ring.rotate();
+
+        // Tokens signed before the rotation stay valid until they expire
+        assertThat(ring.locate(header(null))).isNotNull();
+        assertThat(ring.locate(header(SigningKeyRing.CONFIG_KEY_ID))).isNotNull();
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(100, TimeUnit.MILLISECONDS)
+                .until(() -> ring.locate(header(null)) == null);
+        assertThat(ring.locate(header(SigningKeyRing.CONFIG_KEY_ID))).isNull();
+        assertThat(ring.locate(header(ring.signingKey().id()))).isNotNull();
+    }
+
+    private SigningKeyRing ring(String secret, long expirationMs) {
+        return new SigningKeyRing(table, transactionTemplate, secret, expirationMs, 0);
+    }
+
+    private static JwsHeader header(String kid) {
+        JwsHeader header = mock(JwsHeader.class);
+        when(header.getKeyId()).thenReturn(kid);
+        return header;
+    }
+
+    private static final class StoredKey {
+
+        final String kid;
+        final Instant createdAt;
+        byte[] secret;
+        boolean encrypted;
+        Instant retiredAt;
+
+        StoredKey(String kid, byte[] secret, Instant createdAt, boolean encrypted) {
+            this.kid = kid;
+            this.secret = secret;
+            this.createdAt = createdAt;
+            this.encrypted = encrypted;
+        }
+    }
+
+    /**
+     * Stands in for the jwt_signing_keys table.
+     */
+    private static class FakeKeyTable extends JdbcTemplate {
+
+        final List<StoredKey> rows = new ArrayList<>();
+        int reads;
+        int writes;
+
+        @Override
+        public int update(String sql, Object... args) {
+            writes++;
+            if (sql.startsWith("DELETE")) {
+                Instant now = ((Timestamp) args[0]).toInstant();
+                rows.removeIf(row -> row.retiredAt != null && !row.retiredAt.isAfter(now));
+            } else if (sql.startsWith("UPDATE jwt_signing_keys SET retired_at")) {
+                rows.stream().filter(row -> row.retiredAt == null)
+                        .forEach(row -> row.retiredAt = ((Timestamp) args[0]).toInstant());
+            } else if (sql.startsWith("INSERT")) {
+                rows.add(new StoredKey((String) args[0], (byte[]) args[1], ((Timestamp) args[2]).toInstant(), true));
+            } else if (sql.startsWith("UPDATE jwt_signing_keys SET secret")) {
+                rows.stream().filter(row -> row.kid.equals(args[1]) && !row.encrypted).forEach(row -> {
+                    row.secret = (byte[]) args[0];
+                    row.encrypted = true;
+                });
+            }
+            return 1;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch) {
+            reads++;
+            try {
+                for (StoredKey row : rows) {
+                    if (sql.contains("WHERE NOT encrypted") && row.encrypted) {
+                        continue;
+                    }
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getString(1)).thenReturn(row.kid);
+                    when(rs.getBytes(2)).thenReturn(row.secret);
+                    when(rs.getTimestamp(3)).thenReturn(Timestamp.from(row.createdAt));
+                    when(rs.getTimestamp(4)).thenReturn(row.retiredAt == null ? null : Timestamp.from(row.retiredAt));
+                    when(rs.getBoolean(5)).thenReturn(row.encrypted);
+                    rch.processRow(rs);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.gpustore.security;
+
+import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.user.dto.UpdateUserRequest;
+import com.gpustore.user.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "jwt.stateless.enabled=true")
+class StatelessAuthenticationIT extends AbstractIntegrationTest {
+
+    @Test
+    void protectedEndpoint_WithValidToken_AuthenticatesFromClaims() {
+        // Given
+        String token = getAuthToken();
+        Long userId = userRepository.findByEmail("test@example.com").get().getId();
+
+        // When
+        ResponseEntity<UserResponse> response = restTemplate.exchange(
+                "/api/users/" + userId,
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                UserResponse.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().email()).isEqualTo("test@example.com");
+    }
+
+    @Test
+    void protectedEndpoint_WithTokenIssuedBeforeEmailChange_ReturnsUnauthorized() {
+        // Given - a token, then an email change
+        String token = getAuthToken();
+        Long userId = userRepository.findByEmail("test@example.com").get().getId();
+        restTemplate.exchange(
+                "/api/users/" + userId,
+                HttpMethod.PUT,
+                new HttpEntity<>(new UpdateUserRequest(null, "changed@example.com", null), authHeaders(token)),
+                UserResponse.class
+        );
+
+        // When - access protected endpoint with the old token
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/users",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void protectedEndpoint_WithTokenOfDeletedUser_ReturnsUnauthorized() {
+        // Given - a token, then the user is deleted
+        String token = getAuthToken();
+        Long userId = userRepository.findByEmail("test@example.com").get().getId();
+        ResponseEntity<Void> deleted = restTemplate.exchange(
+                "/api/users/" + userId,
+                HttpMethod.DELETE,
+                new HttpEntity<>(authHeaders(token)),
+                Void.class
+        );
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        // When - access protected endpoint with the deleted user's token
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/users",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
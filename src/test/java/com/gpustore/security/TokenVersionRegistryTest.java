@@ -0,0 +1,116 @@
+package com.gpustore.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTest {
+
+    private final FakeUsers users = new FakeUsers();
+
+    @Test
+    void constructor_shouldLoadVersionsBeforeFirstRefresh() {
+        users.versions.put(1L, 2);
+
+        TokenVersionRegistry registry = new TokenVersionRegistry(users, true, 900_000);
+
+        assertThat(registry.isCurrent(1L, 1)).isFalse();
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+        assertThat(registry.isCurrent(2L, 0)).isTrue();
+    }
+
+    @Test
+    void refresh_shouldDropUsersNoLongerReturned() {
+        users.versions.put(1L, 2);
+        users.deleted.add(3L);
+        TokenVersionRegistry registry = new TokenVersionRegistry(users, true, 900_000);
+        assertThat(registry.isCurrent(3L, 0)).isFalse();
+
+        users.versions.clear();
+        users.deleted.clear();
+        registry.refresh();
+
+        assertThat(registry.isCurrent(1L, 1)).isTrue();
+        assertThat(registry.isCurrent(3L, 0)).isTrue();
+    }
+
+    @Test
+    void recordDeleted_shouldRejectEveryTokenOfUserUntilMarkerIsPurged() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(users, true, 900_000);
+
+        registry.recordDeleted(4L);
+
+        assertThat(users.deleted).containsExactly(4L);
+        assertThat(registry.isCurrent(4L, 7)).isFalse();
+        // Still rejected once a reload has seen the marker
+        registry.refresh();
+        assertThat(registry.isCurrent(4L, 7)).isFalse();
+
+        users.deleted.clear();
+        registry.refresh();
+        assertThat(registry.isCurrent(4L, 7)).isTrue();
+    }
+
+    @Test
+    void recordDeleted_shouldDoNothingWhenStatelessModeIsDisabled() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(users, false, 900_000);
+
+        registry.recordDeleted(4L);
+
+        assertThat(users.deleted).isEmpty();
+        assertThat(registry.isCurrent(4L, 0)).isTrue();
+    }
+
+    /**
+     * Stands in for the users and deleted_users tables.
+     */
+    private static class FakeUsers extends JdbcTemplate {
+
+        final Map<Long, Integer> versions = new HashMap<>();
+        final Set<Long> deleted = new HashSet<>();
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("INSERT INTO deleted_users")) {
+                return deleted.add((Long) args[0]) ? 1 : 0;
+            }
+            // Purge of expired markers; tests clear them by hand
+            return 0;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch) {
+            try {
+                if (sql.contains("FROM deleted_users")) {
+                    for (Long userId : deleted) {
+                        rch.processRow(row(userId, 0));
+                    }
+                } else {
+                    for (Map.Entry<Long, Integer> entry : versions.entrySet()) {
+                        rch.processRow(row(entry.getKey(), entry.getValue()));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static ResultSet row(long id, int version) throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(id);
+            when(rs.getInt(2)).thenReturn(version);
+            return rs;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.gpustore.user;
 
 import com.gpustore.AbstractIntegrationTest;
+import com.gpustore.common.pagination.CursorPage;
 import com.gpustore.user.dto.CreateUserRequest;
 import com.gpustore.user.dto.UpdateUserRequest;
 import com.gpustore.user.dto.UserResponse;
@@ -169,4 +170,54 @@ class UserControllerIT extends AbstractIntegrationTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().size()).isGreaterThanOrEqualTo(2);
     }
+
+    @Test
+    void getAllUsers_WithLimit_ReturnsPagesFollowingCursor() {
+        // Given - three users exist
+        String token = getAuthToken("page1@example.com", "password123", "Page One");
+        restTemplate.postForEntity("/api/users",
+                new CreateUserRequest("Page Two", "page2@example.com", "password123"), UserResponse.class);
+        restTemplate.postForEntity("/api/users",
+                new CreateUserRequest("Page Three", "page3@example.com", "password123"), UserResponse.class);
+
+        // When
+        ResponseEntity<List> firstPage = restTemplate.exchange(
+                "/api/users?limit=2",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                List.class
+        );
+        String cursor = firstPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER);
+        ResponseEntity<List> secondPage = restTemplate.exchange(
+                "/api/users?limit=2&cursor=" + cursor,
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                List.class
+        );
+
+        // Then
+        assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(firstPage.getBody()).hasSize(2);
+        assertThat(cursor).isNotNull();
+        assertThat(secondPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(secondPage.getBody()).hasSize(1);
+        assertThat(secondPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER)).isNull();
+    }
+
+    @Test
+    void getAllUsers_WithMalformedCursor_ReturnsBadRequest() {
+        // Given
+        String token = getAuthToken("badcursor@example.com", "password123", "Bad Cursor");
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/users?cursor=not-a-cursor",
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders(token)),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
 }